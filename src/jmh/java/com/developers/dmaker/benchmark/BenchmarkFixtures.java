@@ -0,0 +1,155 @@
+package com.developers.dmaker.benchmark;
+
+import com.developers.dmaker.DmakerApplication;
+import com.developers.dmaker.code.StatusCode;
+import com.developers.dmaker.entity.Developer;
+import com.developers.dmaker.stats.DeveloperStatistics;
+import com.developers.dmaker.type.DeveloperLevel;
+import com.developers.dmaker.type.DeveloperSkillType;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static com.developers.dmaker.constant.DMakerConstant.MAX_JUNIOR_EXPERIENCE_YEARS;
+import static com.developers.dmaker.constant.DMakerConstant.MIN_SENIOR_EXPERIENCE_YEARS;
+
+/**
+ * 벤치마크 공용 fixture : H2 로 애플리케이션을 띄우고 developer 테이블을 rows 건으로 채운다.
+ */
+public final class BenchmarkFixtures {
+
+    // 10 건 중 1 건은 RETIRED
+    public static final int RETIRED_EVERY = 10;
+    private static final int SEED_BATCH_SIZE = 10_000;
+
+    private BenchmarkFixtures() {
+    }
+
+    public static ConfigurableApplicationContext startApplication(String... properties) {
+        return start(WebApplicationType.NONE, properties);
+    }
+
+    // 임의 port 로 내장 tomcat 까지 띄운다
+    // 부하 생성기 하나가 같은 client 로 보내므로 rate limit 은 끈다 (variant 에서 다시 켤 수 있다)
+    public static ConfigurableApplicationContext startWebApplication(String... properties) {
+        return start(WebApplicationType.SERVLET,
+                concat(new String[]{"server.port=0", "dmaker.rate-limit.enabled=false"}, properties));
+    }
+
+    public static int port(ConfigurableApplicationContext context) {
+        return ((WebServerApplicationContext) context).getWebServer().getPort();
+    }
+
+    // application.yml 보다 우선하도록 command line argument 로 넘긴다
+    private static ConfigurableApplicationContext start(WebApplicationType webApplicationType, String... properties) {
+        String[] defaults = {
+                "spring.datasource.url=jdbc:h2:mem:bench-" + System.nanoTime() + ";DB_CLOSE_DELAY=-1",
+                "spring.main.banner-mode=off",
+                "logging.level.root=WARN"
+        };
+
+        // 같은 key 는 뒤에 온 값으로 덮어쓴다
+        Map<String, String> merged = new LinkedHashMap<>();
+        for (String property : concat(defaults, properties)) {
+            int separator = property.indexOf('=');
+            merged.put(property.substring(0, separator), property.substring(separator + 1));
+        }
+
+        return new SpringApplicationBuilder(DmakerApplication.class)
+                .web(webApplicationType)
+                .run(merged.entrySet().stream()
+                        .map(entry -> "--" + entry.getKey() + "=" + entry.getValue())
+                        .toArray(String[]::new));
+    }
+
+    private static String[] concat(String[] first, String[] second) {
+        String[] result = Arrays.copyOf(first, first.length + second.length);
+        System.arraycopy(second, 0, result, first.length, second.length);
+        return result;
+    }
+
+    public static void seedDevelopers(ConfigurableApplicationContext context, int rows) {
+        JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+
+        // production profile 은 hikari auto-commit=false 라 트랜잭션 안에서 넣어야 commit 된다
+        new TransactionTemplate(context.getBean(PlatformTransactionManager.class))
+                .executeWithoutResult(status -> insertDevelopers(jdbcTemplate, rows));
+
+        // 기동 시 빈 테이블로 만든 집계를 seed 결과로 다시 채운다
+        context.getBean(DeveloperStatistics.class).rebuild();
+    }
+
+    private static void insertDevelopers(JdbcTemplate jdbcTemplate, int rows) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+
+        for (int from = 0; from < rows; from += SEED_BATCH_SIZE) {
+            int start = from;
+            int size = Math.min(SEED_BATCH_SIZE, rows - from);
+
+            jdbcTemplate.batchUpdate("insert into developer (id, developer_level, developer_skill_type, " +
+                            "experience_years, member_id, name, age, status_code, created_at, updated_at, version) " +
+                            "values (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, 0)",
+                    new BatchPreparedStatementSetter() {
+                        @Override
+                        public void setValues(PreparedStatement ps, int i) throws SQLException {
+                            Developer developer = developer(start + i);
+                            ps.setLong(1, start + i + 1L);
+                            ps.setString(2, developer.getDeveloperLevel().name());
+                            ps.setString(3, developer.getDeveloperSkillType().name());
+                            ps.setInt(4, developer.getExperienceYears());
+                            ps.setString(5, developer.getMemberId());
+                            ps.setString(6, developer.getName());
+                            ps.setInt(7, developer.getAge());
+                            ps.setString(8, developer.getStatusCode().name());
+                            ps.setTimestamp(9, now);
+                            ps.setTimestamp(10, now);
+                        }
+
+                        @Override
+                        public int getBatchSize() {
+                            return size;
+                        }
+                    });
+        }
+
+        // 애플리케이션이 새로 만드는 id 가 seed 한 id 와 겹치지 않도록
+        jdbcTemplate.execute("alter sequence developer_seq restart with " + (rows + 1_000));
+    }
+
+    public static String memberId(int index) {
+        return "member" + index;
+    }
+
+    public static Developer developer(int index) {
+        int experienceYears = index % 21;
+        return Developer.builder()
+                .developerLevel(levelOf(experienceYears))
+                .developerSkillType(DeveloperSkillType.values()[index % DeveloperSkillType.values().length])
+                .experienceYears(experienceYears)
+                .memberId(memberId(index))
+                .name("name" + index)
+                .age(20 + experienceYears)
+                .statusCode(index % RETIRED_EVERY == 0 ? StatusCode.RETIRED : StatusCode.EMPLOYED)
+                .build();
+    }
+
+    public static DeveloperLevel levelOf(int experienceYears) {
+        if (experienceYears == 0) return DeveloperLevel.NEW;
+        if (experienceYears <= MAX_JUNIOR_EXPERIENCE_YEARS) return DeveloperLevel.JUNIOR;
+        if (experienceYears < MIN_SENIOR_EXPERIENCE_YEARS) return DeveloperLevel.JUNGNIOR;
+        return DeveloperLevel.SENIOR;
+    }
+}
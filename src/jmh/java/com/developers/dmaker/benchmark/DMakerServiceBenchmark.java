@@ -0,0 +1,87 @@
+package com.developers.dmaker.benchmark;
+
+import com.developers.dmaker.dto.CreateDeveloper;
+import com.developers.dmaker.dto.DeveloperDetailDto;
+import com.developers.dmaker.dto.DeveloperDto;
+import com.developers.dmaker.dto.DeveloperPageDto;
+import com.developers.dmaker.dto.EditDeveloper;
+import com.developers.dmaker.service.DMakerService;
+import com.developers.dmaker.type.DeveloperLevel;
+import com.developers.dmaker.type.DeveloperSkillType;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * embedded H2 에 rows 건을 넣고 DMakerService 를 end-to-end 로 측정.
+ * detail cache / hibernate 2nd level cache 는 꺼서 매번 DB 까지 가는 비용을 본다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class DMakerServiceBenchmark {
+
+    @Param({"10000", "100000", "1000000"})
+    public int rows;
+
+    private ConfigurableApplicationContext context;
+    private DMakerService dMakerService;
+    private final AtomicLong sequence = new AtomicLong();
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkFixtures.startApplication("dmaker.detail-cache.enabled=false",
+                "dmaker.second-level-cache.enabled=false");
+        BenchmarkFixtures.seedDevelopers(context, rows);
+        dMakerService = context.getBean(DMakerService.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<DeveloperDto> getAllEmployedDevelopers() {
+        return dMakerService.getAllEmployedDevelopers();
+    }
+
+    @Benchmark
+    public DeveloperPageDto getEmployedDevelopersPage() {
+        return dMakerService.getEmployedDevelopersPage((long) ThreadLocalRandom.current().nextInt(rows), 100);
+    }
+
+    @Benchmark
+    public DeveloperDetailDto getDeveloperDetail() {
+        return dMakerService.getDeveloperDetail(BenchmarkFixtures.memberId(ThreadLocalRandom.current().nextInt(rows)));
+    }
+
+    @Benchmark
+    public CreateDeveloper.Response createDeveloper() {
+        return dMakerService.createDeveloper(CreateDeveloper.Request.builder()
+                .developerLevel(DeveloperLevel.SENIOR)
+                .developerSkillType(DeveloperSkillType.BACK_END)
+                .experienceYears(12)
+                .memberId("bench" + sequence.incrementAndGet())
+                .name("bench")
+                .age(35)
+                .build());
+    }
+
+    @Benchmark
+    public DeveloperDetailDto editDeveloper() {
+        int index = ThreadLocalRandom.current().nextInt(rows);
+        return dMakerService.editDeveloper(BenchmarkFixtures.memberId(index), EditDeveloper.Request.builder()
+                .developerLevel(DeveloperLevel.SENIOR)
+                .developerSkillType(DeveloperSkillType.FULL_STACK)
+                .experienceYears(15)
+                .build());
+    }
+}
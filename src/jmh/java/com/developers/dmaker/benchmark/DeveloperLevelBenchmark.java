@@ -0,0 +1,49 @@
+package com.developers.dmaker.benchmark;
+
+import com.developers.dmaker.exception.DMakerException;
+import com.developers.dmaker.type.DeveloperLevel;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DeveloperLevelBenchmark {
+
+    private int years;
+
+    @Setup(Level.Iteration)
+    public void setUp() {
+        years = 0;
+    }
+
+    @Benchmark
+    public DeveloperLevel validateMatched() {
+        int experienceYears = nextYears();
+        DeveloperLevel level = BenchmarkFixtures.levelOf(experienceYears);
+        level.validateExperienceYears(experienceYears);
+        return level;
+    }
+
+    // 레벨과 연차가 맞지 않아 예외가 나는 경로
+    @Benchmark
+    public Object validateNotMatched() {
+        int experienceYears = nextYears();
+        DeveloperLevel level = experienceYears < 10 ? DeveloperLevel.SENIOR : DeveloperLevel.NEW;
+        try {
+            level.validateExperienceYears(experienceYears);
+            return level;
+        } catch (DMakerException e) {
+            return e;
+        }
+    }
+
+    private int nextYears() {
+        years = years == 20 ? 0 : years + 1;
+        return years;
+    }
+}
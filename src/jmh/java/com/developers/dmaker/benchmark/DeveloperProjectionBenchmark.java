@@ -0,0 +1,79 @@
+package com.developers.dmaker.benchmark;
+
+import com.developers.dmaker.dto.DeveloperDetailDto;
+import com.developers.dmaker.dto.DeveloperDto;
+import com.developers.dmaker.repository.DeveloperRepository;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static com.developers.dmaker.code.StatusCode.EMPLOYED;
+
+/**
+ * managed entity 를 DTO 로 변환하는 경로와 DTO projection 쿼리 비교.
+ * 할당량은 -PjmhProfilers=gc 로 같이 확인 (gc.alloc.rate.norm).
+ * 쿼리 비용을 비교하므로 hibernate 2nd level cache 는 끈다 (SecondLevelCacheBenchmark 참고).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class DeveloperProjectionBenchmark {
+
+    @Param({"10000", "100000"})
+    public int rows;
+
+    private ConfigurableApplicationContext context;
+    private DeveloperRepository developerRepository;
+    private TransactionTemplate readOnlyTransaction;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkFixtures.startApplication("dmaker.second-level-cache.enabled=false");
+        BenchmarkFixtures.seedDevelopers(context, rows);
+        developerRepository = context.getBean(DeveloperRepository.class);
+
+        readOnlyTransaction = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        readOnlyTransaction.setReadOnly(true);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<DeveloperDto> listFromEntities() {
+        return readOnlyTransaction.execute(status ->
+                developerRepository.findDevelopersByStatusCodeEquals(EMPLOYED)
+                        .stream().map(DeveloperDto::fromEntity)
+                        .collect(Collectors.toList()));
+    }
+
+    @Benchmark
+    public List<DeveloperDto> listFromProjection() {
+        return readOnlyTransaction.execute(status -> developerRepository.findDeveloperDtosByStatusCode(EMPLOYED));
+    }
+
+    @Benchmark
+    public DeveloperDetailDto detailFromEntity() {
+        String memberId = BenchmarkFixtures.memberId(ThreadLocalRandom.current().nextInt(rows));
+        return readOnlyTransaction.execute(status ->
+                developerRepository.findByMemberId(memberId).map(DeveloperDetailDto::fromEntity).orElse(null));
+    }
+
+    @Benchmark
+    public DeveloperDetailDto detailFromProjection() {
+        String memberId = BenchmarkFixtures.memberId(ThreadLocalRandom.current().nextInt(rows));
+        return readOnlyTransaction.execute(status ->
+                developerRepository.findDeveloperDetailDtoByMemberId(memberId).orElse(null));
+    }
+}
@@ -0,0 +1,54 @@
+package com.developers.dmaker.benchmark;
+
+import com.developers.dmaker.dto.DeveloperSnapshotDto;
+import com.developers.dmaker.snapshot.DeveloperSnapshotService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * rows 건 전체를 snapshot 으로 export 한 뒤 replace import 하는 한 바퀴 시간.
+ * 작은 heap(-Xmx512m) 에서도 끝나야 건수와 상관없이 메모리가 일정한 것이다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+@Fork(value = 1, jvmArgsAppend = "-Xmx512m")
+public class DeveloperSnapshotBenchmark {
+
+    private static final String NAME = "bench.dmks";
+
+    @Param({"100000", "1000000"})
+    public int rows;
+
+    private ConfigurableApplicationContext context;
+    private DeveloperSnapshotService developerSnapshotService;
+    private Path directory;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("dmaker-snapshot");
+        context = BenchmarkFixtures.startApplication("dmaker.snapshot.directory=" + directory);
+        BenchmarkFixtures.seedDevelopers(context, rows);
+        developerSnapshotService = context.getBean(DeveloperSnapshotService.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        context.close();
+        Files.deleteIfExists(directory.resolve(NAME));
+        Files.deleteIfExists(directory);
+    }
+
+    @Benchmark
+    public DeveloperSnapshotDto exportAndImport() {
+        developerSnapshotService.exportSnapshot(NAME);
+        return developerSnapshotService.importSnapshot(NAME, true);
+    }
+}
@@ -0,0 +1,40 @@
+package com.developers.dmaker.benchmark;
+
+import com.developers.dmaker.dto.CreateDeveloper;
+import com.developers.dmaker.dto.DeveloperDetailDto;
+import com.developers.dmaker.dto.DeveloperDto;
+import com.developers.dmaker.entity.Developer;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DtoMappingBenchmark {
+
+    private Developer developer;
+
+    @Setup
+    public void setUp() {
+        developer = BenchmarkFixtures.developer(12);
+    }
+
+    @Benchmark
+    public DeveloperDto developerDtoFromEntity() {
+        return DeveloperDto.fromEntity(developer);
+    }
+
+    @Benchmark
+    public DeveloperDetailDto developerDetailDtoFromEntity() {
+        return DeveloperDetailDto.fromEntity(developer);
+    }
+
+    @Benchmark
+    public CreateDeveloper.Response createDeveloperResponseFromEntity() {
+        return CreateDeveloper.Response.fromEntity(developer);
+    }
+}
@@ -0,0 +1,97 @@
+package com.developers.dmaker.benchmark;
+
+import com.developers.dmaker.dto.DeveloperDto;
+import com.developers.dmaker.entity.Developer;
+import com.developers.dmaker.repository.DeveloperRepository;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static com.developers.dmaker.code.StatusCode.EMPLOYED;
+import static com.developers.dmaker.code.StatusCode.RETIRED;
+
+/**
+ * 재직자 수는 그대로 두고 퇴사자만 늘렸을 때 재직자 목록 / 첫 페이지 조회 시간 비교.
+ * status_code 인덱스를 타면 retiredRatio 가 0 이든 10 이든 비슷해야 한다 (full scan 이면 읽는 row 가 11배).
+ * 인덱스 사용 여부 자체는 DeveloperRepositoryTest 의 실행 계획 검증으로 확인한다.
+ * ./gradlew jmh -PjmhIncludes=EmployedListingBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class EmployedListingBenchmark {
+
+    private static final int PAGE_SIZE = 100;
+
+    @Param({"10000"})
+    public int rows;
+
+    // seed 한 rows 의 몇 배만큼 퇴사자를 더 넣을지
+    @Param({"0", "10"})
+    public int retiredRatio;
+
+    private ConfigurableApplicationContext context;
+    private DeveloperRepository developerRepository;
+    private TransactionTemplate readOnlyTransaction;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkFixtures.startApplication("dmaker.second-level-cache.enabled=false");
+        BenchmarkFixtures.seedDevelopers(context, rows);
+        insertRetired(rows * retiredRatio);
+        developerRepository = context.getBean(DeveloperRepository.class);
+
+        readOnlyTransaction = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        readOnlyTransaction.setReadOnly(true);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<DeveloperDto> list() {
+        return readOnlyTransaction.execute(status -> developerRepository.findDeveloperDtosByStatusCode(EMPLOYED));
+    }
+
+    @Benchmark
+    public List<Developer> firstPage() {
+        return readOnlyTransaction.execute(status -> developerRepository
+                .findByStatusCodeEqualsAndIdGreaterThanOrderByIdAsc(EMPLOYED, 0L, PageRequest.of(0, PAGE_SIZE)));
+    }
+
+    // seed 한 id 뒤에 이어서 RETIRED 로만 넣는다
+    private void insertRetired(int count) {
+        if (count == 0)
+            return;
+
+        JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Object[]> args = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            int index = rows + i;
+            Developer developer = BenchmarkFixtures.developer(index);
+            args.add(new Object[]{index + 1L, developer.getDeveloperLevel().name(),
+                    developer.getDeveloperSkillType().name(), developer.getExperienceYears(),
+                    developer.getMemberId(), developer.getName(), developer.getAge(), RETIRED.name(), now, now});
+        }
+
+        new TransactionTemplate(context.getBean(PlatformTransactionManager.class)).executeWithoutResult(status ->
+                jdbcTemplate.batchUpdate("insert into developer (id, developer_level, developer_skill_type, " +
+                        "experience_years, member_id, name, age, status_code, created_at, updated_at, version) " +
+                        "values (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, 0)", args));
+    }
+}
@@ -0,0 +1,48 @@
+package com.developers.dmaker.benchmark;
+
+import com.developers.dmaker.dto.DeveloperDetailDto;
+import com.developers.dmaker.dto.DeveloperDto;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JacksonSerializationBenchmark {
+
+    @Param({"100", "10000"})
+    public int size;
+
+    private ObjectMapper objectMapper;
+    private List<DeveloperDto> developers;
+    private List<DeveloperDetailDto> developerDetails;
+
+    @Setup
+    public void setUp() {
+        objectMapper = new ObjectMapper();
+        developers = new ArrayList<>(size);
+        developerDetails = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            developers.add(DeveloperDto.fromEntity(BenchmarkFixtures.developer(i)));
+            developerDetails.add(DeveloperDetailDto.fromEntity(BenchmarkFixtures.developer(i)));
+        }
+    }
+
+    @Benchmark
+    public byte[] serializeDevelopers() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(developers);
+    }
+
+    @Benchmark
+    public byte[] serializeDeveloperDetails() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(developerDetails);
+    }
+}
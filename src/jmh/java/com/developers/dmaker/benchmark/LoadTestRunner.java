@@ -0,0 +1,216 @@
+package com.developers.dmaker.benchmark;
+
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * variant(설정 조합) 별로 애플리케이션을 내장 tomcat 으로 띄우고 HTTP 부하를 줘서
+ * 처리량(req/s)과 p50/p95/p99 latency 를 비교한다.
+ *
+ * ./gradlew loadTest -PloadTestArgs="--concurrency=200 --requests=20000 --rows=10000 --endpoints=detail,list"
+ * 비교 대상은 --variant=이름:key=value,key=value 로 지정 (기본 : blocking / async)
+ * --database=file 이면 variant 마다 새 file H2 (build/loadtest/이름) 를 사용한다.
+ */
+public final class LoadTestRunner {
+
+    private static final String JSON = "application/json";
+
+    private LoadTestRunner() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        Options options = Options.parse(args);
+        HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+
+        List<String> report = new ArrayList<>();
+        for (Map.Entry<String, String[]> variant : options.variants.entrySet()) {
+            String[] properties = options.fileDatabase
+                    ? withFileDatabase(variant.getKey(), variant.getValue())
+                    : variant.getValue();
+            try (ConfigurableApplicationContext context = BenchmarkFixtures.startWebApplication(properties)) {
+                BenchmarkFixtures.seedDevelopers(context, options.rows);
+                String baseUrl = "http://localhost:" + BenchmarkFixtures.port(context);
+
+                for (String endpoint : options.endpoints) {
+                    Supplier<HttpRequest> scenario = scenario(endpoint, baseUrl, options.rows);
+                    run(client, scenario, options.warmupRequests, options.concurrency);
+                    Result result = run(client, scenario, options.requests, options.concurrency);
+                    report.add(result.format(variant.getKey(), endpoint));
+                }
+            }
+        }
+
+        System.out.println();
+        System.out.printf("%-12s %-8s %10s %8s %10s %10s %10s%n",
+                "variant", "endpoint", "req/s", "errors", "p50(ms)", "p95(ms)", "p99(ms)");
+        report.forEach(System.out::println);
+    }
+
+    // variant 설정보다 앞에 두므로 variant 에서 다시 덮어쓸 수 있다
+    private static String[] withFileDatabase(String variant, String[] properties) {
+        List<String> merged = new ArrayList<>(Arrays.asList(
+                "spring.datasource.url=jdbc:h2:file:./build/loadtest/" + variant + "-" + System.currentTimeMillis()
+                        + ";DB_CLOSE_ON_EXIT=FALSE",
+                "spring.jpa.hibernate.ddl-auto=create"));
+        merged.addAll(Arrays.asList(properties));
+        return merged.toArray(new String[0]);
+    }
+
+    private static Supplier<HttpRequest> scenario(String endpoint, String baseUrl, int rows) {
+        AtomicInteger sequence = new AtomicInteger();
+        switch (endpoint) {
+            case "list":
+                return () -> get(baseUrl + "/developers");
+            case "page":
+                return () -> get(baseUrl + "/developers/page?size=100&cursor=" + ThreadLocalRandom.current().nextInt(rows));
+            case "detail":
+                return () -> get(baseUrl + "/developer/" + BenchmarkFixtures.memberId(ThreadLocalRandom.current().nextInt(rows)));
+            case "create":
+                return () -> HttpRequest.newBuilder(URI.create(baseUrl + "/create-developer"))
+                        .header("Content-Type", JSON)
+                        .POST(HttpRequest.BodyPublishers.ofString("{\"developerLevel\":\"SENIOR\"," +
+                                "\"developerSkillType\":\"BACK_END\",\"experienceYears\":12," +
+                                "\"memberId\":\"load" + sequence.incrementAndGet() + "\",\"name\":\"load\",\"age\":35}"))
+                        .build();
+            case "delete":
+                // 재직중인 개발자를 앞에서부터 한 명씩 퇴직 처리
+                return () -> {
+                    int index;
+                    do {
+                        index = sequence.getAndIncrement() % rows;
+                    } while (index % BenchmarkFixtures.RETIRED_EVERY == 0);
+                    return HttpRequest.newBuilder(URI.create(baseUrl + "/developer/" + BenchmarkFixtures.memberId(index)))
+                            .DELETE()
+                            .build();
+                };
+            default:
+                throw new IllegalArgumentException("unknown endpoint : " + endpoint);
+        }
+    }
+
+    private static HttpRequest get(String url) {
+        return HttpRequest.newBuilder(URI.create(url))
+                .header("Accept", JSON)
+                .GET()
+                .build();
+    }
+
+    private static Result run(HttpClient client, Supplier<HttpRequest> scenario, int requests, int concurrency)
+            throws InterruptedException {
+        AtomicInteger remaining = new AtomicInteger(requests);
+        AtomicInteger recorded = new AtomicInteger();
+        AtomicInteger errors = new AtomicInteger();
+        long[] latencies = new long[requests];
+
+        ExecutorService workers = Executors.newFixedThreadPool(concurrency);
+        long started = System.nanoTime();
+        for (int i = 0; i < concurrency; i++) {
+            workers.execute(() -> {
+                while (remaining.getAndDecrement() > 0) {
+                    long begin = System.nanoTime();
+                    try {
+                        HttpResponse<Void> response = client.send(scenario.get(), HttpResponse.BodyHandlers.discarding());
+                        if (response.statusCode() >= 400)
+                            errors.incrementAndGet();
+                    } catch (Exception e) {
+                        errors.incrementAndGet();
+                    }
+                    latencies[recorded.getAndIncrement()] = System.nanoTime() - begin;
+                }
+            });
+        }
+        workers.shutdown();
+        workers.awaitTermination(1, TimeUnit.HOURS);
+
+        return new Result(requests, errors.get(), System.nanoTime() - started, latencies);
+    }
+
+    private static class Result {
+        private final int requests;
+        private final int errors;
+        private final long elapsedNanos;
+        private final long[] latencies;
+
+        private Result(int requests, int errors, long elapsedNanos, long[] latencies) {
+            this.requests = requests;
+            this.errors = errors;
+            this.elapsedNanos = elapsedNanos;
+            this.latencies = latencies.clone();
+            Arrays.sort(this.latencies);
+        }
+
+        private String format(String variant, String endpoint) {
+            return String.format("%-12s %-8s %10.1f %8d %10.2f %10.2f %10.2f",
+                    variant, endpoint, requests / (elapsedNanos / 1e9), errors,
+                    percentile(0.50), percentile(0.95), percentile(0.99));
+        }
+
+        private double percentile(double percentile) {
+            if (latencies.length == 0)
+                return 0.0;
+            int index = (int) Math.ceil(percentile * latencies.length) - 1;
+            return latencies[Math.max(0, index)] / 1e6;
+        }
+    }
+
+    private static class Options {
+        private int rows = 10_000;
+        private int requests = 20_000;
+        private int warmupRequests = 2_000;
+        private int concurrency = 200;
+        private List<String> endpoints = Arrays.asList("list", "detail", "create");
+        private boolean fileDatabase = false;
+        private final Map<String, String[]> variants = new LinkedHashMap<>();
+
+        private static Options parse(String[] args) {
+            Options options = new Options();
+            for (String arg : args) {
+                if (!arg.startsWith("--") || !arg.contains("="))
+                    throw new IllegalArgumentException("expected --key=value : " + arg);
+
+                String key = arg.substring(2, arg.indexOf('='));
+                String value = arg.substring(arg.indexOf('=') + 1);
+                switch (key) {
+                    case "rows": options.rows = Integer.parseInt(value); break;
+                    case "requests": options.requests = Integer.parseInt(value); break;
+                    case "warmup": options.warmupRequests = Integer.parseInt(value); break;
+                    case "concurrency": options.concurrency = Integer.parseInt(value); break;
+                    case "endpoints": options.endpoints = Arrays.asList(value.split(",")); break;
+                    case "variant": options.addVariant(value); break;
+                    case "database": options.fileDatabase = "file".equals(value); break;
+                    default: throw new IllegalArgumentException("unknown option : " + key);
+                }
+            }
+
+            if (options.variants.isEmpty()) {
+                // tomcat thread 를 줄여서 blocking 모드의 thread 고갈을 드러낸다
+                options.addVariant("blocking:server.tomcat.threads.max=20");
+                options.addVariant("async:server.tomcat.threads.max=20,dmaker.async.enabled=true");
+            }
+            return options;
+        }
+
+        // 이름:key=value,key=value
+        private void addVariant(String value) {
+            int separator = value.indexOf(':');
+            String name = separator < 0 ? value : value.substring(0, separator);
+            String properties = separator < 0 ? "" : value.substring(separator + 1);
+            variants.put(name, properties.isEmpty() ? new String[0] : properties.split(","));
+        }
+    }
+}
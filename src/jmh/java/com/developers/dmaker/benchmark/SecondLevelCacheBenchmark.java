@@ -0,0 +1,95 @@
+package com.developers.dmaker.benchmark;
+
+import com.developers.dmaker.entity.Developer;
+import com.developers.dmaker.metrics.StatementCountInspector;
+import com.developers.dmaker.repository.DeveloperRepository;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import static com.developers.dmaker.code.StatusCode.EMPLOYED;
+
+/**
+ * 변경 없이 같은 개발자 상세 / 재직자 목록을 반복 조회할 때 hibernate 2nd level / query cache 유무 비교.
+ * 시간과 함께 DB 왕복 수(statements / calls, StatementCountInspector) 를 aux counter 로 남긴다.
+ * ./gradlew jmh -PjmhIncludes=SecondLevelCacheBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class SecondLevelCacheBenchmark {
+
+    // 상세 조회는 이 범위의 memberId 만 반복 (region 크기 안에 들어가는 hot set)
+    private static final int HOT_MEMBERS = 1000;
+
+    @Param({"10000", "100000"})
+    public int rows;
+
+    @Param({"true", "false"})
+    public boolean secondLevelCache;
+
+    private ConfigurableApplicationContext context;
+    private DeveloperRepository developerRepository;
+    private TransactionTemplate readOnlyTransaction;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkFixtures.startApplication("dmaker.second-level-cache.enabled=" + secondLevelCache);
+        BenchmarkFixtures.seedDevelopers(context, rows);
+        developerRepository = context.getBean(DeveloperRepository.class);
+
+        readOnlyTransaction = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        readOnlyTransaction.setReadOnly(true);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Developer detail(RoundTrips roundTrips) {
+        String memberId = BenchmarkFixtures.memberId(ThreadLocalRandom.current().nextInt(Math.min(HOT_MEMBERS, rows)));
+        StatementCountInspector.reset();
+        Developer developer = readOnlyTransaction.execute(status ->
+                developerRepository.findByMemberId(memberId).orElse(null));
+        roundTrips.record();
+        return developer;
+    }
+
+    @Benchmark
+    public List<Developer> employedList(RoundTrips roundTrips) {
+        StatementCountInspector.reset();
+        List<Developer> developers = readOnlyTransaction.execute(status ->
+                developerRepository.findDevelopersByStatusCodeEquals(EMPLOYED));
+        roundTrips.record();
+        return developers;
+    }
+
+    // iteration 별 합계, statements / calls 가 호출당 DB 왕복 수
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class RoundTrips {
+        public long statements;
+        public long calls;
+
+        @Setup(Level.Iteration)
+        public void clean() {
+            statements = 0;
+            calls = 0;
+        }
+
+        void record() {
+            statements += StatementCountInspector.count();
+            calls++;
+        }
+    }
+}
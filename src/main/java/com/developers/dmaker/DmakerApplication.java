@@ -2,9 +2,11 @@ package com.developers.dmaker;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.context.properties.ConfigurationPropertiesScan;
 import org.springframework.data.jpa.repository.config.EnableJpaAuditing;
 
 @SpringBootApplication
+@ConfigurationPropertiesScan
 public class DmakerApplication {
 	public static void main(String[] args) {
 		SpringApplication.run(DmakerApplication.class, args);
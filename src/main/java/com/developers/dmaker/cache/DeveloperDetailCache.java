@@ -0,0 +1,63 @@
+package com.developers.dmaker.cache;
+
+import com.developers.dmaker.config.DMakerProperties;
+import com.developers.dmaker.dto.CacheStatsDto;
+import com.developers.dmaker.dto.DeveloperDetailDto;
+import com.developers.dmaker.event.DeveloperChangedEvent;
+import com.developers.dmaker.routing.PrimaryReads;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.function.Function;
+
+@Component
+public class DeveloperDetailCache implements MeterBinder {
+
+    private final boolean enabled;
+    private final LruTtlCache<String, DeveloperDetailDto> cache;
+
+    public DeveloperDetailCache(DMakerProperties dMakerProperties) {
+        DMakerProperties.DetailCache properties = dMakerProperties.getDetailCache();
+        this.enabled = properties.isEnabled();
+        this.cache = new LruTtlCache<>(properties.getMaxSize(), properties.getTtl(), properties.getSegments());
+    }
+
+    // DTO 는 setter 가 있으므로 cache 에 둔 객체는 밖으로 내보내지 않고 사본을 돌려준다
+    // cache 에 넣을 값은 primary 에서 읽는다 (replica 의 늦은 값이 ttl 동안 남지 않도록)
+    public DeveloperDetailDto get(String memberId, Function<String, DeveloperDetailDto> loader) {
+        if (!enabled)
+            return loader.apply(memberId);
+        return cache.get(memberId, id -> PrimaryReads.call(() -> loader.apply(id))).copy();
+    }
+
+    // commit 된 이후에만 지워야 commit 전 값을 다시 캐싱하지 않는다
+    @TransactionalEventListener
+    public void onDeveloperChanged(DeveloperChangedEvent event) {
+        cache.invalidate(event.getMemberId());
+    }
+
+    // snapshot import 처럼 여러 개발자를 한 번에 바꾼 경우
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+
+    public CacheStatsDto getStats() {
+        return cache.getStats();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("dmaker.cache.requests", cache, c -> c.getStats().getHits())
+                .tags("cache", "developerDetail", "result", "hit").register(registry);
+        FunctionCounter.builder("dmaker.cache.requests", cache, c -> c.getStats().getMisses())
+                .tags("cache", "developerDetail", "result", "miss").register(registry);
+        FunctionCounter.builder("dmaker.cache.evictions", cache, c -> c.getStats().getEvictions())
+                .tags("cache", "developerDetail").register(registry);
+        Gauge.builder("dmaker.cache.size", cache, LruTtlCache::size)
+                .tags("cache", "developerDetail").register(registry);
+    }
+}
@@ -0,0 +1,148 @@
+package com.developers.dmaker.cache;
+
+import com.developers.dmaker.config.DMakerProperties;
+import com.developers.dmaker.dto.DeveloperDto;
+import com.developers.dmaker.event.DeveloperChangedEvent;
+import com.developers.dmaker.routing.PrimaryReads;
+import com.developers.dmaker.service.DMakerService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.Getter;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.util.DigestUtils;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * GET /developers 응답(재직자 전체 목록)을 JSON byte 와 gzip byte 로 한 번 만들어 두고 재사용한다.
+ * 조회 / 직렬화 / 압축은 목록이 바뀐 뒤 첫 요청에서만 하고, 이후에는 ETag 비교와 byte 복사만 한다.
+ * 목록에 보이는 값(status, level, skill)이 바뀐 commit 이후에 비우고, 그 외에도 ttl 이 지나면 다시 만든다.
+ * 무효화는 이 JVM 안의 DeveloperChangedEvent 로만 하므로 인스턴스 하나 기준이다.
+ * 여러 인스턴스로 띄우면 다른 인스턴스에서 바뀐 내용은 ttl 이 지나야 보인다.
+ */
+@Component
+public class DeveloperRosterCache implements MeterBinder {
+
+    private final DMakerService dMakerService;
+    private final ObjectMapper objectMapper;
+    private final boolean enabled;
+    private final long ttlNanos;
+
+    // invalidate 마다 새 State 로 바꾸므로, 만들기 시작할 때 읽은 State 로 CAS 가 성공해야만 저장된다
+    private final AtomicReference<State> state = new AtomicReference<>(new State(0, null, 0));
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder builds = new LongAdder();
+
+    public DeveloperRosterCache(DMakerService dMakerService, ObjectMapper objectMapper,
+                                DMakerProperties dMakerProperties) {
+        this.dMakerService = dMakerService;
+        this.objectMapper = objectMapper;
+        this.enabled = dMakerProperties.getRosterCache().isEnabled();
+        this.ttlNanos = dMakerProperties.getRosterCache().getTtl().toNanos();
+    }
+
+    public Roster get() {
+        State startedAt = state.get();
+        Roster cached = cached(startedAt);
+        if (cached != null)
+            return cached;
+
+        Roster built = build();
+        if (enabled)
+            state.compareAndSet(startedAt, new State(startedAt.generation, built, System.nanoTime() + ttlNanos));
+        return built;
+    }
+
+    // 비동기 controller 가 JDBC pool 을 거칠지 판단할 때 사용
+    public Roster getIfPresent() {
+        return cached(state.get());
+    }
+
+    public void invalidate() {
+        state.updateAndGet(current -> new State(current.generation + 1, null, 0));
+    }
+
+    private Roster cached(State current) {
+        if (!enabled || current.roster == null || System.nanoTime() - current.expiresAt >= 0)
+            return null;
+        hits.increment();
+        return current.roster;
+    }
+
+    @TransactionalEventListener
+    public void onDeveloperChanged(DeveloperChangedEvent event) {
+        if (!Objects.equals(event.getBefore(), event.getAfter()))
+            invalidate();
+    }
+
+    private Roster build() {
+        builds.increment();
+        try {
+            // cache 에 넣을 목록은 primary 에서 읽는다 (replica 의 늦은 목록이 ttl 동안 남지 않도록)
+            List<DeveloperDto> developers = enabled
+                    ? PrimaryReads.call(dMakerService::getAllEmployedDevelopers)
+                    : dMakerService.getAllEmployedDevelopers();
+            byte[] json = objectMapper.writeValueAsBytes(developers);
+            return new Roster(json, gzip(json), DigestUtils.md5DigestAsHex(json));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("failed to serialize developer roster", e);
+        }
+    }
+
+    private static byte[] gzip(byte[] json) {
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream(json.length / 4 + 64);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(compressed)) {
+            gzip.write(json);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return compressed.toByteArray();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("dmaker.cache.requests", hits, LongAdder::sum)
+                .tags("cache", "developerRoster", "result", "hit").register(registry);
+        FunctionCounter.builder("dmaker.cache.requests", builds, LongAdder::sum)
+                .tags("cache", "developerRoster", "result", "miss").register(registry);
+    }
+
+    private static class State {
+        private final long generation;
+        private final Roster roster;
+        // System.nanoTime 기준
+        private final long expiresAt;
+
+        private State(long generation, Roster roster, long expiresAt) {
+            this.generation = generation;
+            this.roster = roster;
+            this.expiresAt = expiresAt;
+        }
+    }
+
+    // 만든 뒤에는 바꾸지 않는다
+    @Getter
+    public static class Roster {
+        private final byte[] json;
+        private final byte[] gzip;
+        // JSON 내용의 MD5 (hex)
+        private final String hash;
+
+        private Roster(byte[] json, byte[] gzip, String hash) {
+            this.json = json;
+            this.gzip = gzip;
+            this.hash = hash;
+        }
+    }
+}
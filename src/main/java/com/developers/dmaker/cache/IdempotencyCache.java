@@ -0,0 +1,126 @@
+package com.developers.dmaker.cache;
+
+import com.developers.dmaker.config.DMakerProperties;
+import com.developers.dmaker.exception.DMakerException;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.EqualsAndHashCode;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+import static com.developers.dmaker.exception.DMakerErrorCode.IDEMPOTENCY_KEY_REUSED;
+import static com.developers.dmaker.exception.DMakerErrorCode.INVALID_REQUEST;
+
+/**
+ * (클라이언트, Idempotency-Key) 별 첫 요청의 결과를 보관했다가 재시도에는 서비스를 거치지 않고 그대로 돌려준다.
+ * 클라이언트마다 key 공간이 따로라서 다른 클라이언트가 같은 key 를 써도 서로의 응답을 받거나 막지 않는다.
+ * 처리 중인 요청도 future 로 저장하므로 동시에 들어온 재시도는 같은 결과를 기다린다.
+ * 실패한 결과는 저장하지 않아 재시도하면 다시 실행한다.
+ */
+@Component
+public class IdempotencyCache implements MeterBinder {
+
+    public static final String IDEMPOTENCY_KEY = "Idempotency-Key";
+    private static final int MAX_KEY_LENGTH = 255;
+
+    private final boolean enabled;
+    private final LruTtlCache<Key, Entry> cache;
+    private final LongAdder conflicts = new LongAdder();
+
+    public IdempotencyCache(DMakerProperties dMakerProperties) {
+        DMakerProperties.Idempotency properties = dMakerProperties.getIdempotency();
+        this.enabled = properties.isEnabled();
+        this.cache = new LruTtlCache<>(properties.getMaxSize(), properties.getTtl(), properties.getSegments());
+    }
+
+    /**
+     * key 가 없으면 action 을 그대로 실행한다.
+     * 같은 클라이언트가 같은 key 로 다른 request 를 보내면 IDEMPOTENCY_KEY_REUSED.
+     * @param client ClientResolver 로 구한 요청 클라이언트
+     * 반환되는 future 는 요청마다 복사본이라 호출한 쪽에서 timeout 등을 걸어도 다른 요청에 영향이 없다.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> CompletableFuture<T> execute(String client, String key, Object request, Supplier<CompletableFuture<T>> action) {
+        if (!enabled || key == null)
+            return action.get();
+        if (key.isEmpty() || key.length() > MAX_KEY_LENGTH)
+            throw new DMakerException(INVALID_REQUEST, IDEMPOTENCY_KEY + " 는 1 ~ " + MAX_KEY_LENGTH + " 자여야 합니다.");
+
+        Key scoped = new Key(client, key);
+        Entry created = new Entry(request, new CompletableFuture<>());
+        Entry existing = cache.putIfAbsent(scoped, created);
+        if (existing != null) {
+            if (!existing.request.equals(request)) {
+                conflicts.increment();
+                throw DMakerException.stackless(IDEMPOTENCY_KEY_REUSED);
+            }
+            return (CompletableFuture<T>) existing.result.copy();
+        }
+
+        CompletableFuture<T> result = (CompletableFuture<T>) created.result;
+        try {
+            action.get().whenComplete((value, throwable) -> {
+                if (throwable == null) {
+                    result.complete(value);
+                } else {
+                    cache.invalidate(scoped, created);
+                    result.completeExceptionally(throwable);
+                }
+            });
+        } catch (RuntimeException e) {
+            cache.invalidate(scoped, created);
+            result.completeExceptionally(e);
+            throw e;
+        }
+        return result.copy();
+    }
+
+    // 동기 controller 용 : 기다린 뒤 원래 예외를 그대로 던진다
+    public static <T> T join(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException)
+                throw (RuntimeException) e.getCause();
+            throw e;
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("dmaker.idempotency.requests", cache, c -> c.getStats().getHits())
+                .tags("result", "replayed").register(registry);
+        FunctionCounter.builder("dmaker.idempotency.requests", cache, c -> c.getStats().getMisses())
+                .tags("result", "executed").register(registry);
+        FunctionCounter.builder("dmaker.idempotency.requests", conflicts, LongAdder::sum)
+                .tags("result", "conflict").register(registry);
+        Gauge.builder("dmaker.idempotency.keys", cache, LruTtlCache::size).register(registry);
+    }
+
+    @EqualsAndHashCode
+    private static class Key {
+        private final String client;
+        private final String key;
+
+        private Key(String client, String key) {
+            this.client = client;
+            this.key = key;
+        }
+    }
+
+    private static class Entry {
+        private final Object request;
+        private final CompletableFuture<?> result;
+
+        private Entry(Object request, CompletableFuture<?> result) {
+            this.request = request;
+            this.result = result;
+        }
+    }
+}
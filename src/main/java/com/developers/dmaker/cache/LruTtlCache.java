@@ -0,0 +1,205 @@
+package com.developers.dmaker.cache;
+
+import com.developers.dmaker.dto.CacheStatsDto;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * 크기 제한(LRU) + TTL 을 가진 in-process cache.
+ * key hash 로 segment 를 나눠 segment 단위로만 lock 을 잡는다.
+ */
+public class LruTtlCache<K, V> {
+
+    private final Segment<K, V>[] segments;
+    private final long ttlNanos;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder expirations = new LongAdder();
+
+    @SuppressWarnings("unchecked")
+    public LruTtlCache(int maxSize, Duration ttl, int segmentCount) {
+        int count = Math.max(1, Math.min(segmentCount, maxSize));
+        int segmentSize = Math.max(1, maxSize / count);
+
+        this.segments = new Segment[count];
+        for (int i = 0; i < count; i++)
+            segments[i] = new Segment<>(segmentSize, evictions);
+        this.ttlNanos = ttl.toNanos();
+    }
+
+    /**
+     * 캐시에 없거나 만료된 경우 loader 로 읽어서 저장한다.
+     * loader 는 lock 밖에서 실행되고, 읽는 도중 invalidate 가 있었다면 결과를 저장하지 않는다.
+     */
+    public V get(K key, Function<K, V> loader) {
+        Segment<K, V> segment = segmentOf(key);
+        long generation;
+
+        synchronized (segment) {
+            Entry<V> entry = segment.entries.get(key);
+            if (entry != null) {
+                if (entry.expiresAt - System.nanoTime() > 0) {
+                    hits.increment();
+                    return entry.value;
+                }
+                segment.entries.remove(key);
+                expirations.increment();
+            }
+            generation = segment.generation;
+        }
+
+        misses.increment();
+        V value = loader.apply(key);
+
+        synchronized (segment) {
+            if (segment.generation == generation)
+                segment.entries.put(key, new Entry<>(value, System.nanoTime() + ttlNanos));
+        }
+        return value;
+    }
+
+    // 없거나 만료되었으면 null
+    public V getIfPresent(K key) {
+        Segment<K, V> segment = segmentOf(key);
+
+        synchronized (segment) {
+            Entry<V> entry = segment.entries.get(key);
+            if (entry != null) {
+                if (entry.expiresAt - System.nanoTime() > 0) {
+                    hits.increment();
+                    return entry.value;
+                }
+                segment.entries.remove(key);
+                expirations.increment();
+            }
+            misses.increment();
+            return null;
+        }
+    }
+
+    // 있으면 값과 만료 시각을 새로 덮어쓴다
+    public void put(K key, V value) {
+        Segment<K, V> segment = segmentOf(key);
+        synchronized (segment) {
+            segment.entries.put(key, new Entry<>(value, System.nanoTime() + ttlNanos));
+        }
+    }
+
+    /**
+     * 살아 있는 entry 가 있으면 그 값을 반환하고, 없으면 value 를 저장하고 null 을 반환한다.
+     * 확인과 저장이 같은 lock 안이라 동시에 들어와도 한 요청만 저장한다.
+     */
+    public V putIfAbsent(K key, V value) {
+        Segment<K, V> segment = segmentOf(key);
+
+        synchronized (segment) {
+            Entry<V> entry = segment.entries.get(key);
+            if (entry != null) {
+                if (entry.expiresAt - System.nanoTime() > 0) {
+                    hits.increment();
+                    return entry.value;
+                }
+                segment.entries.remove(key);
+                expirations.increment();
+            }
+
+            misses.increment();
+            segment.entries.put(key, new Entry<>(value, System.nanoTime() + ttlNanos));
+            return null;
+        }
+    }
+
+    // 그 사이 다른 값으로 바뀌었다면 지우지 않는다
+    public void invalidate(K key, V value) {
+        Segment<K, V> segment = segmentOf(key);
+        synchronized (segment) {
+            Entry<V> entry = segment.entries.get(key);
+            if (entry != null && entry.value == value) {
+                segment.generation++;
+                segment.entries.remove(key);
+            }
+        }
+    }
+
+    public void invalidate(K key) {
+        Segment<K, V> segment = segmentOf(key);
+        synchronized (segment) {
+            segment.generation++;
+            segment.entries.remove(key);
+        }
+    }
+
+    public void invalidateAll() {
+        for (Segment<K, V> segment : segments) {
+            synchronized (segment) {
+                segment.generation++;
+                segment.entries.clear();
+            }
+        }
+    }
+
+    public long size() {
+        long size = 0;
+        for (Segment<K, V> segment : segments) {
+            synchronized (segment) {
+                size += segment.entries.size();
+            }
+        }
+        return size;
+    }
+
+    public CacheStatsDto getStats() {
+        long hitCount = hits.sum();
+        long missCount = misses.sum();
+        long requestCount = hitCount + missCount;
+
+        return CacheStatsDto.builder()
+                .hits(hitCount)
+                .misses(missCount)
+                .evictions(evictions.sum())
+                .expirations(expirations.sum())
+                .size(size())
+                .hitRate(requestCount == 0 ? 0.0 : (double) hitCount / requestCount)
+                .build();
+    }
+
+    private Segment<K, V> segmentOf(K key) {
+        int hash = key.hashCode();
+        hash ^= (hash >>> 16);
+        return segments[(hash & 0x7fffffff) % segments.length];
+    }
+
+    private static class Segment<K, V> {
+        private final Map<K, Entry<V>> entries;
+        private long generation;
+
+        private Segment(int maxSize, LongAdder evictions) {
+            // accessOrder = true : 가장 오래 사용하지 않은 entry 부터 제거
+            this.entries = new LinkedHashMap<K, Entry<V>>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<K, Entry<V>> eldest) {
+                    if (size() <= maxSize)
+                        return false;
+                    evictions.increment();
+                    return true;
+                }
+            };
+        }
+    }
+
+    private static class Entry<V> {
+        private final V value;
+        private final long expiresAt;
+
+        private Entry(V value, long expiresAt) {
+            this.value = value;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
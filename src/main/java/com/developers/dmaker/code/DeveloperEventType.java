@@ -0,0 +1,14 @@
+package com.developers.dmaker.code;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public enum DeveloperEventType {
+    CREATED("생성"),
+    EDITED("수정"),
+    RETIRED("퇴직");
+
+    private final String description;
+}
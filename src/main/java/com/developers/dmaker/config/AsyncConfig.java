@@ -0,0 +1,60 @@
+package com.developers.dmaker.config;
+
+import com.developers.dmaker.routing.PrimaryReads;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+@Configuration
+@ConditionalOnProperty(prefix = "dmaker.async", name = "enabled", havingValue = "true")
+public class AsyncConfig implements WebMvcConfigurer {
+
+    public static final String JDBC_EXECUTOR = "dmakerJdbcExecutor";
+    public static final String MVC_EXECUTOR = "dmakerMvcExecutor";
+
+    private final DMakerProperties.Async properties;
+    private final ThreadPoolTaskExecutor mvcExecutor;
+
+    public AsyncConfig(DMakerProperties dMakerProperties,
+                       @Qualifier(MVC_EXECUTOR) ThreadPoolTaskExecutor mvcExecutor) {
+        this.properties = dMakerProperties.getAsync();
+        this.mvcExecutor = mvcExecutor;
+    }
+
+    // queue 가 가득 차면 TaskRejectedException >> 503
+    @Bean(JDBC_EXECUTOR)
+    public static ThreadPoolTaskExecutor dmakerJdbcExecutor(DMakerProperties dMakerProperties) {
+        DMakerProperties.Async async = dMakerProperties.getAsync();
+        ThreadPoolTaskExecutor executor = executor("dmaker-jdbc-", async.getJdbcPoolSize(), async.getJdbcQueueCapacity());
+        // 요청 thread 의 primary 조회 범위(read-your-writes)를 서비스 호출 thread 로 넘긴다
+        executor.setTaskDecorator(PrimaryReads::propagate);
+        return executor;
+    }
+
+    @Bean(MVC_EXECUTOR)
+    public static ThreadPoolTaskExecutor dmakerMvcExecutor(DMakerProperties dMakerProperties) {
+        DMakerProperties.Async async = dMakerProperties.getAsync();
+        return executor("dmaker-mvc-", async.getMvcPoolSize(), async.getMvcQueueCapacity());
+    }
+
+    @Override
+    public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+        // 서비스 호출 timeout 보다 조금 길게 잡아서 서비스 쪽 timeout 이 먼저 응답하도록
+        configurer.setTaskExecutor(mvcExecutor);
+        configurer.setDefaultTimeout(properties.getTimeout().toMillis() + 1000);
+    }
+
+    private static ThreadPoolTaskExecutor executor(String threadNamePrefix, int poolSize, int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setThreadNamePrefix(threadNamePrefix);
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        return executor;
+    }
+}
@@ -0,0 +1,261 @@
+package com.developers.dmaker.config;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "dmaker")
+public class DMakerProperties {
+
+    private final Bulk bulk = new Bulk();
+    private final DetailCache detailCache = new DetailCache();
+    private final Async async = new Async();
+    private final AccessLog accessLog = new AccessLog();
+    private final Statistics statistics = new Statistics();
+    private final Outbox outbox = new Outbox();
+    private final Sync sync = new Sync();
+    private final Snapshot snapshot = new Snapshot();
+    private final Idempotency idempotency = new Idempotency();
+    private final RateLimit rateLimit = new RateLimit();
+    private final LoadShedding loadShedding = new LoadShedding();
+    private final ErrorLog errorLog = new ErrorLog();
+    private final RosterCache rosterCache = new RosterCache();
+    private final SecondLevelCache secondLevelCache = new SecondLevelCache();
+    private final Replica replica = new Replica();
+
+    @Getter
+    @Setter
+    public static class Bulk {
+        // hibernate.jdbc.batch_size 와 같은 값으로 flush / clear 단위
+        private int batchSize = 50;
+        // 한 요청에 받을 수 있는 최대 건수
+        private int maxSize = 10000;
+        // memberId 중복 확인 IN 조회 한 번에 넣을 건수
+        private int inClauseSize = 1000;
+        // 일괄 퇴사 시 INSERT ... SELECT / UPDATE 한 번에 넣을 memberId 수
+        private int retireChunkSize = 500;
+        // GET /developers/stream(NDJSON) 트랜잭션 최대 시간, client 가 읽는 속도만큼 커넥션을 잡으므로
+        // spring.transaction.default-timeout 과 따로 둔다
+        private Duration streamTimeout = Duration.ofMinutes(5);
+    }
+
+    @Getter
+    @Setter
+    public static class DetailCache {
+        private boolean enabled = true;
+        private int maxSize = 10000;
+        private Duration ttl = Duration.ofMinutes(5);
+        // lock 을 나눠 잡을 segment 수
+        private int segments = 16;
+    }
+
+    @Getter
+    @Setter
+    public static class Async {
+        // true 면 controller 가 CompletableFuture 를 반환하고 servlet thread 를 바로 반납
+        private boolean enabled = false;
+        // DMakerService(JDBC) 호출 전용 pool, 커넥션 풀 크기에 맞춘다
+        private int jdbcPoolSize = 10;
+        // 이 이상 쌓이면 503 으로 거절
+        private int jdbcQueueCapacity = 200;
+        // StreamingResponseBody 등 MVC 비동기 처리 pool
+        private int mvcPoolSize = 16;
+        private int mvcQueueCapacity = 200;
+        private Duration timeout = Duration.ofSeconds(10);
+    }
+
+    @Getter
+    @Setter
+    public static class AccessLog {
+        private boolean enabled = true;
+        // 0.0 ~ 1.0, 정상 응답 중 기록할 비율
+        private double sampleRate = 0.1;
+        // 5xx 응답과 느린 요청은 sampling 과 상관없이 기록
+        private boolean alwaysLogErrors = true;
+        private Duration slowThreshold = Duration.ofSeconds(1);
+    }
+
+    @Getter
+    @Setter
+    public static class Statistics {
+        // 이벤트로 누적한 집계를 DB group by 결과로 맞추는 주기
+        private Duration reconcileInterval = Duration.ofMinutes(5);
+    }
+
+    @Getter
+    @Setter
+    public static class Outbox {
+        // 아직 내보내지 않은 outbox 를 sink 로 내보내는 주기 / 한 트랜잭션에서 처리할 건수
+        private Duration relayInterval = Duration.ofMillis(500);
+        private int relayBatchSize = 500;
+        // in-process : 같은 JVM 의 @EventListener 로 발행, file : filePath 에 NDJSON 으로 append
+        private String sink = "in-process";
+        private String filePath = "./data/developer-events.ndjson";
+        // long-poll 최대 대기 시간 / SSE 연결 유지 시간
+        private Duration pollTimeout = Duration.ofSeconds(30);
+        private Duration streamTimeout = Duration.ofMinutes(30);
+        // SSE 전송 thread 수, 구독자 하나는 동시에 thread 하나만 쓴다
+        private int streamSenderThreads = 16;
+        // 내보낸 이벤트 보관 기간 / 삭제 주기
+        private Duration retention = Duration.ofDays(7);
+        private Duration purgeInterval = Duration.ofHours(1);
+    }
+
+    @Getter
+    @Setter
+    public static class Sync {
+        // updatedAt 은 flush 시점 값이라 commit 이 늦은 트랜잭션은 더 이른 시각으로 나중에 보인다.
+        // 최근 safetyLag 안의 변경은 내려주지 않아서 cursor 가 그런 row 를 건너뛰지 않게 한다.
+        // flush 부터 commit 까지가 safetyLag 보다 길면 그 row 는 건너뛰므로 트랜잭션 최대 시간
+        // (spring.transaction.default-timeout) 보다 길게 둔다. production profile 은 기동 시 검증한다.
+        // replica 를 쓰면 replica 지연(max-lag + lag-check-interval)보다도 길어야 한다 (ReplicaDataSourceConfig 가 검증).
+        private Duration safetyLag = Duration.ofMinutes(1);
+    }
+
+    @Getter
+    @Setter
+    public static class Snapshot {
+        // export / import 파일을 두는 디렉터리, 요청에는 파일 이름만 받는다
+        private String directory = "./data/snapshots";
+        // import 시 batch insert 한 번에 넣을 건수
+        private int importBatchSize = 1000;
+        // import 트랜잭션 최대 시간, updatedAt 은 commit 직전에 다시 찍으므로 sync.safety-lag 보다 길어도 된다
+        private Duration importTimeout = Duration.ofMinutes(10);
+        // export 트랜잭션 최대 시간, 전체 row 를 읽으므로 spring.transaction.default-timeout 보다 길게 둔다
+        private Duration exportTimeout = Duration.ofMinutes(10);
+    }
+
+    @Getter
+    @Setter
+    public static class Idempotency {
+        private boolean enabled = true;
+        private int maxSize = 10000;
+        // gateway 재시도가 끝날 때까지 첫 응답을 재사용
+        private Duration ttl = Duration.ofHours(1);
+        private int segments = 16;
+    }
+
+    @Getter
+    @Setter
+    public static class RateLimit {
+        private boolean enabled = true;
+        // 클라이언트를 구분하는 header, trustedProxies 에서 온 요청만 읽고 그 외에는 remote address
+        private String clientHeader = "X-Client-Id";
+        // clientHeader 를 붙여주는 gateway 주소 (remote address 와 정확히 일치), 비어 있으면 header 를 쓰지 않는다
+        private Set<String> trustedProxies = new HashSet<>();
+        private Limit defaultLimit = new Limit(50, 100);
+        // key 는 "GET /developer/{memberId}" 처럼 method + mapping pattern
+        private Map<String, Limit> endpoints = new HashMap<>();
+        // 이 시간 동안 허용한 요청이 없는 bucket 은 버린다 (burst / permits-per-second 보다 짧으면 그 값을 쓴다)
+        private Duration idleTimeout = Duration.ofMinutes(1);
+        // 클라이언트 × endpoint bucket 수 상한, 넘으면 가장 오래 쓰지 않은 bucket 부터 버린다
+        private int maxBuckets = 100_000;
+    }
+
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Limit {
+        private double permitsPerSecond;
+        // 한 번에 몰아서 보낼 수 있는 요청 수
+        private int burst;
+    }
+
+    @Getter
+    @Setter
+    public static class LoadShedding {
+        private boolean enabled = true;
+        // 처리 중인 요청 수 / 커넥션을 기다리는 thread 수가 low 이상이면 low priority 부터, max 이상이면 모두 거절
+        private int lowPriorityInFlight = 100;
+        private int maxInFlight = 200;
+        private int lowPriorityPendingConnections = 5;
+        private int maxPendingConnections = 20;
+        // 먼저 거절할 목록 조회 API (method + mapping pattern)
+        private List<String> lowPriorityEndpoints = new ArrayList<>(Arrays.asList(
+                "GET /developers", "GET /developers/page", "GET /developers/search",
+                "GET /developers/stream", "GET /developers/changes"));
+        private Duration retryAfter = Duration.ofSeconds(1);
+    }
+
+    @Getter
+    @Setter
+    public static class ErrorLog {
+        // errorCode 별로 이 간격에 한 줄만 남긴다
+        private Duration interval = Duration.ofSeconds(1);
+    }
+
+    @Getter
+    @Setter
+    public static class RosterCache {
+        // GET /developers 응답을 직렬화 / 압축해 둔 byte 로 재사용
+        private boolean enabled = true;
+        // 변경 event 는 이 인스턴스 안에서만 전달되므로 다른 인스턴스 / DB 직접 변경은 이 시간 뒤에 반영된다
+        private Duration ttl = Duration.ofMinutes(1);
+    }
+
+    @Getter
+    @Setter
+    public static class SecondLevelCache {
+        // false 면 hibernate 2nd level / query cache 를 모두 끈다
+        private boolean enabled = true;
+        // region 이름 >> 설정, 없는 region 은 기본값(CacheRegion) 으로 만든다
+        private Map<String, CacheRegion> regions = new HashMap<>();
+    }
+
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class CacheRegion {
+        // heap 에 두는 최대 건수
+        private long maxEntries = 10000;
+        // 없으면 만료 없음
+        private Duration ttl;
+    }
+
+    public enum LoadBalancing {
+        ROUND_ROBIN, RANDOM
+    }
+
+    @Getter
+    @Setter
+    public static class Replica {
+        // true 면 readOnly 트랜잭션은 replica, 나머지는 spring.datasource (primary) 로 보낸다
+        private boolean enabled = false;
+        private LoadBalancing loadBalancing = LoadBalancing.ROUND_ROBIN;
+        // replica 에서 실행해 지연(초)을 돌려주는 SQL, 없으면 지연은 확인하지 않고 커넥션이 살아 있는지만 확인
+        private String lagQuery;
+        // 지연이 이보다 크거나 lagQuery(생존 확인)가 실패한 replica 는 다음 확인까지 제외, 모두 제외되면 primary 로 읽는다
+        private Duration maxLag = Duration.ofSeconds(5);
+        private Duration lagCheckInterval = Duration.ofSeconds(1);
+        // 쓰기 요청 뒤 max-lag + lag-check-interval 동안 primary 에서 읽을 클라이언트 수 상한 (read-your-writes)
+        private int readYourWritesMaxClients = 10_000;
+        private List<ReplicaDataSource> datasources = new ArrayList<>();
+    }
+
+    // 나머지 hikari 설정은 spring.datasource.hikari 를 그대로 따른다
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class ReplicaDataSource {
+        private String url;
+        private String username;
+        private String password;
+        private Integer maximumPoolSize;
+    }
+}
@@ -0,0 +1,106 @@
+package com.developers.dmaker.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.boot.autoconfigure.orm.jpa.JpaProperties;
+import org.springframework.boot.jdbc.DataSourceUnwrapper;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.AbstractPlatformTransactionManager;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * production profile 의 커넥션 풀 / Hibernate 설정이 서로 어긋나면 기동을 막는다.
+ * 예) hikari auto-commit=true 인데 provider_disables_autocommit=true 이면 statement 마다 commit 된다.
+ * 예) 트랜잭션이 dmaker.sync.safety-lag 보다 오래 걸리면 /developers/changes 가 그 변경을 건너뛸 수 있다.
+ */
+@Slf4j
+@Component
+@Profile(ProductionSettingsValidator.PROFILE)
+public class ProductionSettingsValidator implements InitializingBean {
+
+    public static final String PROFILE = "production";
+
+    private final DataSource dataSource;
+    private final JpaProperties jpaProperties;
+    private final DMakerProperties dMakerProperties;
+    private final PlatformTransactionManager transactionManager;
+
+    public ProductionSettingsValidator(DataSource dataSource, JpaProperties jpaProperties,
+                                       DMakerProperties dMakerProperties,
+                                       PlatformTransactionManager transactionManager) {
+        this.dataSource = dataSource;
+        this.jpaProperties = jpaProperties;
+        this.dMakerProperties = dMakerProperties;
+        this.transactionManager = transactionManager;
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        List<String> violations = validate();
+        if (!violations.isEmpty())
+            throw new IllegalStateException("invalid production settings : " + violations);
+
+        log.info("production settings validated");
+    }
+
+    List<String> validate() {
+        List<String> violations = new ArrayList<>();
+        Map<String, String> hibernate = jpaProperties.getProperties();
+
+        HikariDataSource hikari = DataSourceUnwrapper.unwrap(dataSource, HikariDataSource.class);
+        if (hikari == null) {
+            violations.add("datasource is not HikariCP");
+        } else {
+            if (hikari.getMaximumPoolSize() < dMakerProperties.getAsync().getJdbcPoolSize())
+                violations.add("hikari maximum-pool-size < dmaker.async.jdbc-pool-size");
+            if (hikari.isAutoCommit() == isTrue(hibernate, "hibernate.connection.provider_disables_autocommit"))
+                violations.add("hikari auto-commit and hibernate.connection.provider_disables_autocommit must be opposite");
+        }
+
+        if (!String.valueOf(dMakerProperties.getBulk().getBatchSize()).equals(hibernate.get("hibernate.jdbc.batch_size")))
+            violations.add("hibernate.jdbc.batch_size must equal dmaker.bulk.batch-size");
+        if (!isTrue(hibernate, "hibernate.order_inserts"))
+            violations.add("hibernate.order_inserts must be true");
+        if (!isTrue(hibernate, "hibernate.order_updates"))
+            violations.add("hibernate.order_updates must be true");
+        if (!isPositive(hibernate, "hibernate.default_batch_fetch_size"))
+            violations.add("hibernate.default_batch_fetch_size must be positive");
+        if (!isPositive(hibernate, "hibernate.query.plan_cache_max_size"))
+            violations.add("hibernate.query.plan_cache_max_size must be positive");
+        if (!isTrue(hibernate, "hibernate.query.in_clause_parameter_padding"))
+            violations.add("hibernate.query.in_clause_parameter_padding must be true");
+        if (!Boolean.FALSE.equals(jpaProperties.getOpenInView()))
+            violations.add("spring.jpa.open-in-view must be false");
+
+        // 초 단위, 설정이 없으면 -1
+        int transactionTimeout = transactionManager instanceof AbstractPlatformTransactionManager
+                ? ((AbstractPlatformTransactionManager) transactionManager).getDefaultTimeout()
+                : TransactionDefinition.TIMEOUT_DEFAULT;
+        if (transactionTimeout <= 0)
+            violations.add("spring.transaction.default-timeout must be set");
+        else if (dMakerProperties.getSync().getSafetyLag().getSeconds() <= transactionTimeout)
+            violations.add("dmaker.sync.safety-lag must be longer than spring.transaction.default-timeout");
+
+        return violations;
+    }
+
+    private static boolean isTrue(Map<String, String> properties, String key) {
+        return Boolean.parseBoolean(properties.get(key));
+    }
+
+    private static boolean isPositive(Map<String, String> properties, String key) {
+        try {
+            return Integer.parseInt(properties.get(key)) > 0;
+        } catch (NumberFormatException e) {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package com.developers.dmaker.config;
+
+import com.developers.dmaker.ratelimit.ClientResolver;
+import com.developers.dmaker.routing.ReadWriteRoutingDataSource;
+import com.developers.dmaker.routing.ReadYourWritesFilter;
+import com.developers.dmaker.routing.ReplicaAwareJpaTransactionManager;
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.orm.jpa.JpaProperties;
+import org.springframework.boot.autoconfigure.transaction.TransactionManagerCustomizers;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * dmaker.replica.enabled=true 이면 spring.datasource 를 primary 로, dmaker.replica.datasources 를 읽기 전용 replica 로 두고
+ * 트랜잭션의 readOnly 여부로 나눠 보낸다. DMakerService / repository 는 그대로 @Transactional(readOnly = true) 만 사용한다.
+ * replica pool 은 primary 의 hikari 설정(auto-commit, timeout 등)을 복사한 뒤 url / 계정 / pool 크기만 바꾼다.
+ * 지연을 허용할 수 없는 조회(cache 채우기, 쓰기 직후의 조회 등)는 PrimaryReads 로 primary 에서 읽는다.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "dmaker.replica", name = "enabled", havingValue = "true")
+public class ReplicaDataSourceConfig {
+
+    public static final String PRIMARY_DATA_SOURCE = "primaryDataSource";
+
+    @Bean(PRIMARY_DATA_SOURCE)
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties dataSourceProperties) {
+        return dataSourceProperties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+
+    @Bean
+    public ReadWriteRoutingDataSource readWriteRoutingDataSource(HikariDataSource primaryDataSource,
+                                                                 DMakerProperties dMakerProperties,
+                                                                 JpaProperties jpaProperties) {
+        // open-in-view 는 요청 내내 커넥션을 잡고 있어서 readOnly 조회 뒤의 쓰기가 replica 커넥션으로 갈 수 있다
+        if (!Boolean.FALSE.equals(jpaProperties.getOpenInView()))
+            throw new IllegalStateException("dmaker.replica.enabled=true requires spring.jpa.open-in-view=false");
+
+        DMakerProperties.Replica properties = dMakerProperties.getReplica();
+        List<DMakerProperties.ReplicaDataSource> datasources = properties.getDatasources();
+        if (datasources.isEmpty())
+            throw new IllegalStateException("dmaker.replica.datasources is empty");
+
+        // 변경 동기화(/developers/changes)는 safety-lag 이전 변경이 모두 보인다고 가정하므로 replica 가 그보다 늦으면 안 된다
+        Duration safetyLag = dMakerProperties.getSync().getSafetyLag();
+        Duration replicaLag = maxReplicaLag(properties);
+        if (safetyLag.compareTo(replicaLag) <= 0)
+            throw new IllegalStateException("dmaker.sync.safety-lag (" + safetyLag
+                    + ") must exceed dmaker.replica.max-lag + lag-check-interval (" + replicaLag + ")");
+
+        Map<String, DataSource> replicas = new LinkedHashMap<>();
+        for (int i = 0; i < datasources.size(); i++) {
+            String name = "replica-" + i;
+            replicas.put(name, replicaDataSource(primaryDataSource, datasources.get(i), name));
+        }
+        return new ReadWriteRoutingDataSource(primaryDataSource, replicas, properties);
+    }
+
+    // JPA / JdbcTemplate 이 쓰는 DataSource, 실제 커넥션은 첫 SQL 에서 routing 으로 가져온다
+    @Bean
+    @Primary
+    public LazyConnectionDataSourceProxy dataSource(ReadWriteRoutingDataSource readWriteRoutingDataSource) {
+        return new LazyConnectionDataSourceProxy(readWriteRoutingDataSource);
+    }
+
+    // boot 기본 JpaTransactionManager 대신 사용, spring.transaction.* 설정은 같은 방식으로 적용한다
+    @Bean
+    public ReplicaAwareJpaTransactionManager transactionManager(
+            ObjectProvider<TransactionManagerCustomizers> transactionManagerCustomizers) {
+        ReplicaAwareJpaTransactionManager transactionManager = new ReplicaAwareJpaTransactionManager();
+        transactionManagerCustomizers.ifAvailable(customizers -> customizers.customize(transactionManager));
+        return transactionManager;
+    }
+
+    @Bean
+    public ReadYourWritesFilter readYourWritesFilter(ClientResolver clientResolver, DMakerProperties dMakerProperties) {
+        DMakerProperties.Replica properties = dMakerProperties.getReplica();
+        return new ReadYourWritesFilter(clientResolver, maxReplicaLag(properties),
+                properties.getReadYourWritesMaxClients());
+    }
+
+    // 지연 확인 사이에도 늦어질 수 있으므로 확인 주기만큼 더한다
+    private static Duration maxReplicaLag(DMakerProperties.Replica properties) {
+        return properties.getMaxLag().plus(properties.getLagCheckInterval());
+    }
+
+    private static HikariDataSource replicaDataSource(HikariDataSource primary,
+                                                      DMakerProperties.ReplicaDataSource replica, String name) {
+        HikariConfig config = new HikariConfig();
+        primary.copyStateTo(config);
+        config.setPoolName(name);
+        config.setJdbcUrl(replica.getUrl());
+        config.setReadOnly(true);
+        // replica 가 내려가 있어도 기동은 한다 (lag 확인에서 제외되어 primary 로 읽는다)
+        config.setInitializationFailTimeout(-1);
+        if (replica.getUsername() != null)
+            config.setUsername(replica.getUsername());
+        if (replica.getPassword() != null)
+            config.setPassword(replica.getPassword());
+        if (replica.getMaximumPoolSize() != null) {
+            config.setMaximumPoolSize(replica.getMaximumPoolSize());
+            if (config.getMinimumIdle() > replica.getMaximumPoolSize())
+                config.setMinimumIdle(replica.getMaximumPoolSize());
+        }
+        return new HikariDataSource(config);
+    }
+}
@@ -0,0 +1,84 @@
+package com.developers.dmaker.config;
+
+import com.developers.dmaker.entity.Developer;
+import com.developers.dmaker.entity.RetiredDeveloper;
+import com.developers.dmaker.repository.DeveloperRepository;
+import org.ehcache.config.builders.CacheConfigurationBuilder;
+import org.ehcache.config.builders.ConfigurationBuilder;
+import org.ehcache.config.builders.ExpiryPolicyBuilder;
+import org.ehcache.config.builders.ResourcePoolsBuilder;
+import org.ehcache.jsr107.EhcacheCachingProvider;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import java.net.URI;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.hibernate.cache.spi.RegionFactory.DEFAULT_QUERY_RESULTS_REGION_UNQUALIFIED_NAME;
+import static org.hibernate.cache.spi.RegionFactory.DEFAULT_UPDATE_TIMESTAMPS_REGION_UNQUALIFIED_NAME;
+import static org.hibernate.cfg.AvailableSettings.CACHE_REGION_FACTORY;
+import static org.hibernate.cfg.AvailableSettings.USE_QUERY_CACHE;
+import static org.hibernate.cfg.AvailableSettings.USE_SECOND_LEVEL_CACHE;
+
+/**
+ * Hibernate 2nd level / query cache 를 ehcache(JCache) heap 으로 구성한다.
+ * region 은 dmaker.second-level-cache.regions 설정으로 미리 만들고, 설정에 없는 region 을 hibernate 가 찾으면 기동 실패 (크기 제한 없는 cache 방지).
+ * hibernate 설정을 yml 이 아닌 여기서 넣으므로 이 설정이 없는 test slice(@DataJpaTest) 는 cache 없이 동작한다.
+ */
+@Configuration
+public class SecondLevelCacheConfig {
+
+    // hibernate 가 사용하는 region, 설정이 없으면 CacheRegion 기본값
+    private static final String[] REGIONS = {
+            Developer.CACHE_REGION,
+            RetiredDeveloper.CACHE_REGION,
+            DeveloperRepository.QUERY_CACHE_REGION,
+            DEFAULT_QUERY_RESULTS_REGION_UNQUALIFIED_NAME,
+            DEFAULT_UPDATE_TIMESTAMPS_REGION_UNQUALIFIED_NAME
+    };
+
+    @Bean
+    public HibernatePropertiesCustomizer secondLevelCacheCustomizer(DMakerProperties dMakerProperties) {
+        DMakerProperties.SecondLevelCache secondLevelCache = dMakerProperties.getSecondLevelCache();
+        return properties -> {
+            properties.put(USE_SECOND_LEVEL_CACHE, secondLevelCache.isEnabled());
+            properties.put(USE_QUERY_CACHE, secondLevelCache.isEnabled());
+            if (!secondLevelCache.isEnabled())
+                return;
+
+            properties.put(CACHE_REGION_FACTORY, "jcache");
+            properties.put(ConfigSettings.MISSING_CACHE_STRATEGY, "fail");
+            // session factory 가 닫힐 때 hibernate 가 close
+            properties.put(ConfigSettings.CACHE_MANAGER, cacheManager(secondLevelCache));
+        };
+    }
+
+    private static CacheManager cacheManager(DMakerProperties.SecondLevelCache secondLevelCache) {
+        Map<String, DMakerProperties.CacheRegion> regions = new LinkedHashMap<>();
+        Arrays.stream(REGIONS).forEach(region -> regions.put(region, new DMakerProperties.CacheRegion()));
+        regions.putAll(secondLevelCache.getRegions());
+
+        ConfigurationBuilder configuration = ConfigurationBuilder.newConfigurationBuilder();
+        for (Map.Entry<String, DMakerProperties.CacheRegion> region : regions.entrySet()) {
+            DMakerProperties.CacheRegion settings = region.getValue();
+            configuration = configuration.withCache(region.getKey(), CacheConfigurationBuilder
+                    .newCacheConfigurationBuilder(Object.class, Object.class, ResourcePoolsBuilder.heap(settings.getMaxEntries()))
+                    .withExpiry(settings.getTtl() == null
+                            ? ExpiryPolicyBuilder.noExpiration()
+                            : ExpiryPolicyBuilder.timeToLiveExpiration(settings.getTtl()))
+                    .build());
+        }
+
+        // 같은 JVM 에서 context 가 여러 개 떠도 (테스트) cache manager 를 공유하지 않도록 URI 를 구분
+        EhcacheCachingProvider provider = (EhcacheCachingProvider) Caching.getCachingProvider(
+                EhcacheCachingProvider.class.getName());
+        return provider.getCacheManager(URI.create("urn:dmaker:hibernate:" + UUID.randomUUID()), configuration.build());
+    }
+}
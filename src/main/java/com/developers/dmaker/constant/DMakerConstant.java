@@ -3,4 +3,13 @@ package com.developers.dmaker.constant;
 public class DMakerConstant {
     public static final Integer MIN_SENIOR_EXPERIENCE_YEARS = 10;
     public static final Integer MAX_JUNIOR_EXPERIENCE_YEARS = 4;
+    public static final int MAX_EXPERIENCE_YEARS = 20;
+
+    public static final Integer DEFAULT_PAGE_SIZE = 100;
+    public static final Integer MAX_PAGE_SIZE = 1000;
+    public static final String STREAM_FETCH_SIZE = "500";
+    // native query 가 바꾸는 테이블 (hibernate query space), 콤마로 구분
+    public static final String HINT_NATIVE_SPACES = "org.hibernate.query.native.spaces";
+    // javax.persistence.lock.timeout 값, hibernate LockOptions.SKIP_LOCKED
+    public static final String LOCK_TIMEOUT_SKIP_LOCKED = "-2";
 }
@@ -0,0 +1,199 @@
+package com.developers.dmaker.controller;
+
+import com.developers.dmaker.cache.DeveloperRosterCache;
+import com.developers.dmaker.cache.IdempotencyCache;
+import com.developers.dmaker.code.StatusCode;
+import com.developers.dmaker.config.AsyncConfig;
+import com.developers.dmaker.config.DMakerProperties;
+import com.developers.dmaker.dto.*;
+import com.developers.dmaker.outbox.DeveloperEventFeed;
+import com.developers.dmaker.service.DMakerService;
+import com.developers.dmaker.snapshot.DeveloperSnapshotService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.async.DeferredResult;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import javax.validation.Valid;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import static com.developers.dmaker.cache.IdempotencyCache.IDEMPOTENCY_KEY;
+import static com.developers.dmaker.ratelimit.ClientResolver.CLIENT_ATTRIBUTE;
+
+/**
+ * DMakerController 와 같은 API 를 비동기로 제공.
+ * servlet thread 는 요청만 받고 바로 반납, DMakerService 호출은 JDBC 전용 pool 에서 실행한다.
+ * pool queue 가 가득 차면 TaskRejectedException, timeout 이 지나면 TimeoutException 으로 503 응답.
+ */
+@RestController
+@ConditionalOnProperty(prefix = "dmaker.async", name = "enabled", havingValue = "true")
+public class AsyncDMakerController {
+
+    private final DMakerService dMakerService;
+    private final ObjectMapper objectMapper;
+    private final DeveloperEventFeed developerEventFeed;
+    private final DeveloperSnapshotService developerSnapshotService;
+    private final IdempotencyCache idempotencyCache;
+    private final DeveloperRosterCache developerRosterCache;
+    private final ThreadPoolTaskExecutor jdbcExecutor;
+    private final long timeoutMillis;
+
+    public AsyncDMakerController(DMakerService dMakerService,
+                                 ObjectMapper objectMapper,
+                                 DeveloperEventFeed developerEventFeed,
+                                 DeveloperSnapshotService developerSnapshotService,
+                                 IdempotencyCache idempotencyCache,
+                                 DeveloperRosterCache developerRosterCache,
+                                 @Qualifier(AsyncConfig.JDBC_EXECUTOR) ThreadPoolTaskExecutor jdbcExecutor,
+                                 DMakerProperties dMakerProperties) {
+        this.dMakerService = dMakerService;
+        this.objectMapper = objectMapper;
+        this.developerEventFeed = developerEventFeed;
+        this.developerSnapshotService = developerSnapshotService;
+        this.idempotencyCache = idempotencyCache;
+        this.developerRosterCache = developerRosterCache;
+        this.jdbcExecutor = jdbcExecutor;
+        this.timeoutMillis = dMakerProperties.getAsync().getTimeout().toMillis();
+    }
+
+    // 목록이 cache 에 있으면 JDBC pool 을 거치지 않고 바로 응답
+    @GetMapping("/developers")
+    public CompletableFuture<ResponseEntity<byte[]>> getAllDEvelopers(
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding
+    ) {
+        DeveloperRosterCache.Roster cached = developerRosterCache.getIfPresent();
+        if (cached != null) {
+            return CompletableFuture.completedFuture(DeveloperETags.roster(cached, acceptEncoding));
+        }
+        return supply(() -> DeveloperETags.roster(developerRosterCache.get(), acceptEncoding));
+    }
+
+    @GetMapping("/developers/page")
+    public CompletableFuture<DeveloperPageDto> getDevelopersPage(@RequestParam(required = false) final Long cursor,
+                                                                 @RequestParam(required = false) final Integer size) {
+        return supply(() -> dMakerService.getEmployedDevelopersPage(cursor, size));
+    }
+
+    @GetMapping("/developers/search")
+    public CompletableFuture<DeveloperSearch.Response> searchDevelopers(@Valid final DeveloperSearch.Request request) {
+        return supply(() -> dMakerService.searchDevelopers(request));
+    }
+
+    // 예) /developers/changes?since=2022-05-01T00:00:00&id=120 (응답의 nextSince / nextId 로 이어서 요청)
+    @GetMapping("/developers/changes")
+    public CompletableFuture<DeveloperSyncPageDto> getDeveloperChanges(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) final LocalDateTime since,
+            @RequestParam(required = false) final Long id,
+            @RequestParam(required = false) final Integer size) {
+        return supply(() -> dMakerService.getDeveloperChanges(since, id, size));
+    }
+
+    // StreamingResponseBody 는 원래 비동기라 MVC pool 에서 그대로 실행
+    @GetMapping(value = "/developers/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamDevelopers() {
+        return NdjsonResponses.<DeveloperDto>stream(objectMapper, dMakerService::streamEmployedDevelopers);
+    }
+
+    // offset 이후 개발자 생성 / 수정 / 퇴사 이벤트 (long-poll)
+    // DeferredResult / SseEmitter 는 원래 비동기라 JDBC pool 을 거치지 않는다
+    @GetMapping("/developer-events")
+    public DeferredResult<DeveloperEventsDto> pollDeveloperEvents(@RequestParam(defaultValue = "0") final long offset,
+                                                                  @RequestParam(required = false) final Integer limit) {
+        return DeveloperEventResponses.poll(developerEventFeed, offset, limit);
+    }
+
+    // 재연결 시 브라우저가 보내는 Last-Event-ID 가 있으면 그 offset 부터 이어서
+    @GetMapping(value = "/developer-events/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamDeveloperEvents(@RequestParam(required = false) final Long offset,
+                                            @RequestHeader(value = DeveloperEventResponses.LAST_EVENT_ID, required = false) final Long lastEventId) {
+        long from = lastEventId != null ? lastEventId : (offset != null ? offset : 0L);
+        return DeveloperEventResponses.stream(developerEventFeed, from);
+    }
+
+    @GetMapping("/developer/{memberId}")
+    public CompletableFuture<ResponseEntity<DeveloperDetailDto>> getDeveloperDetail(@PathVariable final String memberId) {
+        return supply(() -> DeveloperETags.ok(dMakerService.getDeveloperDetail(memberId)));
+    }
+
+    @GetMapping("/developers/statistics")
+    public DeveloperStatisticsDto getDeveloperStatistics(
+            @RequestParam(defaultValue = "EMPLOYED") final StatusCode statusCode) {
+        return dMakerService.getDeveloperStatistics(statusCode);
+    }
+
+    @GetMapping("/developer-detail-cache/stats")
+    public CacheStatsDto getDeveloperDetailCacheStats() {
+        return dMakerService.getDeveloperDetailCacheStats();
+    }
+
+    // Idempotency-Key 가 같은 재시도는 첫 응답을 그대로 돌려준다 (timeout 은 요청마다 따로 건다)
+    @PostMapping("/create-developer")
+    public CompletableFuture<CreateDeveloper.Response> createDevelopers(
+            @RequestBody @Valid final CreateDeveloper.Request request,
+            @RequestHeader(value = IDEMPOTENCY_KEY, required = false) final String idempotencyKey,
+            @RequestAttribute(CLIENT_ATTRIBUTE) final String client) {
+        return withTimeout(idempotencyCache.execute(client, idempotencyKey, request,
+                () -> CompletableFuture.supplyAsync(() -> dMakerService.createDeveloper(request), jdbcExecutor)));
+    }
+
+    @PostMapping("/create-developers")
+    public CompletableFuture<CreateDevelopers.Response> bulkCreateDevelopers(
+            @RequestBody @Valid final CreateDevelopers.Request request) {
+        return supply(() -> dMakerService.createDevelopers(request.getDevelopers()));
+    }
+
+    @PutMapping("/developer/{memberId}")
+    public CompletableFuture<ResponseEntity<DeveloperDetailDto>> editDeveloper(
+            @PathVariable final String memberId,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) final String ifMatch,
+            @RequestBody @Valid final EditDeveloper.Request request) {
+        Set<Long> expectedVersions = DeveloperETags.parseIfMatch(ifMatch);
+        return supply(() -> DeveloperETags.ok(dMakerService.editDeveloper(memberId, request, expectedVersions)));
+    }
+
+    @DeleteMapping("/developer/{memberId}")
+    public CompletableFuture<DeveloperDetailDto> deleteDeveloper(@PathVariable final String memberId) {
+        return supply(() -> dMakerService.deleteDeveloper(memberId));
+    }
+
+    @PostMapping("/retire-developers")
+    public CompletableFuture<RetireDevelopers.Response> retireDevelopers(
+            @RequestBody @Valid final RetireDevelopers.Request request) {
+        return supply(() -> dMakerService.retireDevelopers(request.getMemberIds()));
+    }
+
+    // 예) POST /developer-snapshots/backup-20220501.dmks , POST /developer-snapshots/backup-20220501.dmks/import?replace=true
+    // 관리 작업이라 전체 건수만큼 오래 걸리므로 timeout 이 있는 JDBC pool 을 거치지 않는다
+    @PostMapping("/developer-snapshots/{name}")
+    public DeveloperSnapshotDto exportSnapshot(@PathVariable final String name) {
+        return developerSnapshotService.exportSnapshot(name);
+    }
+
+    @PostMapping("/developer-snapshots/{name}/import")
+    public DeveloperSnapshotDto importSnapshot(@PathVariable final String name,
+                                               @RequestParam(defaultValue = "false") final boolean replace) {
+        return developerSnapshotService.importSnapshot(name, replace);
+    }
+
+    // timeout 으로 응답이 먼저 나가도 이미 시작된 서비스 호출(트랜잭션)은 끝까지 실행된다
+    private <T> CompletableFuture<T> supply(Supplier<T> supplier) {
+        return withTimeout(CompletableFuture.supplyAsync(supplier, jdbcExecutor));
+    }
+
+    private <T> CompletableFuture<T> withTimeout(CompletableFuture<T> future) {
+        return future.orTimeout(timeoutMillis, TimeUnit.MILLISECONDS);
+    }
+}
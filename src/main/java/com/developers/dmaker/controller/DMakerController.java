@@ -1,59 +1,154 @@
 package com.developers.dmaker.controller;
 
+import com.developers.dmaker.cache.DeveloperRosterCache;
+import com.developers.dmaker.cache.IdempotencyCache;
+import com.developers.dmaker.code.StatusCode;
 import com.developers.dmaker.dto.*;
 import com.developers.dmaker.exception.DMakerException;
+import com.developers.dmaker.outbox.DeveloperEventFeed;
 import com.developers.dmaker.service.DMakerService;
+import com.developers.dmaker.snapshot.DeveloperSnapshotService;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
-import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.async.DeferredResult;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import javax.servlet.http.HttpServletRequest;
 import javax.validation.Valid;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
-@Slf4j
+import static com.developers.dmaker.cache.IdempotencyCache.IDEMPOTENCY_KEY;
+import static com.developers.dmaker.ratelimit.ClientResolver.CLIENT_ATTRIBUTE;
+
+// dmaker.async.enabled=true 이면 같은 API 를 AsyncDMakerController 가 대신 제공
 @RestController
 @RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "dmaker.async", name = "enabled", havingValue = "false", matchIfMissing = true)
 public class DMakerController {
 
     private final DMakerService dMakerService;
+    private final ObjectMapper objectMapper;
+    private final DeveloperEventFeed developerEventFeed;
+    private final DeveloperSnapshotService developerSnapshotService;
+    private final IdempotencyCache idempotencyCache;
+    private final DeveloperRosterCache developerRosterCache;
 
+    // 미리 직렬화 / 압축해 둔 목록을 그대로 보낸다, If-None-Match 가 같으면 304
     @GetMapping("/developers")
-    public List<DeveloperDto> getAllDEvelopers() {
-        // GET /developers HTTP/1.1
-        log.info("GET /developers HTTP/1.1");
+    public ResponseEntity<byte[]> getAllDEvelopers(
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding
+    ) {
+        return DeveloperETags.roster(developerRosterCache.get(), acceptEncoding);
+    }
+
+    @GetMapping("/developers/page")
+    public DeveloperPageDto getDevelopersPage(@RequestParam(required = false) final Long cursor,
+                                              @RequestParam(required = false) final Integer size) {
+        return dMakerService.getEmployedDevelopersPage(cursor, size);
+    }
+
+    // 예) /developers/search?developerLevel=SENIOR&developerSkillType=BACK_END&minExperienceYears=12&maxExperienceYears=15
+    @GetMapping("/developers/search")
+    public DeveloperSearch.Response searchDevelopers(@Valid final DeveloperSearch.Request request) {
+        return dMakerService.searchDevelopers(request);
+    }
+
+    // 예) /developers/changes?since=2022-05-01T00:00:00&id=120 (응답의 nextSince / nextId 로 이어서 요청)
+    @GetMapping("/developers/changes")
+    public DeveloperSyncPageDto getDeveloperChanges(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) final LocalDateTime since,
+            @RequestParam(required = false) final Long id,
+            @RequestParam(required = false) final Integer size) {
+        return dMakerService.getDeveloperChanges(since, id, size);
+    }
+
+    @GetMapping(value = "/developers/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamDevelopers() {
+        return NdjsonResponses.<DeveloperDto>stream(objectMapper, dMakerService::streamEmployedDevelopers);
+    }
+
+    // offset 이후 개발자 생성 / 수정 / 퇴사 이벤트 (long-poll)
+    @GetMapping("/developer-events")
+    public DeferredResult<DeveloperEventsDto> pollDeveloperEvents(@RequestParam(defaultValue = "0") final long offset,
+                                                                  @RequestParam(required = false) final Integer limit) {
+        return DeveloperEventResponses.poll(developerEventFeed, offset, limit);
+    }
 
-        return dMakerService.getAllEmployedDevelopers();
+    // 재연결 시 브라우저가 보내는 Last-Event-ID 가 있으면 그 offset 부터 이어서
+    @GetMapping(value = "/developer-events/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamDeveloperEvents(@RequestParam(required = false) final Long offset,
+                                            @RequestHeader(value = DeveloperEventResponses.LAST_EVENT_ID, required = false) final Long lastEventId) {
+        long from = lastEventId != null ? lastEventId : (offset != null ? offset : 0L);
+        return DeveloperEventResponses.stream(developerEventFeed, from);
     }
 
     @GetMapping("/developer/{memberId}")
-    public DeveloperDetailDto getDeveloperDetail(@PathVariable final String memberId) {
-        // GET /developer/{memberId} HTTP/1.1
-        log.info("GET /developer/{memberId} HTTP/1.1");
+    public ResponseEntity<DeveloperDetailDto> getDeveloperDetail(@PathVariable final String memberId) {
+        return DeveloperETags.ok(dMakerService.getDeveloperDetail(memberId));
+    }
 
-        return dMakerService.getDeveloperDetail(memberId);
+    @GetMapping("/developers/statistics")
+    public DeveloperStatisticsDto getDeveloperStatistics(
+            @RequestParam(defaultValue = "EMPLOYED") final StatusCode statusCode) {
+        return dMakerService.getDeveloperStatistics(statusCode);
     }
 
-    @PostMapping("/create-developer")
-    public CreateDeveloper.Response createDevelopers(@RequestBody @Valid final CreateDeveloper.Request request) {
+    @GetMapping("/developer-detail-cache/stats")
+    public CacheStatsDto getDeveloperDetailCacheStats() {
+        return dMakerService.getDeveloperDetailCacheStats();
+    }
 
-        log.info("GET /developers HTTP/1.1");
-        log.info("request  {}", request);
+    // Idempotency-Key 가 같은 재시도는 첫 응답을 그대로 돌려준다
+    @PostMapping("/create-developer")
+    public CreateDeveloper.Response createDevelopers(
+            @RequestBody @Valid final CreateDeveloper.Request request,
+            @RequestHeader(value = IDEMPOTENCY_KEY, required = false) final String idempotencyKey,
+            @RequestAttribute(CLIENT_ATTRIBUTE) final String client) {
+        return IdempotencyCache.join(idempotencyCache.execute(client, idempotencyKey, request,
+                () -> CompletableFuture.completedFuture(dMakerService.createDeveloper(request))));
+    }
 
-        return dMakerService.createDeveloper(request);
+    @PostMapping("/create-developers")
+    public CreateDevelopers.Response bulkCreateDevelopers(@RequestBody @Valid final CreateDevelopers.Request request) {
+        return dMakerService.createDevelopers(request.getDevelopers());
     }
 
     @PutMapping("/developer/{memberId}")
-    public DeveloperDetailDto editDeveloper(@PathVariable final String memberId,
-                                            @RequestBody @Valid final EditDeveloper.Request request) {
-        log.info("GET /developer/{memberId} HTTP/1.1");
-
-        return dMakerService.editDeveloper(memberId, request);
+    public ResponseEntity<DeveloperDetailDto> editDeveloper(@PathVariable final String memberId,
+                                                            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) final String ifMatch,
+                                                            @RequestBody @Valid final EditDeveloper.Request request) {
+        return DeveloperETags.ok(dMakerService.editDeveloper(memberId, request, DeveloperETags.parseIfMatch(ifMatch)));
     }
 
     @DeleteMapping("/developer/{memberId}")
     public DeveloperDetailDto deleteDeveloper(@PathVariable final String memberId) {
         return dMakerService.deleteDeveloper(memberId);
     }
+
+    @PostMapping("/retire-developers")
+    public RetireDevelopers.Response retireDevelopers(@RequestBody @Valid final RetireDevelopers.Request request) {
+        return dMakerService.retireDevelopers(request.getMemberIds());
+    }
+
+    // 예) POST /developer-snapshots/backup-20220501.dmks , POST /developer-snapshots/backup-20220501.dmks/import?replace=true
+    @PostMapping("/developer-snapshots/{name}")
+    public DeveloperSnapshotDto exportSnapshot(@PathVariable final String name) {
+        return developerSnapshotService.exportSnapshot(name);
+    }
+
+    @PostMapping("/developer-snapshots/{name}/import")
+    public DeveloperSnapshotDto importSnapshot(@PathVariable final String name,
+                                               @RequestParam(defaultValue = "false") final boolean replace) {
+        return developerSnapshotService.importSnapshot(name, replace);
+    }
 }
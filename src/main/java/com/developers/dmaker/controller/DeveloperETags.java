@@ -0,0 +1,115 @@
+package com.developers.dmaker.controller;
+
+import com.developers.dmaker.cache.DeveloperRosterCache;
+import com.developers.dmaker.dto.DeveloperDetailDto;
+import lombok.experimental.UtilityClass;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+// 개발자 상세의 ETag 는 Developer.version 을 그대로 쓴다 ("3")
+@UtilityClass
+class DeveloperETags {
+
+    private static final String ANY = "*";
+    private static final String WEAK_PREFIX = "W/";
+    private static final String GZIP = "gzip";
+    private static final String GZIP_SUFFIX = "-gzip";
+
+    // GET 의 If-None-Match 는 HttpEntityMethodProcessor 가 이 ETag 와 비교해서 304 로 응답
+    ResponseEntity<DeveloperDetailDto> ok(DeveloperDetailDto developerDetail) {
+        if (developerDetail.getVersion() == null) {
+            return ResponseEntity.ok(developerDetail);
+        }
+        return ResponseEntity.ok()
+                .eTag(String.valueOf(developerDetail.getVersion()))
+                .body(developerDetail);
+    }
+
+    /**
+     * 재직자 목록 : 내용의 hash 를 strong ETag 로 쓰고, gzip 을 받는 클라이언트에는 미리 압축한 byte 를 보낸다.
+     * 압축 여부에 따라 표현이 다르므로 ETag 도 구분하고 Vary 를 붙인다. (Content-Encoding 이 있으면 tomcat 은 다시 압축하지 않는다)
+     */
+    ResponseEntity<byte[]> roster(DeveloperRosterCache.Roster roster, String acceptEncoding) {
+        ResponseEntity.BodyBuilder builder = ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .varyBy(HttpHeaders.ACCEPT_ENCODING);
+
+        if (!acceptsGzip(acceptEncoding)) {
+            return builder.eTag(roster.getHash()).body(roster.getJson());
+        }
+        return builder.eTag(roster.getHash() + GZIP_SUFFIX)
+                .header(HttpHeaders.CONTENT_ENCODING, GZIP)
+                .body(roster.getGzip());
+    }
+
+    // "gzip", "gzip, deflate, br", "gzip;q=0.8" 는 허용, "gzip;q=0" 과 q 를 읽을 수 없는 "gzip;q=abc" 는 거부
+    boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parts = coding.trim().split(";");
+            if (!GZIP.equalsIgnoreCase(parts[0].trim())) {
+                continue;
+            }
+            for (int i = 1; i < parts.length; i++) {
+                String parameter = parts[i].trim();
+                if (parameter.startsWith("q=") && quality(parameter.substring(2)) == 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+        return false;
+    }
+
+    // 잘못된 값은 0 (받지 않는 것으로 보고 압축하지 않은 응답을 보낸다)
+    private double quality(String value) {
+        try {
+            return Double.parseDouble(value.trim());
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+
+    /**
+     * If-Match 가 없거나 * 이면 null (버전 확인 안 함), 아니면 목록의 버전들 ("3", "4" >> [3, 4]).
+     * If-Match 는 strong 비교라 weak tag(W/"3")나 버전이 아닌 tag 는 어떤 버전과도 맞지 않는 것으로 보고 뺀다.
+     * 맞는 tag 가 하나도 없으면 빈 set 이 되어 서비스에서 412.
+     */
+    Set<Long> parseIfMatch(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || ANY.equals(ifMatch.trim())) {
+            return null;
+        }
+
+        Set<Long> versions = new LinkedHashSet<>();
+        for (String tag : ifMatch.split(",")) {
+            Long version = parseVersion(tag.trim());
+            if (version != null) {
+                versions.add(version);
+            }
+        }
+        return versions;
+    }
+
+    // weak 이거나 숫자가 아니면 null
+    private Long parseVersion(String tag) {
+        if (tag.startsWith(WEAK_PREFIX)) {
+            return null;
+        }
+        if (tag.length() > 1 && tag.startsWith("\"") && tag.endsWith("\"")) {
+            tag = tag.substring(1, tag.length() - 1);
+        }
+
+        try {
+            return Long.valueOf(tag);
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+}
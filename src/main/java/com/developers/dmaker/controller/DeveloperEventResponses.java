@@ -0,0 +1,127 @@
+package com.developers.dmaker.controller;
+
+import com.developers.dmaker.dto.DeveloperEventDto;
+import com.developers.dmaker.dto.DeveloperEventsDto;
+import com.developers.dmaker.outbox.DeveloperEventFeed;
+import lombok.experimental.UtilityClass;
+import org.springframework.web.context.request.async.DeferredResult;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+// outbox 이벤트를 offset 이후부터 long-poll / SSE 로 내려준다
+@UtilityClass
+class DeveloperEventResponses {
+
+    static final String LAST_EVENT_ID = "Last-Event-ID";
+    private static final String EVENT_NAME = "developer";
+    // SSE 클라이언트가 느려서 보내지 못한 batch 가 이보다 많으면 버리고 DB 에서 다시 읽는다
+    private static final int MAX_PENDING_BATCHES = 16;
+
+    // 이미 쌓인 이벤트가 있으면 바로, 없으면 새 이벤트가 내보내지거나 pollTimeout 이 지날 때까지 대기 (timeout 이면 빈 목록)
+    DeferredResult<DeveloperEventsDto> poll(DeveloperEventFeed feed, long offset, Integer limit) {
+        DeferredResult<DeveloperEventsDto> result = new DeferredResult<>(
+                feed.getPollTimeout().toMillis(), () -> DeveloperEventsDto.of(List.of(), offset));
+
+        Runnable read = () -> {
+            if (result.isSetOrExpired())
+                return;
+            List<DeveloperEventDto> events = feed.read(offset, limit);
+            if (!events.isEmpty())
+                result.setResult(DeveloperEventsDto.of(events, offset));
+        };
+        // 새 batch 가 offset 에 바로 이어지면 메모리에서 응답, 이어지지 않으면 DB 에서 읽는다
+        Consumer<List<DeveloperEventDto>> onPublished = published -> {
+            if (result.isSetOrExpired())
+                return;
+            List<DeveloperEventDto> events = DeveloperEventFeed.after(published, offset, limit);
+            if (events == null)
+                feed.execute(read);
+            else if (!events.isEmpty())
+                result.setResult(DeveloperEventsDto.of(events, offset));
+        };
+        Runnable unsubscribe = feed.subscribe(onPublished);
+        result.onCompletion(unsubscribe);
+
+        // 구독 후에 읽어야 그 사이에 내보내진 이벤트를 놓치지 않는다
+        read.run();
+        return result;
+    }
+
+    // 연결이 유지되는 동안 offset 이후 이벤트를 순서대로 push, SSE id 가 offset 이라 재연결 시 Last-Event-ID 로 이어받는다
+    SseEmitter stream(DeveloperEventFeed feed, long offset) {
+        SseEmitter emitter = new SseEmitter(feed.getStreamTimeout().toMillis());
+        AtomicLong cursor = new AtomicLong(offset);
+        Queue<List<DeveloperEventDto>> pending = new ConcurrentLinkedQueue<>();
+        AtomicBoolean scheduled = new AtomicBoolean();
+
+        Runnable catchUp = () -> {
+            synchronized (cursor) {
+                try {
+                    readAndSend(feed, emitter, cursor);
+                } catch (IOException | IllegalStateException e) {
+                    // 클라이언트 연결 종료
+                    emitter.completeWithError(e);
+                }
+            }
+        };
+        Runnable drain = () -> {
+            scheduled.set(false);
+            synchronized (cursor) {
+                try {
+                    List<DeveloperEventDto> batch;
+                    while ((batch = pending.poll()) != null) {
+                        List<DeveloperEventDto> events;
+                        while ((events = DeveloperEventFeed.after(batch, cursor.get(), null)) != null && !events.isEmpty())
+                            send(emitter, cursor, events);
+                        if (events == null)
+                            readAndSend(feed, emitter, cursor);
+                    }
+                } catch (IOException | IllegalStateException e) {
+                    emitter.completeWithError(e);
+                }
+            }
+        };
+        // fan-out thread 에서는 쌓아두기만 하고 전송은 sender thread 에서, 구독자마다 drain 은 하나만 올린다
+        Consumer<List<DeveloperEventDto>> onPublished = batch -> {
+            pending.add(batch);
+            if (pending.size() > MAX_PENDING_BATCHES) {
+                // 마지막 batch 만 남기면 cursor 와 이어지지 않으므로 drain 이 DB 에서 다시 읽는다
+                pending.clear();
+                pending.add(batch);
+            }
+            if (scheduled.compareAndSet(false, true))
+                feed.execute(drain);
+        };
+        Runnable unsubscribe = feed.subscribe(onPublished);
+        emitter.onCompletion(unsubscribe);
+        emitter.onTimeout(unsubscribe);
+        emitter.onError(e -> unsubscribe.run());
+
+        // 밀린 이벤트는 servlet thread 밖에서 보낸다
+        feed.execute(catchUp);
+        return emitter;
+    }
+
+    private void readAndSend(DeveloperEventFeed feed, SseEmitter emitter, AtomicLong cursor) throws IOException {
+        List<DeveloperEventDto> events;
+        while (!(events = feed.read(cursor.get(), null)).isEmpty())
+            send(emitter, cursor, events);
+    }
+
+    private void send(SseEmitter emitter, AtomicLong cursor, List<DeveloperEventDto> events) throws IOException {
+        for (DeveloperEventDto event : events) {
+            emitter.send(SseEmitter.event()
+                    .id(String.valueOf(event.getOffset()))
+                    .name(EVENT_NAME)
+                    .data(event));
+            cursor.set(event.getOffset());
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package com.developers.dmaker.dto;
+
+import lombok.*;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@ToString
+public class CacheStatsDto {
+    private long hits;
+    private long misses;
+    private long evictions;
+    private long expirations;
+    private long size;
+    private double hitRate;
+}
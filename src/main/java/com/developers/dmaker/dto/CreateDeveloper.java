@@ -18,6 +18,7 @@ public class CreateDeveloper {
     @NoArgsConstructor
     @Builder
     @ToString
+    @EqualsAndHashCode
     public static class Request {
         @NotNull
         private DeveloperLevel developerLevel;
@@ -31,10 +32,13 @@ public class CreateDeveloper {
         @NotNull
         @Size(min = 3, max = 50, message = "memberId size must be in 3 to 50")
         private String memberId;
+        // 개인정보는 로그에 남지 않도록 toString 에서 제외
+        @ToString.Exclude
         @NotNull
         @Size(min = 3, max = 20, message = "name size must be in 3 to 50")
         private String name;
 
+        @ToString.Exclude
         @Min(18)
         private Integer age;
     }
@@ -0,0 +1,65 @@
+package com.developers.dmaker.dto;
+
+import com.developers.dmaker.exception.DMakerErrorCode;
+import lombok.*;
+
+import javax.validation.constraints.NotEmpty;
+import java.util.List;
+
+public class CreateDevelopers {
+
+    @Getter
+    @Setter
+    @AllArgsConstructor
+    @NoArgsConstructor
+    @Builder
+    public static class Request {
+        // 건별 검증은 서비스에서 수행 (잘못된 한 건이 전체 요청을 실패시키지 않도록)
+        @NotEmpty
+        private List<CreateDeveloper.Request> developers;
+    }
+
+    @Getter
+    @Setter
+    @AllArgsConstructor
+    @NoArgsConstructor
+    @Builder
+    public static class Response {
+        private Integer total;
+        private Integer created;
+        private Integer failed;
+
+        // 요청 순서와 같은 순서
+        private List<Result> results;
+    }
+
+    @Getter
+    @Setter
+    @AllArgsConstructor
+    @NoArgsConstructor
+    @Builder
+    public static class Result {
+        private String memberId;
+        private boolean success;
+        private DMakerErrorCode errorCode;
+        private String errorMessage;
+        private CreateDeveloper.Response developer;
+
+        public static Result success(CreateDeveloper.Response developer) {
+            return Result.builder()
+                    .memberId(developer.getMemberId())
+                    .success(true)
+                    .developer(developer)
+                    .build();
+        }
+
+        public static Result fail(String memberId, DMakerErrorCode errorCode, String errorMessage) {
+            return Result.builder()
+                    .memberId(memberId)
+                    .success(false)
+                    .errorCode(errorCode)
+                    .errorMessage(errorMessage)
+                    .build();
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package com.developers.dmaker.dto;
+
+import com.developers.dmaker.code.StatusCode;
+import com.developers.dmaker.type.DeveloperLevel;
+import com.developers.dmaker.type.DeveloperSkillType;
+import lombok.*;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@ToString
+public class DeveloperCountDto {
+    private StatusCode statusCode;
+    private DeveloperLevel developerLevel;
+    private DeveloperSkillType developerSkillType;
+    private Long count;
+}
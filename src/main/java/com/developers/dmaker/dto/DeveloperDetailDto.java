@@ -4,13 +4,14 @@ import com.developers.dmaker.code.StatusCode;
 import com.developers.dmaker.entity.Developer;
 import com.developers.dmaker.type.DeveloperLevel;
 import com.developers.dmaker.type.DeveloperSkillType;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import lombok.*;
 
 @Getter
 @Setter
 @AllArgsConstructor
 @NoArgsConstructor
-@Builder
+@Builder(toBuilder = true)
 public class DeveloperDetailDto {
 
     private DeveloperLevel developerLevel;
@@ -21,6 +22,14 @@ public class DeveloperDetailDto {
     private Integer age;
     private StatusCode statusCode;
 
+    // 응답 body 대신 ETag 헤더로 내려준다
+    @JsonIgnore
+    private Long version;
+
+    public DeveloperDetailDto copy() {
+        return toBuilder().build();
+    }
+
     public static DeveloperDetailDto fromEntity(Developer developer) {
         return DeveloperDetailDto.builder()
                 .developerLevel(developer.getDeveloperLevel())
@@ -30,6 +39,7 @@ public class DeveloperDetailDto {
                 .name(developer.getName())
                 .age(developer.getAge())
                 .statusCode(developer.getStatusCode())
+                .version(developer.getVersion())
                 .build();
     }
 }
@@ -0,0 +1,38 @@
+package com.developers.dmaker.dto;
+
+import com.developers.dmaker.code.DeveloperEventType;
+import com.developers.dmaker.code.StatusCode;
+import com.developers.dmaker.entity.DeveloperOutbox;
+import com.developers.dmaker.type.DeveloperLevel;
+import com.developers.dmaker.type.DeveloperSkillType;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@ToString
+public class DeveloperEventDto {
+    private Long offset;
+    private DeveloperEventType eventType;
+    private String memberId;
+    private StatusCode statusCode;
+    private DeveloperLevel developerLevel;
+    private DeveloperSkillType developerSkillType;
+    private LocalDateTime createdAt;
+
+    public static DeveloperEventDto fromEntity(DeveloperOutbox outbox) {
+        return DeveloperEventDto.builder()
+                .offset(outbox.getPublishedOffset())
+                .eventType(outbox.getEventType())
+                .memberId(outbox.getMemberId())
+                .statusCode(outbox.getStatusCode())
+                .developerLevel(outbox.getDeveloperLevel())
+                .developerSkillType(outbox.getDeveloperSkillType())
+                .createdAt(outbox.getCreatedAt())
+                .build();
+    }
+}
@@ -0,0 +1,24 @@
+package com.developers.dmaker.dto;
+
+import lombok.*;
+
+import java.util.List;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class DeveloperEventsDto {
+    private List<DeveloperEventDto> events;
+
+    // 다음 요청의 offset, 새 이벤트가 없으면 요청한 offset 그대로
+    private Long nextOffset;
+
+    public static DeveloperEventsDto of(List<DeveloperEventDto> events, long offset) {
+        return DeveloperEventsDto.builder()
+                .events(events)
+                .nextOffset(events.isEmpty() ? offset : events.get(events.size() - 1).getOffset())
+                .build();
+    }
+}
@@ -0,0 +1,17 @@
+package com.developers.dmaker.dto;
+
+import lombok.*;
+
+import java.util.List;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class DeveloperPageDto {
+    private List<DeveloperDto> developers;
+
+    // 다음 페이지 요청 시 cursor 로 전달, 마지막 페이지면 null
+    private Long nextCursor;
+}
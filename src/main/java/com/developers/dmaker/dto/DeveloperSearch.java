@@ -0,0 +1,62 @@
+package com.developers.dmaker.dto;
+
+import com.developers.dmaker.code.StatusCode;
+import com.developers.dmaker.type.DeveloperLevel;
+import com.developers.dmaker.type.DeveloperSkillType;
+import lombok.*;
+
+import javax.validation.constraints.Max;
+import javax.validation.constraints.Min;
+import java.util.List;
+
+import static com.developers.dmaker.constant.DMakerConstant.MAX_EXPERIENCE_YEARS;
+
+public class DeveloperSearch {
+
+    // 지정하지 않은 조건은 검색에서 빠진다 (statusCode 만 기본 EMPLOYED)
+    @Getter
+    @Setter
+    @AllArgsConstructor
+    @NoArgsConstructor
+    @Builder
+    @ToString
+    public static class Request {
+        private DeveloperLevel developerLevel;
+        private DeveloperSkillType developerSkillType;
+        private StatusCode statusCode;
+
+        @Min(0)
+        @Max(MAX_EXPERIENCE_YEARS)
+        private Integer minExperienceYears;
+        @Min(0)
+        @Max(MAX_EXPERIENCE_YEARS)
+        private Integer maxExperienceYears;
+
+        @Min(0)
+        private Integer minAge;
+        @Min(0)
+        private Integer maxAge;
+
+        // keyset pagination : 이전 응답의 nextCursor
+        private Long cursor;
+        private Integer size;
+
+        // true 면 조건에 맞는 전체 건수를 count 쿼리로 한 번 더 조회
+        private boolean count;
+    }
+
+    @Getter
+    @Setter
+    @AllArgsConstructor
+    @NoArgsConstructor
+    @Builder
+    public static class Response {
+        private List<DeveloperDto> developers;
+
+        // 다음 페이지 요청 시 cursor 로 전달, 마지막 페이지면 null
+        private Long nextCursor;
+
+        // count=true 일 때만 채워진다
+        private Long totalCount;
+    }
+}
@@ -0,0 +1,16 @@
+package com.developers.dmaker.dto;
+
+import lombok.*;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class DeveloperSnapshotDto {
+    private String name;
+    private long developers;
+    private long retiredDevelopers;
+    private long bytes;
+    private long elapsedMillis;
+}
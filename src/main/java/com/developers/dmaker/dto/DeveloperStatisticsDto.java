@@ -0,0 +1,21 @@
+package com.developers.dmaker.dto;
+
+import com.developers.dmaker.code.StatusCode;
+import com.developers.dmaker.type.DeveloperLevel;
+import com.developers.dmaker.type.DeveloperSkillType;
+import lombok.*;
+
+import java.util.Map;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class DeveloperStatisticsDto {
+    private StatusCode statusCode;
+    private Long total;
+
+    // level >> skill type >> 인원 수 (0 인 조합도 포함)
+    private Map<DeveloperLevel, Map<DeveloperSkillType, Long>> counts;
+}
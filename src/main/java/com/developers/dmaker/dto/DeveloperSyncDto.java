@@ -0,0 +1,26 @@
+package com.developers.dmaker.dto;
+
+import com.developers.dmaker.code.StatusCode;
+import com.developers.dmaker.type.DeveloperLevel;
+import com.developers.dmaker.type.DeveloperSkillType;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+// 변경분 동기화용 : 상세 정보 + 변경 cursor (updatedAt, id)
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class DeveloperSyncDto {
+    private Long id;
+    private String memberId;
+    private DeveloperLevel developerLevel;
+    private DeveloperSkillType developerSkillType;
+    private Integer experienceYears;
+    private String name;
+    private Integer age;
+    private StatusCode statusCode;
+    private LocalDateTime updatedAt;
+}
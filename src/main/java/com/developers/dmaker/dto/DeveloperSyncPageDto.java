@@ -0,0 +1,23 @@
+package com.developers.dmaker.dto;
+
+import lombok.*;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class DeveloperSyncPageDto {
+    // (updatedAt, id) 순서
+    private List<DeveloperSyncDto> developers;
+
+    // 다음 요청의 since / id, 변경분이 없으면 요청한 값 그대로
+    private LocalDateTime nextSince;
+    private Long nextId;
+
+    // false 면 현재까지의 변경분을 모두 받은 것
+    private boolean hasMore;
+}
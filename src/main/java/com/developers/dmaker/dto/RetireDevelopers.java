@@ -0,0 +1,57 @@
+package com.developers.dmaker.dto;
+
+import com.developers.dmaker.exception.DMakerErrorCode;
+import lombok.*;
+
+import javax.validation.constraints.NotBlank;
+import javax.validation.constraints.NotEmpty;
+import java.util.List;
+
+import static com.developers.dmaker.exception.DMakerErrorCode.NO_DEVELOPER;
+
+public class RetireDevelopers {
+
+    @Getter
+    @Setter
+    @AllArgsConstructor
+    @NoArgsConstructor
+    @Builder
+    public static class Request {
+        @NotEmpty
+        private List<@NotBlank String> memberIds;
+    }
+
+    @Getter
+    @Setter
+    @AllArgsConstructor
+    @NoArgsConstructor
+    @Builder
+    public static class Response {
+        // 중복 memberId 는 한 건으로 센다
+        private Integer total;
+        private Integer retired;
+        private Integer failed;
+
+        // 재직 중인 개발자가 없어 퇴사 처리하지 못한 건, 요청 순서와 같은 순서
+        private List<Failure> failures;
+    }
+
+    @Getter
+    @Setter
+    @AllArgsConstructor
+    @NoArgsConstructor
+    @Builder
+    public static class Failure {
+        private String memberId;
+        private DMakerErrorCode errorCode;
+        private String errorMessage;
+
+        public static Failure noDeveloper(String memberId) {
+            return Failure.builder()
+                    .memberId(memberId)
+                    .errorCode(NO_DEVELOPER)
+                    .errorMessage(NO_DEVELOPER.getMessage())
+                    .build();
+        }
+    }
+}
@@ -5,6 +5,8 @@ import com.developers.dmaker.type.DeveloperLevel;
 import com.developers.dmaker.type.DeveloperSkillType;
 import com.developers.dmaker.code.StatusCode;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.LastModifiedDate;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
@@ -20,11 +22,35 @@ import static com.developers.dmaker.code.StatusCode.EMPLOYED;
 @NoArgsConstructor
 @AllArgsConstructor
 @Entity
+@Table(uniqueConstraints = @UniqueConstraint(name = Developer.MEMBER_ID_UNIQUE_CONSTRAINT, columnNames = "memberId"),
+        indexes = {
+                @Index(name = Developer.STATUS_CODE_ID_INDEX, columnList = "statusCode, id"),
+                @Index(name = Developer.STATUS_CODE_LEVEL_SKILL_YEARS_INDEX,
+                        columnList = "statusCode, developerLevel, developerSkillType, experienceYears"),
+                @Index(name = Developer.UPDATED_AT_ID_INDEX, columnList = "updatedAt, id")
+        })
 @EntityListeners(AuditingEntityListener.class)
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = Developer.CACHE_REGION)
 public class Developer {
 
+    // 2nd level cache region, 크기 / TTL 은 dmaker.second-level-cache.regions
+    public static final String CACHE_REGION = "developer";
+
+    // 중복 memberId 는 조회 없이 이 제약조건 위반으로 판단
+    public static final String MEMBER_ID_UNIQUE_CONSTRAINT = "uk_developer_member_id";
+
+    // 퇴사자가 쌓여도 재직자 목록은 status_code 로 범위를 좁힌 뒤 id 순서 그대로 읽는다 (정렬 없음)
+    public static final String STATUS_CODE_ID_INDEX = "idx_developer_status_code_id";
+    // status × level × skill 집계와 level / skill / 연차 검색이 같이 쓰는 인덱스
+    public static final String STATUS_CODE_LEVEL_SKILL_YEARS_INDEX = "idx_developer_status_code_level_skill_years";
+    // 변경분 동기화 : (updatedAt, id) cursor 이후를 순서대로 읽는다
+    public static final String UPDATED_AT_ID_INDEX = "idx_developer_updated_at_id";
+
+    // IDENTITY 는 insert 마다 즉시 실행되어 JDBC batch 가 꺼지므로 pooled sequence 사용
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "developer_seq_generator")
+    @SequenceGenerator(name = "developer_seq_generator", sequenceName = "developer_seq", allocationSize = 50)
     protected Long id;
 
     @Enumerated(EnumType.STRING)
@@ -47,4 +73,8 @@ public class Developer {
     @LastModifiedDate
     private LocalDateTime updatedAt;
 
+    // 동시 수정은 row lock 대신 update ... where version = ? 로 감지
+    @Version
+    private Long version;
+
 }
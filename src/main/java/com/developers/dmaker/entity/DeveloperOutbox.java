@@ -0,0 +1,57 @@
+package com.developers.dmaker.entity;
+
+import com.developers.dmaker.code.DeveloperEventType;
+import com.developers.dmaker.code.StatusCode;
+import com.developers.dmaker.type.DeveloperLevel;
+import com.developers.dmaker.type.DeveloperSkillType;
+import lombok.*;
+import org.springframework.data.annotation.CreatedDate;
+import org.springframework.data.jpa.domain.support.AuditingEntityListener;
+
+import javax.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * 개발자 변경 이벤트 outbox : 변경과 같은 트랜잭션에서 insert 되고, OutboxRelay 가 sink 로 내보내면서
+ * publishedOffset 을 1 씩 증가하는 순서로 붙인다. consumer 는 이 offset 이후를 읽는다.
+ * (id 는 sequence 할당 순서라 commit 순서와 다를 수 있어서 offset 으로 쓰지 않는다)
+ * 내보낸 뒤 dmaker.outbox.retention 이 지나면 삭제되므로 consumer 는 그 안에 따라잡아야 한다.
+ */
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(uniqueConstraints = @UniqueConstraint(name = "uk_developer_outbox_published_offset", columnNames = "publishedOffset"),
+        indexes = @Index(name = "idx_developer_outbox_published_at", columnList = "publishedAt"))
+@EntityListeners(AuditingEntityListener.class)
+public class DeveloperOutbox {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "developer_outbox_seq_generator")
+    @SequenceGenerator(name = "developer_outbox_seq_generator", sequenceName = "developer_outbox_seq", allocationSize = 50)
+    protected Long id;
+
+    @Enumerated(EnumType.STRING)
+    private DeveloperEventType eventType;
+
+    private String memberId;
+
+    // 변경 후 상태 (퇴사면 RETIRED)
+    @Enumerated(EnumType.STRING)
+    private StatusCode statusCode;
+
+    @Enumerated(EnumType.STRING)
+    private DeveloperLevel developerLevel;
+
+    @Enumerated(EnumType.STRING)
+    private DeveloperSkillType developerSkillType;
+
+    // 아직 내보내지 않았으면 null
+    private Long publishedOffset;
+    private LocalDateTime publishedAt;
+
+    @CreatedDate
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,25 @@
+package com.developers.dmaker.entity;
+
+import lombok.*;
+
+import javax.persistence.Entity;
+import javax.persistence.Id;
+
+/**
+ * outbox 에 마지막으로 붙인 publishedOffset (row 는 하나).
+ * OutboxRelay 는 이 row 를 잠근 트랜잭션 안에서만 offset 을 붙이므로 offset 순서와 commit 순서가 같다.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+public class DeveloperOutboxCursor {
+
+    public static final Long ID = 1L;
+
+    @Id
+    private Long id;
+
+    private long lastOffset;
+}
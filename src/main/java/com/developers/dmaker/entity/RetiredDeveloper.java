@@ -3,6 +3,8 @@ package com.developers.dmaker.entity;
 import com.developers.dmaker.type.DeveloperLevel;
 import com.developers.dmaker.type.DeveloperSkillType;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.LastModifiedDate;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
@@ -17,7 +19,12 @@ import java.time.LocalDateTime;
 @AllArgsConstructor
 @Entity
 @EntityListeners(AuditingEntityListener.class)
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = RetiredDeveloper.CACHE_REGION)
 public class RetiredDeveloper {
+
+    public static final String CACHE_REGION = "retired-developer";
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     protected Long id;
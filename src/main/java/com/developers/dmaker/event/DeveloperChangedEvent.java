@@ -0,0 +1,17 @@
+package com.developers.dmaker.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+// 개발자 정보가 바뀐 트랜잭션 안에서 발행
+@Getter
+@ToString
+@AllArgsConstructor
+public class DeveloperChangedEvent {
+    private final String memberId;
+
+    // 생성이면 before, 삭제면 after 가 null
+    private final DeveloperState before;
+    private final DeveloperState after;
+}
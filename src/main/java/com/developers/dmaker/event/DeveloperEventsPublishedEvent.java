@@ -0,0 +1,16 @@
+package com.developers.dmaker.event;
+
+import com.developers.dmaker.dto.DeveloperEventDto;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.util.List;
+
+// outbox relay 가 offset 순서로 내보낸 이벤트 묶음 (in-process sink)
+@Getter
+@ToString
+@AllArgsConstructor
+public class DeveloperEventsPublishedEvent {
+    private final List<DeveloperEventDto> events;
+}
@@ -0,0 +1,26 @@
+package com.developers.dmaker.event;
+
+import com.developers.dmaker.code.StatusCode;
+import com.developers.dmaker.entity.Developer;
+import com.developers.dmaker.type.DeveloperLevel;
+import com.developers.dmaker.type.DeveloperSkillType;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.ToString;
+
+// 집계에 필요한 개발자 상태 (변경 전 / 후 비교용)
+@Getter
+@ToString
+@EqualsAndHashCode
+@AllArgsConstructor
+public class DeveloperState {
+    private final StatusCode statusCode;
+    private final DeveloperLevel developerLevel;
+    private final DeveloperSkillType developerSkillType;
+
+    public static DeveloperState of(Developer developer) {
+        return new DeveloperState(developer.getStatusCode(),
+                developer.getDeveloperLevel(), developer.getDeveloperSkillType());
+    }
+}
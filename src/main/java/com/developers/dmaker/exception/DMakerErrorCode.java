@@ -2,16 +2,24 @@ package com.developers.dmaker.exception;
 
 import lombok.AllArgsConstructor;
 import lombok.Getter;
+import org.springframework.http.HttpStatus;
+
+import static org.springframework.http.HttpStatus.*;
 
 @Getter
 @AllArgsConstructor
 public enum DMakerErrorCode {
-    LEVEL_EXPERIENCE_YEARS_NOT_MATCED("개발자 레벨과 연차가 맞지 않습니다."),
-    NO_DEVELOPER("해당되는 개발자가 없습니다."),
-    DUPLICATED_MEMBER_ID("MemberId가 중복되는 개발자가 있습니다."),
+    LEVEL_EXPERIENCE_YEARS_NOT_MATCED(BAD_REQUEST, "개발자 레벨과 연차가 맞지 않습니다."),
+    NO_DEVELOPER(NOT_FOUND, "해당되는 개발자가 없습니다."),
+    DUPLICATED_MEMBER_ID(CONFLICT, "MemberId가 중복되는 개발자가 있습니다."),
+    PRECONDITION_FAILED(HttpStatus.PRECONDITION_FAILED, "다른 요청이 먼저 개발자 정보를 수정했습니다. 다시 조회 후 시도해 주세요."),
+    IDEMPOTENCY_KEY_REUSED(UNPROCESSABLE_ENTITY, "같은 Idempotency-Key 로 다른 내용의 요청을 보냈습니다."),
 
-    INTERNAL_SERVER_ERROR("서버 오류가 발생하였습니다."),
-    INVALID_REQUEST("잘못된 요청입니다.");
+    TOO_MANY_REQUESTS(HttpStatus.TOO_MANY_REQUESTS, "요청이 너무 많습니다. 잠시 후 다시 시도해 주세요."),
+    SERVICE_UNAVAILABLE(HttpStatus.SERVICE_UNAVAILABLE, "요청이 많아 처리하지 못했습니다. 잠시 후 다시 시도해 주세요."),
+    INTERNAL_SERVER_ERROR(HttpStatus.INTERNAL_SERVER_ERROR, "서버 오류가 발생하였습니다."),
+    INVALID_REQUEST(BAD_REQUEST, "잘못된 요청입니다.");
 
+    private final HttpStatus httpStatus;
     private final String message;
 }
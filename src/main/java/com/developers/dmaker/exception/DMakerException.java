@@ -2,9 +2,20 @@ package com.developers.dmaker.exception;
 
 import lombok.Getter;
 
+import java.util.EnumMap;
+import java.util.Map;
+
 @Getter
 public class DMakerException extends RuntimeException{
 
+    // errorCode 별로 미리 만들어 둔 stack trace 없는 예외
+    private static final Map<DMakerErrorCode, DMakerException> STACKLESS_EXCEPTIONS = new EnumMap<>(DMakerErrorCode.class);
+
+    static {
+        for (DMakerErrorCode errorCode : DMakerErrorCode.values())
+            STACKLESS_EXCEPTIONS.put(errorCode, new DMakerException(errorCode, errorCode.getMessage(), false));
+    }
+
     private DMakerErrorCode dMakerErrorCode;
     private String detailMessage;
 
@@ -21,4 +32,18 @@ public class DMakerException extends RuntimeException{
         this.detailMessage = detailMessage;
     }
 
+    protected DMakerException(DMakerErrorCode errorCode, String detailMessage, boolean writableStackTrace) {
+        super(detailMessage, null, false, writableStackTrace);
+        this.dMakerErrorCode = errorCode;
+        this.detailMessage = detailMessage;
+    }
+
+    /**
+     * 예상 가능한 business validation 실패용.
+     * fillInStackTrace 비용 없이 미리 만들어 둔 인스턴스를 던진다. (stack trace 가 필요한 곳에는 사용하지 않는다)
+     */
+    public static DMakerException stackless(DMakerErrorCode errorCode) {
+        return STACKLESS_EXCEPTIONS.get(errorCode);
+    }
+
 }
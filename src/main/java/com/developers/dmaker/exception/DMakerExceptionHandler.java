@@ -1,53 +1,207 @@
 package com.developers.dmaker.exception;
 
+import com.developers.dmaker.config.DMakerProperties;
 import com.developers.dmaker.dto.DMakerErrorResponse;
+import com.developers.dmaker.metrics.RequestMetricsFilter;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Metrics;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.validation.BindException;
+import org.springframework.web.HttpMediaTypeNotAcceptableException;
+import org.springframework.web.HttpMediaTypeNotSupportedException;
 import org.springframework.web.HttpRequestMethodNotSupportedException;
 import org.springframework.web.bind.MethodArgumentNotValidException;
+import org.springframework.web.bind.MissingPathVariableException;
+import org.springframework.web.bind.MissingRequestHeaderException;
+import org.springframework.web.bind.MissingServletRequestParameterException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.context.request.async.AsyncRequestTimeoutException;
+import org.springframework.web.method.annotation.MethodArgumentTypeMismatchException;
 
 import javax.servlet.http.HttpServletRequest;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeoutException;
 
 import static com.developers.dmaker.exception.DMakerErrorCode.*;
 
+/**
+ * errorCode 의 httpStatus 로 응답한다.
+ * 기본 메시지 응답 body 는 errorCode 별로 미리 직렬화해 두고, 4xx 로그는 errorCode 별로 rate limit 을 건다 (5xx 는 항상 남긴다).
+ */
 @Slf4j
 @RestControllerAdvice
 public class DMakerExceptionHandler {
 
+    public static final String ERROR_METRIC = "dmaker.errors";
+
+    private final ObjectMapper objectMapper;
+    private final ErrorLogThrottle errorLogThrottle;
+    private final Map<DMakerErrorCode, byte[]> defaultBodies = new EnumMap<>(DMakerErrorCode.class);
+
+    public DMakerExceptionHandler(ObjectMapper objectMapper, DMakerProperties dMakerProperties) {
+        this.objectMapper = objectMapper;
+        this.errorLogThrottle = new ErrorLogThrottle(dMakerProperties.getErrorLog().getInterval());
+        for (DMakerErrorCode errorCode : DMakerErrorCode.values())
+            defaultBodies.put(errorCode, serialize(errorCode, errorCode.getMessage()));
+    }
+
     @ExceptionHandler(DMakerException.class)
-    public DMakerErrorResponse handelException (DMakerException e, HttpServletRequest request) {
-        log.error("errorCode : {}, url : {}, msessage : {}",
-                e.getDMakerErrorCode(), request.getRequestURI(), e.getDetailMessage());
+    public ResponseEntity<byte[]> handelException(DMakerException e, HttpServletRequest request) {
+        DMakerErrorCode errorCode = e.getDMakerErrorCode();
+        logError(errorCode, request, e.getDetailMessage(), null);
+
+        return status(errorCode, errorCode.getHttpStatus(), request)
+                .body(body(errorCode, e.getDetailMessage()));
+    }
+
+    // rate limit(429) / load shedding(503) 거절 : 의도한 보호 동작이고 몰려서 들어오므로 로그는 남기지 않는다
+    @ExceptionHandler(RetryLaterException.class)
+    public ResponseEntity<byte[]> handleRetryLater(RetryLaterException e, HttpServletRequest request) {
+        DMakerErrorCode errorCode = e.getDMakerErrorCode();
+
+        return status(errorCode, errorCode.getHttpStatus(), request)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfterSeconds()))
+                .body(body(errorCode, e.getDetailMessage()));
+    }
+
+    // 조회 ~ flush 사이에 다른 트랜잭션이 먼저 수정한 경우 (version 충돌)
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<byte[]> handleOptimisticLockingFailure(OptimisticLockingFailureException e,
+                                                                 HttpServletRequest request) {
+        logError(PRECONDITION_FAILED, request, e.getMessage(), null);
+
+        return status(PRECONDITION_FAILED, PRECONDITION_FAILED.getHttpStatus(), request)
+                .body(defaultBodies.get(PRECONDITION_FAILED));
+    }
+
+    @ExceptionHandler(HttpRequestMethodNotSupportedException.class)
+    public ResponseEntity<byte[]> handleMethodNotSupported(HttpRequestMethodNotSupportedException e,
+                                                           HttpServletRequest request) {
+        logError(INVALID_REQUEST, request, e.getMessage(), null);
+
+        // 405 응답은 허용하는 method 를 Allow 로 알려야 한다 (RFC 7231)
+        ResponseEntity.BodyBuilder builder = status(INVALID_REQUEST, HttpStatus.METHOD_NOT_ALLOWED, request);
+        if (e.getSupportedHttpMethods() != null)
+            builder.allow(e.getSupportedHttpMethods().toArray(new HttpMethod[0]));
+        return builder.body(defaultBodies.get(INVALID_REQUEST));
+    }
+
+    // 읽을 수 없는 Content-Type 이면 415, 받을 수 있는 type 은 Accept 로 알려준다
+    @ExceptionHandler(HttpMediaTypeNotSupportedException.class)
+    public ResponseEntity<byte[]> handleMediaTypeNotSupported(HttpMediaTypeNotSupportedException e,
+                                                              HttpServletRequest request) {
+        logError(INVALID_REQUEST, request, e.getMessage(), null);
+
+        ResponseEntity.BodyBuilder builder = status(INVALID_REQUEST, HttpStatus.UNSUPPORTED_MEDIA_TYPE, request);
+        if (!e.getSupportedMediaTypes().isEmpty())
+            builder.header(HttpHeaders.ACCEPT, MediaType.toString(e.getSupportedMediaTypes()));
+        return builder.body(defaultBodies.get(INVALID_REQUEST));
+    }
 
-        return DMakerErrorResponse.builder()
-                .errorCode(e.getDMakerErrorCode())
-                .errorMessage(e.getDetailMessage())
-                .build();
+    // Accept 의 어떤 type 으로도 응답할 수 없으면 406
+    @ExceptionHandler(HttpMediaTypeNotAcceptableException.class)
+    public ResponseEntity<byte[]> handleMediaTypeNotAcceptable(HttpMediaTypeNotAcceptableException e,
+                                                               HttpServletRequest request) {
+        logError(INVALID_REQUEST, request, e.getMessage(), null);
+
+        return status(INVALID_REQUEST, HttpStatus.NOT_ACCEPTABLE, request)
+                .body(defaultBodies.get(INVALID_REQUEST));
     }
 
     @ExceptionHandler(value = {
-            HttpRequestMethodNotSupportedException.class,
-            MethodArgumentNotValidException.class
+            MethodArgumentNotValidException.class,
+            BindException.class,
+            MissingServletRequestParameterException.class,
+            MissingRequestHeaderException.class,
+            MissingPathVariableException.class,
+            MethodArgumentTypeMismatchException.class,
+            HttpMessageNotReadableException.class
     })
-    public DMakerErrorResponse handelBadRequest(Exception e, HttpServletRequest request) {
-        log.error("url : {}, msessage : {}",
-                request.getRequestURI(), e.getMessage());
+    public ResponseEntity<byte[]> handelBadRequest(Exception e, HttpServletRequest request) {
+        logError(INVALID_REQUEST, request, e.getMessage(), null);
 
-        return DMakerErrorResponse.builder()
-                .errorCode(INVALID_REQUEST)
-                .errorMessage(INVALID_REQUEST.getMessage())
-                .build();
+        return status(INVALID_REQUEST, INVALID_REQUEST.getHttpStatus(), request)
+                .body(defaultBodies.get(INVALID_REQUEST));
+    }
+
+    // 비동기 모드에서 pool queue 초과 / timeout : 재시도 가능한 503
+    @ExceptionHandler(value = {
+            RejectedExecutionException.class,
+            TimeoutException.class,
+            AsyncRequestTimeoutException.class
+    })
+    public ResponseEntity<byte[]> handleServiceUnavailable(Exception e, HttpServletRequest request) {
+        logError(SERVICE_UNAVAILABLE, request, e.getClass().getSimpleName(), null);
+
+        return status(SERVICE_UNAVAILABLE, SERVICE_UNAVAILABLE.getHttpStatus(), request)
+                .body(defaultBodies.get(SERVICE_UNAVAILABLE));
     }
 
     @ExceptionHandler(Exception.class)
-    public DMakerErrorResponse handelException(Exception e, HttpServletRequest request) {
-        log.error("url : {}, msessage : {}",
-                request.getRequestURI(), e.getMessage());
-
-        return DMakerErrorResponse.builder()
-                .errorCode(INTERNAL_SERVER_ERROR)
-                .errorMessage(INTERNAL_SERVER_ERROR.getMessage())
-                .build();
+    public ResponseEntity<byte[]> handelException(Exception e, HttpServletRequest request) {
+        logError(INTERNAL_SERVER_ERROR, request, e.getMessage(), e);
+
+        return status(INTERNAL_SERVER_ERROR, INTERNAL_SERVER_ERROR.getHttpStatus(), request)
+                .body(defaultBodies.get(INTERNAL_SERVER_ERROR));
+    }
+
+    // content type 을 미리 정해 두면 Accept 협상 없이 byte[] 를 그대로 쓴다
+    private ResponseEntity.BodyBuilder status(DMakerErrorCode errorCode, HttpStatus status,
+                                              HttpServletRequest request) {
+        countError(errorCode, request);
+        return ResponseEntity.status(status).contentType(MediaType.APPLICATION_JSON);
+    }
+
+    // 기본 메시지면 미리 직렬화한 body, 상세 메시지가 있으면 그때만 직렬화
+    private byte[] body(DMakerErrorCode errorCode, String detailMessage) {
+        if (detailMessage == null || detailMessage.equals(errorCode.getMessage()))
+            return defaultBodies.get(errorCode);
+        return serialize(errorCode, detailMessage);
+    }
+
+    private byte[] serialize(DMakerErrorCode errorCode, String errorMessage) {
+        try {
+            return objectMapper.writeValueAsBytes(DMakerErrorResponse.builder()
+                    .errorCode(errorCode)
+                    .errorMessage(errorMessage)
+                    .build());
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("failed to serialize error response : " + errorCode, e);
+        }
+    }
+
+    // 5xx 는 서로 다른 원인이 묻히지 않도록 매번 stack trace 와 함께 ERROR
+    // 4xx 는 클라이언트 때문에 몰려 들어올 수 있으므로 errorCode 별로 interval 에 한 줄만 WARN
+    private void logError(DMakerErrorCode errorCode, HttpServletRequest request, String message, Exception e) {
+        if (errorCode.getHttpStatus().is5xxServerError()) {
+            log.error("errorCode : {}, url : {}, message : {}",
+                    errorCode, request.getRequestURI(), message, e);
+            return;
+        }
+
+        long suppressed = errorLogThrottle.tryAcquire(errorCode);
+        if (suppressed < 0)
+            return;
+        log.warn("errorCode : {}, url : {}, message : {}, suppressed : {}",
+                errorCode, request.getRequestURI(), message, suppressed);
+    }
+
+    // 같은 status 라도 원인을 구분할 수 있도록 errorCode 로 따로 센다
+    private void countError(DMakerErrorCode errorCode, HttpServletRequest request) {
+        Metrics.counter(ERROR_METRIC,
+                "code", errorCode.name(),
+                "uri", RequestMetricsFilter.uriPattern(request))
+                .increment();
     }
 }
@@ -0,0 +1,38 @@
+package com.developers.dmaker.exception;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * 4xx errorCode 별로 interval 에 한 번만 로그를 남기고 나머지는 건수만 센다. (5xx 는 거치지 않고 항상 남긴다)
+ * 예상 가능한 4xx 가 몰려도 로그 I/O 와 문자열 조립 비용이 늘지 않는다. (건수는 dmaker.errors metric 으로 확인)
+ */
+final class ErrorLogThrottle {
+
+    private static final int SIZE = DMakerErrorCode.values().length;
+
+    private final long intervalNanos;
+    private final AtomicLongArray nextLogAt = new AtomicLongArray(SIZE);
+    private final AtomicLongArray suppressed = new AtomicLongArray(SIZE);
+
+    ErrorLogThrottle(Duration interval) {
+        this.intervalNanos = interval.toNanos();
+        long now = System.nanoTime();
+        for (int i = 0; i < SIZE; i++)
+            nextLogAt.set(i, now);
+    }
+
+    /**
+     * @return -1 이면 이번에는 남기지 않는다, 아니면 직전 로그 이후 생략한 건수
+     */
+    long tryAcquire(DMakerErrorCode errorCode) {
+        int index = errorCode.ordinal();
+        long now = System.nanoTime();
+        long next = nextLogAt.get(index);
+        if (now - next < 0 || !nextLogAt.compareAndSet(index, next, now + intervalNanos)) {
+            suppressed.incrementAndGet(index);
+            return -1;
+        }
+        return suppressed.getAndSet(index, 0);
+    }
+}
@@ -0,0 +1,18 @@
+package com.developers.dmaker.exception;
+
+import lombok.Getter;
+
+/**
+ * rate limit / load shedding 거절. 응답에 Retry-After 를 붙인다.
+ * 거절이 몰릴 때 비용이 없도록 stack trace 를 만들지 않는다.
+ */
+@Getter
+public class RetryLaterException extends DMakerException {
+
+    private final long retryAfterSeconds;
+
+    public RetryLaterException(DMakerErrorCode errorCode, long retryAfterSeconds) {
+        super(errorCode, errorCode.getMessage(), false);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+}
@@ -0,0 +1,103 @@
+package com.developers.dmaker.logging;
+
+import com.developers.dmaker.config.DMakerProperties;
+import com.developers.dmaker.metrics.RequestMetricsFilter;
+import com.developers.dmaker.metrics.StatementCountInspector;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.servlet.AsyncEvent;
+import javax.servlet.AsyncListener;
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.time.Instant;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * 요청마다 한 줄짜리 JSON access log 를 남긴다.
+ * - ACCESS_LOG logger 는 logback AsyncAppender 로 연결되어 있어 요청 thread 는 I/O 를 기다리지 않는다.
+ * - 정상 응답과 4xx 는 sample-rate 만큼만, 5xx 와 느린 요청은 항상 기록.
+ * - 개인정보(memberId path, query string, body)는 남기지 않고 mapping pattern 과 마스킹한 client 만 기록.
+ */
+@Component
+public class AccessLogFilter extends OncePerRequestFilter {
+
+    private static final Logger ACCESS_LOG = LoggerFactory.getLogger("ACCESS_LOG");
+
+    private final DMakerProperties.AccessLog properties;
+
+    public AccessLogFilter(DMakerProperties dMakerProperties) {
+        this.properties = dMakerProperties.getAccessLog();
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !properties.isEnabled();
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        long startedAt = System.nanoTime();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            if (isAsyncStarted(request)) {
+                // 비동기 요청은 실제 응답이 끝났을 때 기록
+                request.getAsyncContext().addListener(new AsyncListener() {
+                    @Override
+                    public void onComplete(AsyncEvent event) {
+                        log(request, response, startedAt, -1);
+                    }
+
+                    @Override
+                    public void onTimeout(AsyncEvent event) {
+                    }
+
+                    @Override
+                    public void onError(AsyncEvent event) {
+                    }
+
+                    @Override
+                    public void onStartAsync(AsyncEvent event) {
+                    }
+                });
+            } else {
+                log(request, response, startedAt, StatementCountInspector.count());
+            }
+        }
+    }
+
+    private void log(HttpServletRequest request, HttpServletResponse response, long startedAt, int statements) {
+        long durationNanos = System.nanoTime() - startedAt;
+        int status = response.getStatus();
+        if (!isSampled(status, durationNanos) || !ACCESS_LOG.isInfoEnabled())
+            return;
+
+        ACCESS_LOG.info("{\"time\":\"{}\",\"method\":\"{}\",\"uri\":\"{}\",\"status\":{},\"durationMs\":{},\"statements\":{},\"client\":\"{}\"}",
+                Instant.now(), request.getMethod(), RequestMetricsFilter.uriPattern(request), status,
+                durationNanos / 1_000_000, statements, maskClient(request.getRemoteAddr()));
+    }
+
+    private boolean isSampled(int status, long durationNanos) {
+        // 4xx 는 rate limit 거절처럼 몰려서 들어올 수 있어 sampling 한다
+        if (properties.isAlwaysLogErrors() && status >= 500)
+            return true;
+        if (durationNanos >= properties.getSlowThreshold().toNanos())
+            return true;
+        return ThreadLocalRandom.current().nextDouble() < properties.getSampleRate();
+    }
+
+    // 123.45.67.89 >> 123.45.67.x
+    static String maskClient(String address) {
+        if (address == null)
+            return "unknown";
+        int separator = Math.max(address.lastIndexOf('.'), address.lastIndexOf(':'));
+        return separator < 0 ? "unknown" : address.substring(0, separator + 1) + "x";
+    }
+}
@@ -0,0 +1,46 @@
+package com.developers.dmaker.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Metrics;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+
+/**
+ * 요청 하나가 실행한 SQL statement 수를 endpoint 별 분포로 기록 (N+1 추적용).
+ * 요청 수 / latency percentile 은 actuator 의 http.server.requests 가 담당한다.
+ * 비동기 모드에서는 SQL 이 JDBC pool thread 에서 실행되어 집계되지 않는다.
+ */
+@Component
+public class RequestMetricsFilter extends OncePerRequestFilter {
+
+    public static final String STATEMENTS_METRIC = "dmaker.request.statements";
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        StatementCountInspector.reset();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            DistributionSummary.builder(STATEMENTS_METRIC)
+                    .tag("method", request.getMethod())
+                    .tag("uri", uriPattern(request))
+                    .publishPercentiles(0.5, 0.95, 0.99)
+                    .register(Metrics.globalRegistry)
+                    .record(StatementCountInspector.count());
+        }
+    }
+
+    // path variable 이 그대로 들어가면 tag 가 무한히 늘어나므로 mapping pattern 사용
+    public static String uriPattern(HttpServletRequest request) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        return pattern == null ? "UNKNOWN" : pattern.toString();
+    }
+}
@@ -0,0 +1,120 @@
+package com.developers.dmaker.outbox;
+
+import com.developers.dmaker.config.DMakerProperties;
+import com.developers.dmaker.dto.DeveloperEventDto;
+import com.developers.dmaker.repository.DeveloperOutboxRepository;
+import com.developers.dmaker.routing.PrimaryReads;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PreDestroy;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+import static com.developers.dmaker.constant.DMakerConstant.DEFAULT_PAGE_SIZE;
+import static com.developers.dmaker.constant.DMakerConstant.MAX_PAGE_SIZE;
+
+/**
+ * 내보낸(offset 이 붙은) outbox 이벤트를 offset 이후부터 읽는다.
+ * long-poll / SSE 구독자는 relay 가 commit 한 batch 를 메모리로 받는다 (batch 마다 DB 읽기 없음).
+ * 구독자가 가진 offset 과 batch 가 이어지지 않으면 (구독 직후, 밀린 batch 를 버린 경우, 다른 인스턴스가 내보낸 경우) read 로 다시 읽는다.
+ */
+@Slf4j
+@Component
+public class DeveloperEventFeed {
+
+    private final DeveloperOutboxRepository developerOutboxRepository;
+    private final Set<Consumer<List<DeveloperEventDto>>> subscribers = ConcurrentHashMap.newKeySet();
+    // relay 가 넘긴 batch 를 구독자에게 나눠준다, 구독자 callback 은 막히지 않아야 한다 (DB 읽기 / SSE 전송은 sender 로)
+    private final ExecutorService fanOut = Executors.newSingleThreadExecutor(new CustomizableThreadFactory("dmaker-event-fan-out-"));
+    // 구독자마다 한 번에 하나씩만 올리므로 느린 SSE 클라이언트는 thread 하나만 붙잡는다
+    private final ThreadPoolExecutor sender;
+
+    @Getter
+    private final Duration pollTimeout;
+    @Getter
+    private final Duration streamTimeout;
+
+    public DeveloperEventFeed(DeveloperOutboxRepository developerOutboxRepository, DMakerProperties dMakerProperties) {
+        this.developerOutboxRepository = developerOutboxRepository;
+        DMakerProperties.Outbox outbox = dMakerProperties.getOutbox();
+        this.pollTimeout = outbox.getPollTimeout();
+        this.streamTimeout = outbox.getStreamTimeout();
+
+        int threads = outbox.getStreamSenderThreads();
+        this.sender = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS, new LinkedBlockingQueue<>(),
+                new CustomizableThreadFactory("dmaker-event-sender-"));
+        this.sender.allowCoreThreadTimeOut(true);
+    }
+
+    // relay 가 막 내보낸 batch 와 이어 읽으므로 replica 가 아닌 primary 에서 읽는다 (늦으면 구독자가 빈 응답을 받는다)
+    public List<DeveloperEventDto> read(long offset, Integer limit) {
+        return PrimaryReads.call(() -> developerOutboxRepository.findByPublishedOffsetGreaterThanOrderByPublishedOffsetAsc(
+                        offset, PageRequest.of(0, size(limit))))
+                .stream()
+                .map(DeveloperEventDto::fromEntity)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * 내보낸 batch 중 offset 바로 다음부터 이어지는 이벤트 (최대 limit 건).
+     * 새 이벤트가 없으면 빈 목록, offset 과 batch 사이가 비어 있으면 null (read 로 다시 읽어야 한다).
+     */
+    public static List<DeveloperEventDto> after(List<DeveloperEventDto> published, long offset, Integer limit) {
+        int from = 0;
+        while (from < published.size() && published.get(from).getOffset() <= offset)
+            from++;
+        if (from == published.size())
+            return Collections.emptyList();
+        if (published.get(from).getOffset() != offset + 1)
+            return null;
+        return published.subList(from, Math.min(published.size(), from + size(limit)));
+    }
+
+    private static int size(Integer limit) {
+        return limit == null ? DEFAULT_PAGE_SIZE : Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+    }
+
+    // 반환된 Runnable 로 구독 해제, onPublished 는 fan-out thread 에서 batch 마다 호출된다
+    public Runnable subscribe(Consumer<List<DeveloperEventDto>> onPublished) {
+        subscribers.add(onPublished);
+        return () -> subscribers.remove(onPublished);
+    }
+
+    public void execute(Runnable task) {
+        sender.execute(task);
+    }
+
+    // OutboxRelay 가 commit 후 방금 내보낸 batch (offset 순) 를 넘긴다
+    void published(List<DeveloperEventDto> events) {
+        List<DeveloperEventDto> batch = Collections.unmodifiableList(events);
+        fanOut.execute(() -> {
+            for (Consumer<List<DeveloperEventDto>> subscriber : subscribers) {
+                try {
+                    subscriber.accept(batch);
+                } catch (RuntimeException e) {
+                    log.warn("developer event subscriber failed : {}", e.toString());
+                }
+            }
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        fanOut.shutdownNow();
+        sender.shutdownNow();
+    }
+}
@@ -0,0 +1,43 @@
+package com.developers.dmaker.outbox;
+
+import com.developers.dmaker.code.DeveloperEventType;
+import com.developers.dmaker.entity.DeveloperOutbox;
+import com.developers.dmaker.event.DeveloperChangedEvent;
+import com.developers.dmaker.event.DeveloperState;
+import com.developers.dmaker.repository.DeveloperOutboxRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import static com.developers.dmaker.code.StatusCode.RETIRED;
+
+// @TransactionalEventListener 가 아닌 @EventListener : 변경과 같은 트랜잭션에서 outbox 에 insert (rollback 되면 같이 사라진다)
+@Component
+@RequiredArgsConstructor
+public class DeveloperOutboxWriter {
+
+    private final DeveloperOutboxRepository developerOutboxRepository;
+
+    @EventListener
+    public void onDeveloperChanged(DeveloperChangedEvent event) {
+        DeveloperState state = event.getAfter() != null ? event.getAfter() : event.getBefore();
+        if (state == null)
+            return;
+
+        developerOutboxRepository.save(DeveloperOutbox.builder()
+                .eventType(eventTypeOf(event))
+                .memberId(event.getMemberId())
+                .statusCode(state.getStatusCode())
+                .developerLevel(state.getDeveloperLevel())
+                .developerSkillType(state.getDeveloperSkillType())
+                .build());
+    }
+
+    private static DeveloperEventType eventTypeOf(DeveloperChangedEvent event) {
+        if (event.getBefore() == null)
+            return DeveloperEventType.CREATED;
+        if (event.getAfter() == null || event.getAfter().getStatusCode() == RETIRED)
+            return DeveloperEventType.RETIRED;
+        return DeveloperEventType.EDITED;
+    }
+}
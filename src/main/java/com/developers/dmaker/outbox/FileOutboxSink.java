@@ -0,0 +1,45 @@
+package com.developers.dmaker.outbox;
+
+import com.developers.dmaker.config.DMakerProperties;
+import com.developers.dmaker.dto.DeveloperEventDto;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+
+import static java.nio.file.StandardOpenOption.APPEND;
+import static java.nio.file.StandardOpenOption.CREATE;
+
+// batch 하나를 NDJSON 줄로 한 번에 append (offset 으로 중복 제거 가능)
+@Component
+@ConditionalOnProperty(prefix = "dmaker.outbox", name = "sink", havingValue = "file")
+public class FileOutboxSink implements OutboxSink {
+
+    private final ObjectMapper objectMapper;
+    private final Path path;
+
+    public FileOutboxSink(ObjectMapper objectMapper, DMakerProperties dMakerProperties) {
+        this.objectMapper = objectMapper;
+        this.path = Paths.get(dMakerProperties.getOutbox().getFilePath());
+    }
+
+    @Override
+    public synchronized void publish(List<DeveloperEventDto> events) throws IOException {
+        if (path.getParent() != null)
+            Files.createDirectories(path.getParent());
+
+        try (OutputStream outputStream = new BufferedOutputStream(Files.newOutputStream(path, CREATE, APPEND))) {
+            for (DeveloperEventDto event : events) {
+                outputStream.write(objectMapper.writeValueAsBytes(event));
+                outputStream.write('\n');
+            }
+        }
+    }
+}
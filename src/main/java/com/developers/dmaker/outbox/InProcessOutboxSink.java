@@ -0,0 +1,24 @@
+package com.developers.dmaker.outbox;
+
+import com.developers.dmaker.dto.DeveloperEventDto;
+import com.developers.dmaker.event.DeveloperEventsPublishedEvent;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+// 같은 JVM 안의 consumer 는 DeveloperEventsPublishedEvent 를 @EventListener 로 받는다
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "dmaker.outbox", name = "sink", havingValue = "in-process", matchIfMissing = true)
+public class InProcessOutboxSink implements OutboxSink {
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Override
+    public void publish(List<DeveloperEventDto> events) {
+        eventPublisher.publishEvent(new DeveloperEventsPublishedEvent(events));
+    }
+}
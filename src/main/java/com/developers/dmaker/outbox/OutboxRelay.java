@@ -0,0 +1,133 @@
+package com.developers.dmaker.outbox;
+
+import com.developers.dmaker.config.DMakerProperties;
+import com.developers.dmaker.dto.DeveloperEventDto;
+import com.developers.dmaker.entity.DeveloperOutbox;
+import com.developers.dmaker.entity.DeveloperOutboxCursor;
+import com.developers.dmaker.repository.DeveloperOutboxCursorRepository;
+import com.developers.dmaker.repository.DeveloperOutboxRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.SchedulingConfigurer;
+import org.springframework.scheduling.config.IntervalTask;
+import org.springframework.scheduling.config.ScheduledTaskRegistrar;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+/**
+ * 아직 내보내지 않은 outbox 를 id 순서로 batch 단위로 읽어 offset 을 붙이고 sink 로 넘긴다.
+ * offset 할당과 sink 호출이 한 트랜잭션이라 sink 가 실패하면 다음 주기에 같은 batch 를 다시 넘긴다.
+ * 인스턴스가 여러 개면 DeveloperOutboxCursor row 를 SKIP LOCKED 로 잠근 한 쪽만 그 주기에 내보내고 나머지는 건너뛴다.
+ * 보관 기간이 지난 내보낸 이벤트는 purgeInterval 마다 삭제한다.
+ */
+@Slf4j
+@Component
+public class OutboxRelay implements SchedulingConfigurer {
+
+    private final DeveloperOutboxRepository developerOutboxRepository;
+    private final DeveloperOutboxCursorRepository developerOutboxCursorRepository;
+    private final OutboxSink outboxSink;
+    private final DeveloperEventFeed developerEventFeed;
+    private final TransactionTemplate transactionTemplate;
+    private final DMakerProperties.Outbox properties;
+    private volatile boolean cursorCreated;
+
+    public OutboxRelay(DeveloperOutboxRepository developerOutboxRepository,
+                       DeveloperOutboxCursorRepository developerOutboxCursorRepository,
+                       OutboxSink outboxSink,
+                       DeveloperEventFeed developerEventFeed,
+                       PlatformTransactionManager transactionManager,
+                       DMakerProperties dMakerProperties) {
+        this.developerOutboxRepository = developerOutboxRepository;
+        this.developerOutboxCursorRepository = developerOutboxCursorRepository;
+        this.outboxSink = outboxSink;
+        this.developerEventFeed = developerEventFeed;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.properties = dMakerProperties.getOutbox();
+    }
+
+    public void relay() {
+        try {
+            createCursorIfAbsent();
+
+            List<DeveloperEventDto> published;
+            do {
+                published = transactionTemplate.execute(status -> publishBatch());
+                // commit 된 batch 를 그대로 구독자에게 넘긴다 (구독자마다 DB 를 다시 읽지 않음)
+                if (!published.isEmpty())
+                    developerEventFeed.published(published);
+            } while (published.size() == properties.getRelayBatchSize());
+        } catch (Exception e) {
+            log.warn("outbox relay failed, retry on next run : {}", e.getMessage());
+        }
+    }
+
+    private List<DeveloperEventDto> publishBatch() {
+        Optional<DeveloperOutboxCursor> locked = developerOutboxCursorRepository.findByIdSkipLocked(DeveloperOutboxCursor.ID);
+        if (locked.isEmpty())
+            return Collections.emptyList();
+
+        List<DeveloperOutbox> outboxes = developerOutboxRepository.findByPublishedOffsetIsNullOrderByIdAsc(
+                PageRequest.of(0, properties.getRelayBatchSize()));
+        if (outboxes.isEmpty())
+            return Collections.emptyList();
+
+        DeveloperOutboxCursor cursor = locked.get();
+        long offset = cursor.getLastOffset();
+        LocalDateTime now = LocalDateTime.now();
+        for (DeveloperOutbox outbox : outboxes) {
+            outbox.setPublishedOffset(++offset);
+            outbox.setPublishedAt(now);
+        }
+        cursor.setLastOffset(offset);
+
+        List<DeveloperEventDto> events = outboxes.stream().map(DeveloperEventDto::fromEntity).collect(Collectors.toList());
+        try {
+            outboxSink.publish(events);
+        } catch (Exception e) {
+            throw new IllegalStateException("outbox sink failed", e);
+        }
+        return events;
+    }
+
+    // 처음 한 번 cursor row 를 만든다, 이미 내보낸 이벤트가 있으면 그 다음 offset 부터
+    // 여러 인스턴스가 동시에 만들면 한 쪽은 PK 충돌로 실패하고 다음 주기에 다시 확인한다
+    private void createCursorIfAbsent() {
+        if (cursorCreated)
+            return;
+
+        if (!developerOutboxCursorRepository.existsById(DeveloperOutboxCursor.ID)) {
+            transactionTemplate.executeWithoutResult(status -> developerOutboxCursorRepository.save(
+                    new DeveloperOutboxCursor(DeveloperOutboxCursor.ID,
+                            developerOutboxRepository.findMaxPublishedOffset().orElse(0L))));
+        }
+        cursorCreated = true;
+    }
+
+    public void purge() {
+        try {
+            LocalDateTime before = LocalDateTime.now().minus(properties.getRetention());
+            Integer purged = transactionTemplate.execute(status -> developerOutboxRepository.deletePublishedBefore(before));
+            if (purged != null && purged > 0)
+                log.info("purged {} outbox events published before {}", purged, before);
+        } catch (Exception e) {
+            log.warn("outbox purge failed, retry on next run : {}", e.getMessage());
+        }
+    }
+
+    @Override
+    public void configureTasks(ScheduledTaskRegistrar taskRegistrar) {
+        long intervalMillis = properties.getRelayInterval().toMillis();
+        taskRegistrar.addFixedDelayTask(new IntervalTask(this::relay, intervalMillis, intervalMillis));
+
+        long purgeIntervalMillis = properties.getPurgeInterval().toMillis();
+        taskRegistrar.addFixedDelayTask(new IntervalTask(this::purge, purgeIntervalMillis, purgeIntervalMillis));
+    }
+}
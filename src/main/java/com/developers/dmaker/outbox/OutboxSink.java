@@ -0,0 +1,15 @@
+package com.developers.dmaker.outbox;
+
+import com.developers.dmaker.dto.DeveloperEventDto;
+
+import java.util.List;
+
+/**
+ * OutboxRelay 가 offset 을 붙인 이벤트를 batch 로 넘기는 대상 (dmaker.outbox.sink 로 선택).
+ * relay 트랜잭션 안에서 호출되며, 예외를 던지면 offset 할당이 rollback 되고 다음 주기에 다시 넘긴다.
+ * 따라서 같은 이벤트가 두 번 넘어올 수 있고 (at-least-once), 받는 쪽은 offset 으로 중복을 거른다.
+ */
+public interface OutboxSink {
+
+    void publish(List<DeveloperEventDto> events) throws Exception;
+}
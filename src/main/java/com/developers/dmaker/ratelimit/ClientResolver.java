@@ -0,0 +1,37 @@
+package com.developers.dmaker.ratelimit;
+
+import com.developers.dmaker.config.DMakerProperties;
+import org.springframework.stereotype.Component;
+
+import javax.servlet.http.HttpServletRequest;
+import java.util.Set;
+
+/**
+ * 요청한 클라이언트를 구분한다. rate limit bucket 과 Idempotency-Key 의 범위로 같이 쓴다.
+ * client header 는 누구나 바꿔 보낼 수 있으므로 dmaker.rate-limit.trusted-proxies 의 gateway 를 거친 요청에서만 읽고,
+ * 그 외에는 remote address 로 구분한다.
+ * RateLimitInterceptor 가 한 번 구해서 CLIENT_ATTRIBUTE 로 넣어두고 controller 는 @RequestAttribute 로 읽는다.
+ */
+@Component
+public class ClientResolver {
+
+    public static final String CLIENT_ATTRIBUTE = ClientResolver.class.getName() + ".client";
+
+    private final String clientHeader;
+    private final Set<String> trustedProxies;
+
+    public ClientResolver(DMakerProperties dMakerProperties) {
+        DMakerProperties.RateLimit properties = dMakerProperties.getRateLimit();
+        this.clientHeader = properties.getClientHeader();
+        this.trustedProxies = Set.copyOf(properties.getTrustedProxies());
+    }
+
+    public String resolve(HttpServletRequest request) {
+        String remoteAddress = request.getRemoteAddr();
+        if (!trustedProxies.contains(remoteAddress))
+            return remoteAddress;
+
+        String client = request.getHeader(clientHeader);
+        return client == null || client.isEmpty() ? remoteAddress : client;
+    }
+}
@@ -0,0 +1,109 @@
+package com.developers.dmaker.ratelimit;
+
+import com.developers.dmaker.config.DMakerProperties;
+import com.developers.dmaker.exception.RetryLaterException;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.developers.dmaker.exception.DMakerErrorCode.SERVICE_UNAVAILABLE;
+
+/**
+ * 처리 중인 요청 수와 커넥션을 기다리는 thread 수를 보고 과부하면 요청을 바로 거절한다.
+ * low priority(목록 조회) 는 낮은 기준에서 먼저 거절해서 단건 조회 / 쓰기가 버틸 여유를 남긴다.
+ */
+@Component
+public class LoadShedder implements MeterBinder {
+
+    private final boolean enabled;
+    private final DMakerProperties.LoadShedding properties;
+    private final Set<String> lowPriorityEndpoints;
+    private final long retryAfterSeconds;
+    private final List<HikariDataSource> hikariDataSources;
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    public LoadShedder(DMakerProperties dMakerProperties, DataSource dataSource) {
+        this.properties = dMakerProperties.getLoadShedding();
+        this.enabled = properties.isEnabled();
+        this.lowPriorityEndpoints = new HashSet<>(properties.getLowPriorityEndpoints());
+        this.retryAfterSeconds = Math.max(1, properties.getRetryAfter().getSeconds());
+        this.hikariDataSources = unwrapHikari(dataSource);
+    }
+
+    /**
+     * @param endpoint method + mapping pattern (예: "GET /developers")
+     * @throws RetryLaterException SERVICE_UNAVAILABLE, 기준을 넘은 경우
+     */
+    public void check(String endpoint) {
+        if (!enabled)
+            return;
+
+        boolean lowPriority = lowPriorityEndpoints.contains(endpoint);
+        int inFlightLimit = lowPriority ? properties.getLowPriorityInFlight() : properties.getMaxInFlight();
+        int pendingLimit = lowPriority
+                ? properties.getLowPriorityPendingConnections()
+                : properties.getMaxPendingConnections();
+
+        if (inFlight.get() >= inFlightLimit || pendingConnections() >= pendingLimit)
+            throw new RetryLaterException(SERVICE_UNAVAILABLE, retryAfterSeconds);
+    }
+
+    public void enter() {
+        inFlight.incrementAndGet();
+    }
+
+    public void exit() {
+        inFlight.decrementAndGet();
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    // pool 별 대기 thread 수 중 최대값, pool 이 아직 만들어지지 않았거나 Hikari 가 아니면 0
+    private int pendingConnections() {
+        int pending = 0;
+        for (HikariDataSource hikariDataSource : hikariDataSources) {
+            HikariPoolMXBean pool = hikariDataSource.getHikariPoolMXBean();
+            if (pool != null)
+                pending = Math.max(pending, pool.getThreadsAwaitingConnection());
+        }
+        return pending;
+    }
+
+    // read/write routing 이면 primary / replica pool 모두
+    private static List<HikariDataSource> unwrapHikari(DataSource dataSource) {
+        List<HikariDataSource> pools = new ArrayList<>();
+        try {
+            if (dataSource.isWrapperFor(AbstractRoutingDataSource.class)) {
+                for (DataSource target : dataSource.unwrap(AbstractRoutingDataSource.class).getResolvedDataSources().values()) {
+                    if (target.isWrapperFor(HikariDataSource.class))
+                        pools.add(target.unwrap(HikariDataSource.class));
+                }
+            } else if (dataSource.isWrapperFor(HikariDataSource.class)) {
+                pools.add(dataSource.unwrap(HikariDataSource.class));
+            }
+        } catch (SQLException e) {
+            return Collections.emptyList();
+        }
+        return pools;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("dmaker.requests.in-flight", inFlight, AtomicInteger::get).register(registry);
+    }
+}
@@ -0,0 +1,58 @@
+package com.developers.dmaker.ratelimit;
+
+import com.developers.dmaker.metrics.RequestMetricsFilter;
+import org.springframework.stereotype.Component;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import javax.servlet.DispatcherType;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+/**
+ * controller 에 들어가기 전에 load shedding → rate limit 순서로 확인한다. (거절된 요청은 token 을 쓰지 않는다)
+ * 거절은 RetryLaterException 으로 던져서 DMakerExceptionHandler 가 응답한다.
+ */
+@Component
+public class RateLimitInterceptor implements HandlerInterceptor {
+
+    private static final String IN_FLIGHT = RateLimitInterceptor.class.getName() + ".inFlight";
+
+    private final RateLimiter rateLimiter;
+    private final LoadShedder loadShedder;
+    private final ClientResolver clientResolver;
+
+    public RateLimitInterceptor(RateLimiter rateLimiter, LoadShedder loadShedder, ClientResolver clientResolver) {
+        this.rateLimiter = rateLimiter;
+        this.loadShedder = loadShedder;
+        this.clientResolver = clientResolver;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        // 비동기 응답을 위한 재 dispatch 는 이미 처음 dispatch 에서 확인했다
+        if (request.getDispatcherType() != DispatcherType.REQUEST || !(handler instanceof HandlerMethod))
+            return true;
+
+        String client = clientResolver.resolve(request);
+        request.setAttribute(ClientResolver.CLIENT_ATTRIBUTE, client);
+
+        String endpoint = request.getMethod() + " " + RequestMetricsFilter.uriPattern(request);
+        loadShedder.check(endpoint);
+        rateLimiter.acquire(client, endpoint);
+
+        loadShedder.enter();
+        request.setAttribute(IN_FLIGHT, Boolean.TRUE);
+        return true;
+    }
+
+    // 비동기 요청은 마지막 dispatch 가 끝날 때 한 번 호출된다
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+                                Exception ex) {
+        if (request.getAttribute(IN_FLIGHT) != null) {
+            request.removeAttribute(IN_FLIGHT);
+            loadShedder.exit();
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package com.developers.dmaker.ratelimit;
+
+import com.developers.dmaker.cache.LruTtlCache;
+import com.developers.dmaker.config.DMakerProperties;
+import com.developers.dmaker.exception.RetryLaterException;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static com.developers.dmaker.exception.DMakerErrorCode.TOO_MANY_REQUESTS;
+
+/**
+ * 클라이언트 × endpoint 별 token bucket.
+ * bucket 은 segment 단위 lock 의 LruTtlCache 에 두고, 차감은 bucket 하나의 CAS 라 limiter 전체가 하나의 경합 지점이 되지 않는다.
+ * bucket 수가 maxBuckets 에 닿으면 가장 오래 쓰지 않은 bucket 부터 버린다 (한 클라이언트가 다른 클라이언트를 막지 않는다).
+ * idleTimeout 동안 허용한 요청이 없는 bucket 도 버린다, 그때는 이미 가득 차 있어서 새로 만든 것과 같다.
+ */
+@Component
+public class RateLimiter {
+
+    private static final int SEGMENTS = 16;
+
+    private final boolean enabled;
+    private final Rate defaultRate;
+    private final Map<String, Rate> endpointRates = new HashMap<>();
+    private final LruTtlCache<String, TokenBucket> buckets;
+
+    public RateLimiter(DMakerProperties dMakerProperties) {
+        DMakerProperties.RateLimit properties = dMakerProperties.getRateLimit();
+        this.enabled = properties.isEnabled();
+        this.defaultRate = new Rate(properties.getDefaultLimit());
+        properties.getEndpoints().forEach((endpoint, limit) -> endpointRates.put(endpoint, new Rate(limit)));
+        this.buckets = new LruTtlCache<>(properties.getMaxBuckets(), idleTimeout(properties), SEGMENTS);
+    }
+
+    // 다 차기 전에 버리면 burst 를 다시 주게 되므로 가장 긴 capacity 보다 짧게 두지 않는다
+    private Duration idleTimeout(DMakerProperties.RateLimit properties) {
+        long capacityNanos = defaultRate.capacityNanos;
+        for (Rate rate : endpointRates.values())
+            capacityNanos = Math.max(capacityNanos, rate.capacityNanos);
+        return properties.getIdleTimeout().compareTo(Duration.ofNanos(capacityNanos)) < 0
+                ? Duration.ofNanos(capacityNanos)
+                : properties.getIdleTimeout();
+    }
+
+    /**
+     * @param endpoint method + mapping pattern (예: "GET /developers")
+     * @throws RetryLaterException TOO_MANY_REQUESTS, bucket 이 비어 있는 경우
+     */
+    public void acquire(String client, String endpoint) {
+        if (!enabled)
+            return;
+
+        Rate rate = endpointRates.getOrDefault(endpoint, defaultRate);
+        long now = System.nanoTime();
+        String key = client + ' ' + endpoint;
+        TokenBucket bucket = bucketOf(key, now);
+
+        long waitNanos = bucket.tryAcquire(now, rate.intervalNanos, rate.capacityNanos);
+        if (waitNanos > 0)
+            throw new RetryLaterException(TOO_MANY_REQUESTS, TimeUnit.NANOSECONDS.toSeconds(waitNanos - 1) + 1);
+
+        // 허용한 시각부터 idleTimeout 을 다시 센다.
+        // 그 사이 bucket 이 버려지고 새로 만들어졌다면 덮어쓰므로 한 번 더 허용될 수는 있다.
+        buckets.put(key, bucket);
+    }
+
+    private TokenBucket bucketOf(String key, long now) {
+        TokenBucket bucket = buckets.getIfPresent(key);
+        if (bucket != null)
+            return bucket;
+
+        TokenBucket created = new TokenBucket(now);
+        TokenBucket existing = buckets.putIfAbsent(key, created);
+        return existing == null ? created : existing;
+    }
+
+    long size() {
+        return buckets.size();
+    }
+
+    private static class Rate {
+        private final long intervalNanos;
+        private final long capacityNanos;
+
+        private Rate(DMakerProperties.Limit limit) {
+            if (limit.getPermitsPerSecond() <= 0)
+                throw new IllegalArgumentException("permitsPerSecond must be positive : " + limit.getPermitsPerSecond());
+            this.intervalNanos = (long) (TimeUnit.SECONDS.toNanos(1) / limit.getPermitsPerSecond());
+            this.capacityNanos = intervalNanos * Math.max(1, limit.getBurst());
+        }
+    }
+}
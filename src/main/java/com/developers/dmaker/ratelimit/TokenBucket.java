@@ -0,0 +1,33 @@
+package com.developers.dmaker.ratelimit;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * GCRA 방식 token bucket : 다음 요청이 들어와도 되는 이론상 시각 하나만 CAS 로 갱신한다. (lock 없음)
+ * 시각이 now 보다 capacity 이상 앞서 있으면 burst 를 다 쓴 것이다.
+ */
+final class TokenBucket {
+
+    private final AtomicLong theoreticalArrival;
+
+    TokenBucket(long now) {
+        this.theoreticalArrival = new AtomicLong(now);
+    }
+
+    /**
+     * @param intervalNanos token 하나가 다시 채워지는 시간
+     * @param capacityNanos intervalNanos * burst
+     * @return 0 이면 허용, 아니면 다시 시도할 수 있을 때까지 남은 nanos
+     */
+    long tryAcquire(long now, long intervalNanos, long capacityNanos) {
+        while (true) {
+            long current = theoreticalArrival.get();
+            long next = Math.max(current, now) + intervalNanos;
+            long wait = next - now - capacityNanos;
+            if (wait > 0)
+                return wait;
+            if (theoreticalArrival.compareAndSet(current, next))
+                return 0;
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package com.developers.dmaker.repository;
+
+import com.developers.dmaker.entity.DeveloperOutboxCursor;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import javax.persistence.LockModeType;
+import javax.persistence.QueryHint;
+import java.util.Optional;
+
+import static com.developers.dmaker.constant.DMakerConstant.LOCK_TIMEOUT_SKIP_LOCKED;
+import static org.hibernate.cfg.AvailableSettings.JPA_LOCK_TIMEOUT;
+
+@Repository
+public interface DeveloperOutboxCursorRepository extends JpaRepository<DeveloperOutboxCursor, Long> {
+
+    // SELECT ... FOR UPDATE SKIP LOCKED : 다른 인스턴스가 relay 중이면 기다리지 않고 빈 결과
+    // (SKIP LOCKED 를 지원하지 않는 dialect 는 FOR UPDATE 로 기다린다)
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = JPA_LOCK_TIMEOUT, value = LOCK_TIMEOUT_SKIP_LOCKED))
+    @Query("select c from DeveloperOutboxCursor c where c.id = :id")
+    Optional<DeveloperOutboxCursor> findByIdSkipLocked(@Param("id") Long id);
+}
@@ -0,0 +1,29 @@
+package com.developers.dmaker.repository;
+
+import com.developers.dmaker.entity.DeveloperOutbox;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface DeveloperOutboxRepository extends JpaRepository<DeveloperOutbox, Long> {
+
+    List<DeveloperOutbox> findByPublishedOffsetIsNullOrderByIdAsc(Pageable pageable);
+
+    @Query("select max(o.publishedOffset) from DeveloperOutbox o")
+    Optional<Long> findMaxPublishedOffset();
+
+    List<DeveloperOutbox> findByPublishedOffsetGreaterThanOrderByPublishedOffsetAsc(Long publishedOffset, Pageable pageable);
+
+    // 보관 기간이 지난 내보낸 이벤트 삭제 (아직 내보내지 않은 row 는 publishedAt 이 null 이라 남는다)
+    @Modifying
+    @Query("delete from DeveloperOutbox o where o.publishedAt < :before")
+    int deletePublishedBefore(@Param("before") LocalDateTime before);
+}
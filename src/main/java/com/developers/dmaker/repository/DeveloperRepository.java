@@ -1,18 +1,128 @@
 package com.developers.dmaker.repository;
 
 import com.developers.dmaker.code.StatusCode;
+import com.developers.dmaker.dto.DeveloperCountDto;
+import com.developers.dmaker.dto.DeveloperDetailDto;
+import com.developers.dmaker.dto.DeveloperDto;
+import com.developers.dmaker.dto.DeveloperSyncDto;
 import com.developers.dmaker.entity.Developer;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import javax.persistence.QueryHint;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
+
+import static com.developers.dmaker.constant.DMakerConstant.STREAM_FETCH_SIZE;
+import static org.hibernate.jpa.QueryHints.HINT_CACHEABLE;
+import static org.hibernate.jpa.QueryHints.HINT_CACHE_MODE;
+import static org.hibernate.jpa.QueryHints.HINT_CACHE_REGION;
+import static org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.QueryHints.HINT_READONLY;
 
 @Repository
-public interface DeveloperRepository extends JpaRepository<Developer, Long> {
+public interface DeveloperRepository extends JpaRepository<Developer, Long>, DeveloperSearchRepository {
+
+    // query cache 는 id 만 저장하고 entity 는 Developer.CACHE_REGION 에서 꺼낸다
+    // developer 테이블이 바뀌면 (insert / update / bulk update) 이 region 의 결과는 모두 무효
+    String QUERY_CACHE_REGION = "developer-query";
 
+    @QueryHints({
+            @QueryHint(name = HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HINT_CACHE_REGION, value = QUERY_CACHE_REGION)
+    })
     Optional<Developer> findByMemberId(String memberId);
 
+    @Query("select new com.developers.dmaker.dto.DeveloperDto(d.developerLevel, d.developerSkillType, d.memberId) " +
+            "from Developer d where d.memberId in :memberIds and d.statusCode = :statusCode")
+    List<DeveloperDto> findDeveloperDtosByMemberIdsAndStatusCode(@Param("memberIds") Collection<String> memberIds,
+                                                                 @Param("statusCode") StatusCode statusCode);
+
+    // 퇴사 처리할 row 를 먼저 잠근다 (SELECT ... FOR UPDATE)
+    // 같은 개발자를 동시에 퇴사 처리하면 뒤의 트랜잭션은 앞의 commit 을 기다린 뒤 RETIRED 가 된 row 를 건너뛴다
+    @Query(value = "select d.member_id from developer d " +
+            "where d.member_id in (:memberIds) and d.status_code = :statusCode for update", nativeQuery = true)
+    List<String> lockMemberIdsByStatusCode(@Param("memberIds") Collection<String> memberIds,
+                                           @Param("statusCode") String statusCode);
+
+    // bulk update 는 auditing / dirty checking 을 거치지 않으므로 updatedAt, version 을 직접 갱신
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update Developer d set d.statusCode = :to, d.updatedAt = :now, d.version = d.version + 1 " +
+            "where d.memberId in :memberIds and d.statusCode = :from")
+    int updateStatusCode(@Param("memberIds") Collection<String> memberIds,
+                         @Param("from") StatusCode from,
+                         @Param("to") StatusCode to,
+                         @Param("now") LocalDateTime now);
+
+    @Query("select d.memberId from Developer d where d.memberId in :memberIds")
+    List<String> findExistingMemberIds(@Param("memberIds") Collection<String> memberIds);
+
+    @QueryHints({
+            @QueryHint(name = HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HINT_CACHE_REGION, value = QUERY_CACHE_REGION)
+    })
     List<Developer> findDevelopersByStatusCodeEquals(StatusCode statusCode);
 
+    // keyset pagination : id > cursor 조건으로 offset 없이 다음 페이지 조회
+    @QueryHints(@QueryHint(name = HINT_READONLY, value = "true"))
+    List<Developer> findByStatusCodeEqualsAndIdGreaterThanOrderByIdAsc(StatusCode statusCode, Long id, Pageable pageable);
+
+    // 트랜잭션 안에서 사용 후 반드시 close, 전체를 훑으므로 2nd level cache 에 넣지 않는다
+    @QueryHints({
+            @QueryHint(name = HINT_FETCH_SIZE, value = STREAM_FETCH_SIZE),
+            @QueryHint(name = HINT_READONLY, value = "true"),
+            @QueryHint(name = HINT_CACHE_MODE, value = "IGNORE")
+    })
+    Stream<Developer> streamDevelopersByStatusCodeEqualsOrderByIdAsc(StatusCode statusCode);
+
+    // snapshot export 용 전체 조회, 트랜잭션 안에서 사용 후 반드시 close (2nd level cache 에 넣지 않는다)
+    @QueryHints({
+            @QueryHint(name = HINT_FETCH_SIZE, value = STREAM_FETCH_SIZE),
+            @QueryHint(name = HINT_READONLY, value = "true"),
+            @QueryHint(name = HINT_CACHE_MODE, value = "IGNORE")
+    })
+    Stream<Developer> streamAllByOrderByIdAsc();
+
+    // 조회 전용 projection : entity 를 영속성 컨텍스트에 올리지 않고 필요한 컬럼만 DTO 로 바로 조회
+    @Query("select new com.developers.dmaker.dto.DeveloperDto(d.developerLevel, d.developerSkillType, d.memberId) " +
+            "from Developer d where d.statusCode = :statusCode order by d.id")
+    List<DeveloperDto> findDeveloperDtosByStatusCode(@Param("statusCode") StatusCode statusCode);
+
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = STREAM_FETCH_SIZE))
+    @Query("select new com.developers.dmaker.dto.DeveloperDto(d.developerLevel, d.developerSkillType, d.memberId) " +
+            "from Developer d where d.statusCode = :statusCode order by d.id")
+    Stream<DeveloperDto> streamDeveloperDtosByStatusCode(@Param("statusCode") StatusCode statusCode);
+
+    // 인덱스 컬럼 순서대로 group by (idx_developer_status_code_level_skill_years)
+    @Query("select new com.developers.dmaker.dto.DeveloperCountDto(d.statusCode, d.developerLevel, " +
+            "d.developerSkillType, count(d)) from Developer d " +
+            "group by d.statusCode, d.developerLevel, d.developerSkillType")
+    List<DeveloperCountDto> countGroupByStatusCodeAndLevelAndSkillType();
+
+    // updatedAt 이 같은 row 는 id 로 이어서 읽으므로 페이지 경계에서 빠지는 row 가 없다
+    @Query("select new com.developers.dmaker.dto.DeveloperSyncDto(d.id, d.memberId, d.developerLevel, " +
+            "d.developerSkillType, d.experienceYears, d.name, d.age, d.statusCode, d.updatedAt) " +
+            "from Developer d " +
+            "where (d.updatedAt > :since or (d.updatedAt = :since and d.id > :id)) and d.updatedAt <= :until " +
+            "order by d.updatedAt, d.id")
+    List<DeveloperSyncDto> findChangedDevelopers(@Param("since") LocalDateTime since,
+                                                 @Param("id") Long id,
+                                                 @Param("until") LocalDateTime until,
+                                                 Pageable pageable);
+
+    @Transactional(readOnly = true)
+    @Query("select new com.developers.dmaker.dto.DeveloperDetailDto(d.developerLevel, d.developerSkillType, " +
+            "d.experienceYears, d.memberId, d.name, d.age, d.statusCode, d.version) " +
+            "from Developer d where d.memberId = :memberId")
+    Optional<DeveloperDetailDto> findDeveloperDetailDtoByMemberId(@Param("memberId") String memberId);
+
 }
@@ -0,0 +1,12 @@
+package com.developers.dmaker.repository;
+
+import com.developers.dmaker.dto.DeveloperPageDto;
+import com.developers.dmaker.dto.DeveloperSearch;
+
+// 조건 조합이 많아 메서드 이름 / @Query 대신 Criteria 로 동적 쿼리를 만든다
+public interface DeveloperSearchRepository {
+
+    DeveloperPageDto searchDevelopers(DeveloperSearch.Request condition, int size);
+
+    long countDevelopers(DeveloperSearch.Request condition);
+}
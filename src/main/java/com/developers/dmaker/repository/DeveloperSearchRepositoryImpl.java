@@ -0,0 +1,112 @@
+package com.developers.dmaker.repository;
+
+import com.developers.dmaker.code.StatusCode;
+import com.developers.dmaker.dto.DeveloperDto;
+import com.developers.dmaker.dto.DeveloperPageDto;
+import com.developers.dmaker.dto.DeveloperSearch;
+import com.developers.dmaker.entity.Developer;
+import com.developers.dmaker.type.DeveloperLevel;
+import com.developers.dmaker.type.DeveloperSkillType;
+import lombok.RequiredArgsConstructor;
+
+import javax.persistence.EntityManager;
+import javax.persistence.Tuple;
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.Predicate;
+import javax.persistence.criteria.Root;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static com.developers.dmaker.code.StatusCode.EMPLOYED;
+
+/**
+ * 조건은 인덱스 컬럼 순서(statusCode, developerLevel, developerSkillType, experienceYears)대로 붙인다.
+ * statusCode 만 있으면 (statusCode, id), level / skill / 연차가 있으면
+ * (statusCode, developerLevel, developerSkillType, experienceYears) 인덱스로 범위를 좁힌다.
+ * entity 대신 필요한 컬럼만 Tuple 로 읽어 DeveloperDto 로 바꾼다.
+ */
+@RequiredArgsConstructor
+public class DeveloperSearchRepositoryImpl implements DeveloperSearchRepository {
+
+    private static final String ID = "id";
+    private static final String STATUS_CODE = "statusCode";
+    private static final String DEVELOPER_LEVEL = "developerLevel";
+    private static final String DEVELOPER_SKILL_TYPE = "developerSkillType";
+    private static final String EXPERIENCE_YEARS = "experienceYears";
+    private static final String AGE = "age";
+    private static final String MEMBER_ID = "memberId";
+
+    private final EntityManager entityManager;
+
+    @Override
+    public DeveloperPageDto searchDevelopers(DeveloperSearch.Request condition, int size) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<Developer> developer = query.from(Developer.class);
+
+        List<Predicate> predicates = getPredicates(cb, developer, condition);
+        if (condition.getCursor() != null)
+            predicates.add(cb.greaterThan(developer.<Long>get(ID), condition.getCursor()));
+
+        query.multiselect(
+                        developer.get(ID).alias(ID),
+                        developer.get(DEVELOPER_LEVEL).alias(DEVELOPER_LEVEL),
+                        developer.get(DEVELOPER_SKILL_TYPE).alias(DEVELOPER_SKILL_TYPE),
+                        developer.get(MEMBER_ID).alias(MEMBER_ID))
+                .where(predicates.toArray(new Predicate[0]))
+                .orderBy(cb.asc(developer.get(ID)));
+
+        List<Tuple> rows = entityManager.createQuery(query)
+                .setMaxResults(size)
+                .getResultList();
+
+        return DeveloperPageDto.builder()
+                .developers(rows.stream()
+                        .map(row -> new DeveloperDto(
+                                row.get(DEVELOPER_LEVEL, DeveloperLevel.class),
+                                row.get(DEVELOPER_SKILL_TYPE, DeveloperSkillType.class),
+                                row.get(MEMBER_ID, String.class)))
+                        .collect(Collectors.toList()))
+                .nextCursor(rows.size() < size ? null : rows.get(rows.size() - 1).get(ID, Long.class))
+                .build();
+    }
+
+    @Override
+    public long countDevelopers(DeveloperSearch.Request condition) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = cb.createQuery(Long.class);
+        Root<Developer> developer = query.from(Developer.class);
+
+        query.select(cb.count(developer))
+                .where(getPredicates(cb, developer, condition).toArray(new Predicate[0]));
+
+        return entityManager.createQuery(query).getSingleResult();
+    }
+
+    private List<Predicate> getPredicates(CriteriaBuilder cb, Root<Developer> developer,
+                                          DeveloperSearch.Request condition) {
+        List<Predicate> predicates = new ArrayList<>();
+
+        StatusCode statusCode = condition.getStatusCode() == null ? EMPLOYED : condition.getStatusCode();
+        predicates.add(cb.equal(developer.get(STATUS_CODE), statusCode));
+
+        if (condition.getDeveloperLevel() != null)
+            predicates.add(cb.equal(developer.get(DEVELOPER_LEVEL), condition.getDeveloperLevel()));
+        if (condition.getDeveloperSkillType() != null)
+            predicates.add(cb.equal(developer.get(DEVELOPER_SKILL_TYPE), condition.getDeveloperSkillType()));
+
+        if (condition.getMinExperienceYears() != null)
+            predicates.add(cb.greaterThanOrEqualTo(developer.<Integer>get(EXPERIENCE_YEARS), condition.getMinExperienceYears()));
+        if (condition.getMaxExperienceYears() != null)
+            predicates.add(cb.lessThanOrEqualTo(developer.<Integer>get(EXPERIENCE_YEARS), condition.getMaxExperienceYears()));
+
+        if (condition.getMinAge() != null)
+            predicates.add(cb.greaterThanOrEqualTo(developer.<Integer>get(AGE), condition.getMinAge()));
+        if (condition.getMaxAge() != null)
+            predicates.add(cb.lessThanOrEqualTo(developer.<Integer>get(AGE), condition.getMaxAge()));
+
+        return predicates;
+    }
+}
@@ -3,11 +3,43 @@ package com.developers.dmaker.repository;
 import com.developers.dmaker.entity.Developer;
 import com.developers.dmaker.entity.RetiredDeveloper;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import javax.persistence.QueryHint;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.Optional;
+import java.util.stream.Stream;
+
+import static com.developers.dmaker.constant.DMakerConstant.HINT_NATIVE_SPACES;
+import static com.developers.dmaker.constant.DMakerConstant.STREAM_FETCH_SIZE;
+import static org.hibernate.jpa.QueryHints.HINT_CACHE_MODE;
+import static org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.QueryHints.HINT_READONLY;
 
 @Repository
 public interface RetiredDeveloperRepository extends JpaRepository<RetiredDeveloper, Long> {
 
+    // 엔티티를 읽지 않고 developer 에서 바로 복사 (INSERT ... SELECT 한 번)
+    // native query 는 query space 를 지정하지 않으면 2nd level cache 전체를 비우므로 retired_developer 만 무효화
+    @Modifying
+    @QueryHints(@QueryHint(name = HINT_NATIVE_SPACES, value = "retired_developer"))
+    @Query(value = "insert into retired_developer (member_id, name, created_at, updated_at) " +
+            "select d.member_id, d.name, :now, :now from developer d " +
+            "where d.member_id in (:memberIds) and d.status_code = :statusCode", nativeQuery = true)
+    int insertFromDevelopers(@Param("memberIds") Collection<String> memberIds,
+                             @Param("statusCode") String statusCode,
+                             @Param("now") LocalDateTime now);
+
+    // snapshot export 용 전체 조회, 트랜잭션 안에서 사용 후 반드시 close (2nd level cache 에 넣지 않는다)
+    @QueryHints({
+            @QueryHint(name = HINT_FETCH_SIZE, value = STREAM_FETCH_SIZE),
+            @QueryHint(name = HINT_READONLY, value = "true"),
+            @QueryHint(name = HINT_CACHE_MODE, value = "IGNORE")
+    })
+    Stream<RetiredDeveloper> streamAllByOrderByIdAsc();
 }
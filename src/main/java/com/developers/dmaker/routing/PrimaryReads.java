@@ -0,0 +1,56 @@
+package com.developers.dmaker.routing;
+
+import java.util.function.Supplier;
+
+/**
+ * 이 범위 안에서 시작한 readOnly 트랜잭션은 replica 대신 primary 에서 읽는다.
+ * replica 지연(max-lag 이내)을 허용할 수 없는 조회에 사용한다.
+ * - 결과를 공유 cache 에 채우는 조회 : 오래된 값이 cache ttl 동안 남는다
+ * - 방금 쓴 값을 다시 읽는 조회 (read-your-writes)
+ * routing 은 첫 SQL 에서 정해지므로 트랜잭션 전체가 이 범위 안에 있어야 한다.
+ */
+public final class PrimaryReads {
+
+    private static final ThreadLocal<Boolean> ACTIVE = new ThreadLocal<>();
+
+    private PrimaryReads() {
+    }
+
+    public static <T> T call(Supplier<T> action) {
+        boolean entered = enter();
+        try {
+            return action.get();
+        } finally {
+            if (entered)
+                exit();
+        }
+    }
+
+    public static void run(Runnable action) {
+        call(() -> {
+            action.run();
+            return null;
+        });
+    }
+
+    public static boolean isActive() {
+        return ACTIVE.get() != null;
+    }
+
+    // 다른 thread 로 넘기는 작업(TaskDecorator)에 현재 범위를 그대로 가져간다
+    public static Runnable propagate(Runnable task) {
+        return isActive() ? () -> run(task) : task;
+    }
+
+    // 이미 범위 안이면 false, 바깥 범위가 해제한다
+    static boolean enter() {
+        if (isActive())
+            return false;
+        ACTIVE.set(Boolean.TRUE);
+        return true;
+    }
+
+    static void exit() {
+        ACTIVE.remove();
+    }
+}
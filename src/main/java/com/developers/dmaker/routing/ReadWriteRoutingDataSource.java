@@ -0,0 +1,182 @@
+package com.developers.dmaker.routing;
+
+import com.developers.dmaker.config.DMakerProperties;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.scheduling.annotation.SchedulingConfigurer;
+import org.springframework.scheduling.config.IntervalTask;
+import org.springframework.scheduling.config.ScheduledTaskRegistrar;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.util.StringUtils;
+
+import javax.sql.DataSource;
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * readOnly 트랜잭션은 replica 중 하나로, 그 외(쓰기, 트랜잭션 밖)는 primary 로 보낸다.
+ * 트랜잭션 시작 시점이 아니라 첫 SQL 에서 커넥션을 가져와야 readOnly 여부를 알 수 있으므로
+ * 반드시 LazyConnectionDataSourceProxy 로 감싸서 사용한다.
+ * 쓰기 트랜잭션 안에서 호출된 readOnly 메서드는 바깥 트랜잭션에 참여하므로 primary 에서 읽는다 (자기 쓰기를 바로 읽을 수 있음).
+ * PrimaryReads 범위 안의 readOnly 트랜잭션도 primary 로 보낸다 (cache 채우기, 쓰기 직후의 조회 등).
+ * lagCheckInterval 마다 replica 지연(lagQuery 가 없으면 커넥션 생존 여부)을 확인해 통과한 replica 만 사용한다.
+ */
+@Slf4j
+public class ReadWriteRoutingDataSource extends AbstractRoutingDataSource implements SchedulingConfigurer, MeterBinder, Closeable {
+
+    public static final String PRIMARY = "primary";
+
+    private final List<Replica> replicas = new ArrayList<>();
+    private final DMakerProperties.LoadBalancing loadBalancing;
+    private final String lagQuery;
+    private final long maxLagMillis;
+    private final long lagCheckIntervalMillis;
+
+    // 지연 확인을 통과한 replica, 확인할 때마다 통째로 교체
+    private volatile List<Replica> available;
+    private final AtomicInteger next = new AtomicInteger();
+    private final LongAdder primaryFallbacks = new LongAdder();
+
+    /**
+     * @param replicas 이름 >> DataSource, 이름은 routing key / metric tag 로 사용
+     */
+    public ReadWriteRoutingDataSource(DataSource primary, Map<String, DataSource> replicas,
+                                      DMakerProperties.Replica properties) {
+        this.loadBalancing = properties.getLoadBalancing();
+        this.lagQuery = StringUtils.hasText(properties.getLagQuery()) ? properties.getLagQuery() : null;
+        this.maxLagMillis = properties.getMaxLag().toMillis();
+        this.lagCheckIntervalMillis = properties.getLagCheckInterval().toMillis();
+
+        Map<Object, Object> targets = new HashMap<>();
+        targets.put(PRIMARY, primary);
+        replicas.forEach((name, dataSource) -> {
+            targets.put(name, dataSource);
+            this.replicas.add(new Replica(name, dataSource));
+        });
+        this.available = Collections.unmodifiableList(new ArrayList<>(this.replicas));
+
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly() || PrimaryReads.isActive())
+            return PRIMARY;
+
+        Replica replica = select();
+        return replica == null ? PRIMARY : replica.name;
+    }
+
+    private Replica select() {
+        List<Replica> candidates = available;
+        if (candidates.isEmpty()) {
+            primaryFallbacks.increment();
+            return null;
+        }
+
+        int index = loadBalancing == DMakerProperties.LoadBalancing.RANDOM
+                ? ThreadLocalRandom.current().nextInt(candidates.size())
+                : Math.floorMod(next.getAndIncrement(), candidates.size());
+        return candidates.get(index);
+    }
+
+    // lagQuery 가 없으면 지연은 0 으로 보고 커넥션이 살아 있는지만 확인한다
+    public void checkLag() {
+        List<Replica> passed = new ArrayList<>(replicas.size());
+        for (Replica replica : replicas) {
+            replica.lagMillis = measureLagMillis(replica);
+            if (replica.lagMillis >= 0 && replica.lagMillis <= maxLagMillis)
+                passed.add(replica);
+        }
+
+        if (!passed.equals(available))
+            log.warn("available replicas changed : {} / {}", passed.size(), replicas.size());
+        available = Collections.unmodifiableList(passed);
+    }
+
+    // 실패하면 -1
+    private long measureLagMillis(Replica replica) {
+        try {
+            if (lagQuery == null)
+                return isValid(replica) ? 0 : -1;
+
+            Double seconds = replica.jdbcTemplate.queryForObject(lagQuery, Double.class);
+            return seconds == null ? 0 : (long) (seconds * 1000);
+        } catch (RuntimeException e) {
+            log.warn("replica lag check failed : {} {}", replica.name, e.toString());
+            return -1;
+        }
+    }
+
+    // 확인 주기 안에 응답하지 않으면 죽은 것으로 본다 (isValid 는 초 단위, 최소 1초)
+    private boolean isValid(Replica replica) {
+        int timeoutSeconds = (int) Math.max(1, TimeUnit.MILLISECONDS.toSeconds(lagCheckIntervalMillis));
+        Boolean valid = replica.jdbcTemplate.execute((ConnectionCallback<Boolean>) connection -> connection.isValid(timeoutSeconds));
+        if (!Boolean.TRUE.equals(valid))
+            log.warn("replica liveness check failed : {}", replica.name);
+        return Boolean.TRUE.equals(valid);
+    }
+
+    int availableReplicas() {
+        return available.size();
+    }
+
+    @Override
+    public void configureTasks(ScheduledTaskRegistrar taskRegistrar) {
+        if (!replicas.isEmpty())
+            taskRegistrar.addFixedDelayTask(new IntervalTask(this::checkLag, lagCheckIntervalMillis, 0));
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("dmaker.datasource.replicas.available", this, ReadWriteRoutingDataSource::availableReplicas)
+                .register(registry);
+        FunctionCounter.builder("dmaker.datasource.replica.fallbacks", primaryFallbacks, LongAdder::sum)
+                .description("readOnly transactions routed to primary because no replica was available")
+                .register(registry);
+        for (Replica replica : replicas) {
+            Gauge.builder("dmaker.datasource.replica.lag", replica, r -> r.lagMillis / 1000.0)
+                    .tag("replica", replica.name)
+                    .baseUnit("seconds")
+                    .register(registry);
+        }
+    }
+
+    // replica pool 은 이 객체와 수명이 같으므로 같이 닫는다 (primary 는 별도 bean)
+    @Override
+    public void close() throws IOException {
+        for (Replica replica : replicas) {
+            if (replica.dataSource instanceof Closeable)
+                ((Closeable) replica.dataSource).close();
+        }
+    }
+
+    private static class Replica {
+        private final String name;
+        private final DataSource dataSource;
+        private final JdbcTemplate jdbcTemplate;
+        private volatile long lagMillis;
+
+        private Replica(String name, DataSource dataSource) {
+            this.name = name;
+            this.dataSource = dataSource;
+            this.jdbcTemplate = new JdbcTemplate(dataSource);
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package com.developers.dmaker.routing;
+
+import com.developers.dmaker.cache.LruTtlCache;
+import com.developers.dmaker.ratelimit.ClientResolver;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Set;
+
+/**
+ * 쓰기 요청을 보낸 클라이언트는 window 동안 readOnly 조회도 primary 에서 읽는다 (read-your-writes).
+ * window 는 replica 가 늦을 수 있는 최대 시간(max-lag + lag-check-interval) 이라 그 뒤에는 replica 에도 반영되어 있다.
+ * 클라이언트는 ClientResolver 로 구분하고, 기억하는 클라이언트 수는 maxClients 로 제한한다 (넘치면 오래된 것부터 replica 로).
+ * 비동기 controller 의 작업은 dmakerJdbcExecutor 의 TaskDecorator(PrimaryReads::propagate) 로 범위를 넘겨받는다.
+ */
+public class ReadYourWritesFilter extends OncePerRequestFilter {
+
+    private static final Set<String> SAFE_METHODS = Set.of("GET", "HEAD", "OPTIONS");
+    private static final int SEGMENTS = 16;
+
+    private final ClientResolver clientResolver;
+    private final LruTtlCache<String, Boolean> recentWriters;
+
+    public ReadYourWritesFilter(ClientResolver clientResolver, Duration window, int maxClients) {
+        this.clientResolver = clientResolver;
+        this.recentWriters = new LruTtlCache<>(maxClients, window, SEGMENTS);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        String client = clientResolver.resolve(request);
+        if (isWrite(request)) {
+            recentWriters.put(client, Boolean.TRUE);
+        } else if (recentWriters.getIfPresent(client) == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        boolean entered = PrimaryReads.enter();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            if (entered)
+                PrimaryReads.exit();
+        }
+    }
+
+    private static boolean isWrite(HttpServletRequest request) {
+        return !SAFE_METHODS.contains(request.getMethod());
+    }
+}
@@ -0,0 +1,28 @@
+package com.developers.dmaker.routing;
+
+import org.hibernate.CacheMode;
+import org.hibernate.Session;
+import org.springframework.orm.jpa.EntityManagerHolder;
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * replica 로 가는 readOnly 트랜잭션은 hibernate 2nd level / query cache 를 읽기만 하고 채우지 않는다 (CacheMode.GET).
+ * replica 에서 읽은 늦은 값이 cache 에 들어가면 다른 트랜잭션이 primary 대신 그 값을 계속 읽게 된다.
+ * cache 는 쓰기 트랜잭션과 PrimaryReads 범위의 조회가 채운다.
+ * 모든 replica 가 제외되어 primary 로 읽는 경우에도 채우지 않는다 (routing 은 첫 SQL 에서 정해지므로).
+ */
+public class ReplicaAwareJpaTransactionManager extends JpaTransactionManager {
+
+    @Override
+    protected void doBegin(Object transaction, TransactionDefinition definition) {
+        super.doBegin(transaction, definition);
+
+        EntityManagerHolder holder = (EntityManagerHolder) TransactionSynchronizationManager
+                .getResource(obtainEntityManagerFactory());
+        // open-in-view 처럼 session 이 트랜잭션보다 오래 살 수 있으므로 매번 정한다
+        holder.getEntityManager().unwrap(Session.class).setCacheMode(
+                definition.isReadOnly() && !PrimaryReads.isActive() ? CacheMode.GET : CacheMode.NORMAL);
+    }
+}
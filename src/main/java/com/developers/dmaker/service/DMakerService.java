@@ -1,34 +1,76 @@
 package com.developers.dmaker.service;
 
+import com.developers.dmaker.cache.DeveloperDetailCache;
+import com.developers.dmaker.code.StatusCode;
+import com.developers.dmaker.config.DMakerProperties;
+import com.developers.dmaker.dto.CacheStatsDto;
 import com.developers.dmaker.dto.CreateDeveloper;
+import com.developers.dmaker.dto.CreateDevelopers;
 import com.developers.dmaker.dto.DeveloperDetailDto;
 import com.developers.dmaker.dto.DeveloperDto;
+import com.developers.dmaker.dto.DeveloperPageDto;
+import com.developers.dmaker.dto.DeveloperSearch;
+import com.developers.dmaker.dto.DeveloperStatisticsDto;
+import com.developers.dmaker.dto.DeveloperSyncDto;
+import com.developers.dmaker.dto.DeveloperSyncPageDto;
 import com.developers.dmaker.dto.EditDeveloper;
+import com.developers.dmaker.dto.RetireDevelopers;
 import com.developers.dmaker.entity.Developer;
-import com.developers.dmaker.entity.RetiredDeveloper;
+import com.developers.dmaker.event.DeveloperChangedEvent;
+import com.developers.dmaker.event.DeveloperState;
 import com.developers.dmaker.exception.DMakerException;
 import com.developers.dmaker.repository.DeveloperRepository;
 import com.developers.dmaker.repository.RetiredDeveloperRepository;
+import com.developers.dmaker.stats.DeveloperStatistics;
 import com.developers.dmaker.type.DeveloperLevel;
+import com.developers.dmaker.type.DeveloperSkillType;
 import lombok.NonNull;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
-
-import java.util.List;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManager;
+import javax.validation.ConstraintViolation;
+import javax.validation.Validator;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
+import static com.developers.dmaker.constant.DMakerConstant.DEFAULT_PAGE_SIZE;
+import static com.developers.dmaker.constant.DMakerConstant.MAX_PAGE_SIZE;
 import static com.developers.dmaker.code.StatusCode.EMPLOYED;
 import static com.developers.dmaker.code.StatusCode.RETIRED;
 import static com.developers.dmaker.exception.DMakerErrorCode.DUPLICATED_MEMBER_ID;
+import static com.developers.dmaker.exception.DMakerErrorCode.INTERNAL_SERVER_ERROR;
+import static com.developers.dmaker.exception.DMakerErrorCode.INVALID_REQUEST;
 import static com.developers.dmaker.exception.DMakerErrorCode.NO_DEVELOPER;
+import static com.developers.dmaker.exception.DMakerErrorCode.PRECONDITION_FAILED;
 
+@Slf4j
 @Service
 @RequiredArgsConstructor
 public class DMakerService {
 
+    private static final LocalDateTime SYNC_EPOCH = LocalDateTime.of(1970, 1, 1, 0, 0);
+
     private final DeveloperRepository developerRepository;
     private final RetiredDeveloperRepository retiredDeveloperRepository;
+    private final DMakerProperties dMakerProperties;
+    private final TransactionTemplate transactionTemplate;
+    private final Validator validator;
+    private final DeveloperDetailCache developerDetailCache;
+    private final ApplicationEventPublisher eventPublisher;
+    private final DeveloperStatistics developerStatistics;
+    private final EntityManager entityManager;
 
     // ACID Transaction
     // Atomic
@@ -76,30 +118,258 @@ public class DMakerService {
 //        developerRepository.save(developer);
 //        developerRepository.save(developer);
 
-        return CreateDeveloper.Response.fromEntity(
-                developerRepository.save(createDeveloperFromRequest(request))
-        );
+        Developer developer = createDeveloperFromRequest(request);
+        Developer saved = translateDuplicatedMemberId(() -> developerRepository.saveAndFlush(developer));
+        publishCreated(saved);
+        return CreateDeveloper.Response.fromEntity(saved);
+    }
+
+    /**
+     * 건별로 검증해서 실패한 건만 결과에 남기고 나머지는 batch insert.
+     * batch_size 단위로 각자 트랜잭션에서 commit 하므로 트랜잭션 밖에서 호출한다.
+     * 사전 조회 이후 다른 요청이 같은 memberId 를 먼저 넣어 unique 제약조건에 걸린 chunk 는 rollback 후 한 건씩 다시 넣어
+     * 충돌한 memberId 만 DUPLICATED_MEMBER_ID 로 남긴다.
+     */
+    public CreateDevelopers.Response createDevelopers(@NonNull List<CreateDeveloper.Request> requests) {
+        DMakerProperties.Bulk bulk = dMakerProperties.getBulk();
+        if (requests.size() > bulk.getMaxSize())
+            throw new DMakerException(INVALID_REQUEST, "한 번에 최대 " + bulk.getMaxSize() + "명까지 생성할 수 있습니다.");
+
+        CreateDevelopers.Result[] results = new CreateDevelopers.Result[requests.size()];
+        // memberId >> 요청 index
+        Map<String, Integer> candidates = new LinkedHashMap<>();
+
+        // 1. business validation + 요청 안에서의 memberId 중복
+        for (int i = 0; i < requests.size(); i++) {
+            CreateDevelopers.Result failure = validateBulkCreateRequest(requests.get(i), candidates);
+            if (failure != null)
+                results[i] = failure;
+            else
+                candidates.put(requests.get(i).getMemberId(), i);
+        }
+
+        // 2. 이미 등록된 memberId 는 IN 조회로 한 번에 걸러낸다
+        for (List<String> memberIds : chunk(new ArrayList<>(candidates.keySet()), bulk.getInClauseSize())) {
+            for (String memberId : developerRepository.findExistingMemberIds(memberIds)) {
+                // 대소문자 구분 없는 collation 이면 요청과 다른 표기로 돌아올 수 있다, 그 건은 insert 에서 제약조건으로 걸러진다
+                Integer index = candidates.remove(memberId);
+                if (index != null)
+                    results[index] = CreateDevelopers.Result.fail(
+                            memberId, DUPLICATED_MEMBER_ID, DUPLICATED_MEMBER_ID.getMessage());
+            }
+        }
+
+        // 3. batch_size 단위 트랜잭션으로 insert, 중복으로 실패한 chunk 는 한 건씩 다시
+        for (List<Integer> indexes : chunk(new ArrayList<>(candidates.values()), bulk.getBatchSize())) {
+            if (insertDevelopers(requests, indexes, results))
+                continue;
+
+            for (Integer index : indexes) {
+                if (!insertDevelopers(requests, Collections.singletonList(index), results))
+                    results[index] = CreateDevelopers.Result.fail(requests.get(index).getMemberId(),
+                            DUPLICATED_MEMBER_ID, DUPLICATED_MEMBER_ID.getMessage());
+            }
+        }
+
+        int created = (int) Arrays.stream(results).filter(CreateDevelopers.Result::isSuccess).count();
+        return CreateDevelopers.Response.builder()
+                .total(results.length)
+                .created(created)
+                .failed(results.length - created)
+                .results(Arrays.asList(results))
+                .build();
+    }
+
+    // 한 트랜잭션으로 insert + 생성 이벤트, memberId 중복이면 rollback 하고 false
+    private boolean insertDevelopers(List<CreateDeveloper.Request> requests, List<Integer> indexes,
+                                     CreateDevelopers.Result[] results) {
+        List<Developer> developers;
+        try {
+            developers = transactionTemplate.execute(status -> {
+                List<Developer> inserted = indexes.stream()
+                        .map(index -> createDeveloperFromRequest(requests.get(index)))
+                        .collect(Collectors.toList());
+                developerRepository.saveAllAndFlush(inserted);
+                inserted.forEach(this::publishCreated);
+                // open-in-view 처럼 EntityManager 가 chunk 트랜잭션보다 오래 살면 앞 chunk 의 entity 가 남아
+                // 매 flush 마다 dirty checking 대상이 되므로 outbox 까지 flush 한 뒤 비운다
+                entityManager.flush();
+                entityManager.clear();
+                return inserted;
+            });
+        } catch (DataIntegrityViolationException e) {
+            if (isDuplicatedMemberId(e))
+                return false;
+            throw e;
+        }
+
+        for (int i = 0; i < indexes.size(); i++) {
+            results[indexes.get(i)] = CreateDevelopers.Result.success(
+                    CreateDeveloper.Response.fromEntity(developers.get(i)));
+        }
+        return true;
+    }
+
+    private CreateDevelopers.Result validateBulkCreateRequest(CreateDeveloper.Request request,
+                                                              Map<String, Integer> candidates) {
+        if (request == null)
+            return CreateDevelopers.Result.fail(null, INVALID_REQUEST, INVALID_REQUEST.getMessage());
+
+        Set<ConstraintViolation<CreateDeveloper.Request>> violations = validator.validate(request);
+        if (!violations.isEmpty()) {
+            ConstraintViolation<CreateDeveloper.Request> violation = violations.iterator().next();
+            return CreateDevelopers.Result.fail(request.getMemberId(), INVALID_REQUEST,
+                    violation.getPropertyPath() + " " + violation.getMessage());
+        }
+
+        try {
+            validateCreateDeveloperRequest(request);
+        } catch (DMakerException e) {
+            return CreateDevelopers.Result.fail(request.getMemberId(), e.getDMakerErrorCode(), e.getDetailMessage());
+        }
+
+        if (candidates.containsKey(request.getMemberId()))
+            return CreateDevelopers.Result.fail(request.getMemberId(), DUPLICATED_MEMBER_ID, DUPLICATED_MEMBER_ID.getMessage());
+
+        return null;
+    }
+
+    private static <T> List<List<T>> chunk(List<T> list, int size) {
+        List<List<T>> chunks = new ArrayList<>();
+        for (int from = 0; from < list.size(); from += size)
+            chunks.add(list.subList(from, Math.min(from + size, list.size())));
+        return chunks;
+    }
+
+    // 사전 SELECT 없이 memberId unique 제약조건으로 중복 판단 (동시 생성 race 도 DB 가 막아준다)
+    private <T> T translateDuplicatedMemberId(Supplier<T> save) {
+        try {
+            return save.get();
+        } catch (DataIntegrityViolationException e) {
+            if (isDuplicatedMemberId(e))
+                throw DMakerException.stackless(DUPLICATED_MEMBER_ID);
+            throw e;
+        }
+    }
+
+    private boolean isDuplicatedMemberId(DataIntegrityViolationException e) {
+        for (Throwable cause = e.getCause(); cause != null; cause = cause.getCause()) {
+            if (cause instanceof ConstraintViolationException) {
+                String constraintName = ((ConstraintViolationException) cause).getConstraintName();
+                return constraintName != null
+                        && constraintName.toLowerCase().contains(Developer.MEMBER_ID_UNIQUE_CONSTRAINT);
+            }
+        }
+        return false;
     }
 
     @Transactional(readOnly = true)
     public List<DeveloperDto> getAllEmployedDevelopers() {
-        return developerRepository.findDevelopersByStatusCodeEquals(EMPLOYED)
-                .stream().map(DeveloperDto::fromEntity)
-                .collect(Collectors.toList());
+        return developerRepository.findDeveloperDtosByStatusCode(EMPLOYED);
     }
 
     @Transactional(readOnly = true)
+    public DeveloperPageDto getEmployedDevelopersPage(Long cursor, Integer size) {
+        int pageSize = getPageSize(size);
+        List<Developer> developers = developerRepository.findByStatusCodeEqualsAndIdGreaterThanOrderByIdAsc(
+                EMPLOYED, cursor == null ? 0L : cursor, PageRequest.of(0, pageSize));
+
+        return DeveloperPageDto.builder()
+                .developers(developers.stream().map(DeveloperDto::fromEntity)
+                        .collect(Collectors.toList()))
+                .nextCursor(developers.size() < pageSize ? null : developers.get(developers.size() - 1).getId())
+                .build();
+    }
+
+    @Transactional(readOnly = true)
+    public DeveloperSearch.Response searchDevelopers(@NonNull DeveloperSearch.Request request) {
+        validateRange(request.getMinExperienceYears(), request.getMaxExperienceYears());
+        validateRange(request.getMinAge(), request.getMaxAge());
+
+        DeveloperPageDto page = developerRepository.searchDevelopers(request, getPageSize(request.getSize()));
+
+        return DeveloperSearch.Response.builder()
+                .developers(page.getDevelopers())
+                .nextCursor(page.getNextCursor())
+                .totalCount(request.isCount() ? developerRepository.countDevelopers(request) : null)
+                .build();
+    }
+
+    private void validateRange(Integer min, Integer max) {
+        if (min != null && max != null && min > max)
+            throw new DMakerException(INVALID_REQUEST, "최소값이 최대값보다 클 수 없습니다.");
+    }
+
+    // since / id 가 없으면 처음부터 (전체 동기화), 이후에는 응답의 nextSince / nextId 로 이어서 요청
+    // cursor 는 commit 순서가 아니라 updatedAt(flush 시각) 순서라, flush 후 commit 까지 sync.safety-lag 보다 오래 걸린 변경은 빠질 수 있다
+    // (트랜잭션 최대 시간 spring.transaction.default-timeout 을 safety-lag 보다 짧게 둔다)
+    @Transactional(readOnly = true)
+    public DeveloperSyncPageDto getDeveloperChanges(LocalDateTime since, Long id, Integer size) {
+        LocalDateTime from = since == null ? SYNC_EPOCH : since;
+        long afterId = id == null ? 0L : id;
+        LocalDateTime until = LocalDateTime.now().minus(dMakerProperties.getSync().getSafetyLag());
+        int pageSize = getPageSize(size);
+
+        List<DeveloperSyncDto> developers = developerRepository.findChangedDevelopers(
+                from, afterId, until, PageRequest.of(0, pageSize));
+        DeveloperSyncDto last = developers.isEmpty() ? null : developers.get(developers.size() - 1);
+
+        return DeveloperSyncPageDto.builder()
+                .developers(developers)
+                .nextSince(last == null ? from : last.getUpdatedAt())
+                .nextId(last == null ? afterId : last.getId())
+                .hasMore(developers.size() == pageSize)
+                .build();
+    }
+
+    // 전체 목록을 List 로 올리지 않고 한 건씩 consumer 에 넘긴다.
+    // DTO projection 이라 persistence context 에 entity 가 쌓이지 않는다.
+    // client 가 읽는 동안 트랜잭션이 열려 있으므로 default-timeout 대신 bulk.stream-timeout 을 쓴다.
+    public void streamEmployedDevelopers(@NonNull Consumer<DeveloperDto> consumer) {
+        TransactionTemplate streamTransactionTemplate = new TransactionTemplate(transactionTemplate.getTransactionManager());
+        streamTransactionTemplate.setReadOnly(true);
+        streamTransactionTemplate.setTimeout((int) dMakerProperties.getBulk().getStreamTimeout().getSeconds());
+        streamTransactionTemplate.executeWithoutResult(status -> {
+            try (Stream<DeveloperDto> developers = developerRepository.streamDeveloperDtosByStatusCode(EMPLOYED)) {
+                developers.forEach(consumer);
+            }
+        });
+    }
+
+    private int getPageSize(Integer size) {
+        if (size == null) return DEFAULT_PAGE_SIZE;
+        return Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+    }
+
+    // cache hit 이면 트랜잭션(커넥션) 없이 바로 반환, miss 일 때만 repository 의 readOnly 트랜잭션으로 조회
     public DeveloperDetailDto getDeveloperDetail(@NonNull String memberId) {
-        return DeveloperDetailDto.fromEntity(getDeveloperByMemberId(memberId));
+        return developerDetailCache.get(memberId, id ->
+                developerRepository.findDeveloperDetailDtoByMemberId(id)
+                        .orElseThrow(() -> DMakerException.stackless(NO_DEVELOPER)));
+    }
+
+    public CacheStatsDto getDeveloperDetailCacheStats() {
+        return developerDetailCache.getStats();
+    }
+
+    // 메모리 집계만 읽는다 (DB 조회 없음)
+    public DeveloperStatisticsDto getDeveloperStatistics(@NonNull StatusCode statusCode) {
+        return developerStatistics.getStatistics(statusCode);
     }
 
     private Developer getDeveloperByMemberId(String memberId) {
         return developerRepository.findByMemberId(memberId)
-                .orElseThrow(() -> new DMakerException(NO_DEVELOPER));
+                .orElseThrow(() -> DMakerException.stackless(NO_DEVELOPER));
     }
 
     @Transactional
     public DeveloperDetailDto editDeveloper(String memberId, EditDeveloper.Request request) {
+        return editDeveloper(memberId, request, null);
+    }
+
+    // expectedVersions 는 If-Match 로 받은 버전들 (그중 하나와 같으면 수정), null 이면 버전 확인 없이 수정
+    @Transactional
+    public DeveloperDetailDto editDeveloper(String memberId, EditDeveloper.Request request, Set<Long> expectedVersions) {
 
 //        validateDeveloperLevel(request.getDeveloperLevel(), request.getExperienceYears());
         request.getDeveloperLevel().validateExperienceYears(request.getExperienceYears());
@@ -107,7 +377,19 @@ public class DMakerService {
 //        Developer developer = getDeveloperByMemberId(memberId);
 //        setDeveloperFromRequest(request, developer);
 
-        return DeveloperDetailDto.fromEntity(getUpdatedDeveloperFromRequest(request, getDeveloperByMemberId(memberId)));
+        Developer developer = getDeveloperByMemberId(memberId);
+        if (expectedVersions != null && !expectedVersions.contains(developer.getVersion())) {
+            throw DMakerException.stackless(PRECONDITION_FAILED);
+        }
+
+        DeveloperState before = DeveloperState.of(developer);
+        getUpdatedDeveloperFromRequest(request, developer);
+
+        // 조회 이후 다른 트랜잭션이 먼저 수정했다면 여기서 ObjectOptimisticLockingFailureException
+        // flush 해야 응답의 version(ETag) 도 증가된 값이 된다
+        developerRepository.flush();
+        eventPublisher.publishEvent(new DeveloperChangedEvent(memberId, before, DeveloperState.of(developer)));
+        return DeveloperDetailDto.fromEntity(developer);
     }
 
     private Developer getUpdatedDeveloperFromRequest(EditDeveloper.Request request, Developer developer) {
@@ -120,21 +402,79 @@ public class DMakerService {
 
     @Transactional
     public DeveloperDetailDto deleteDeveloper(String memberId) {
-        // 1. EMPLOYED >> RETIRED
-        Developer developer = developerRepository.findByMemberId(memberId)
-                .orElseThrow(() -> new DMakerException(NO_DEVELOPER));
+        // 일괄 퇴사와 같은 경로 : 1. RetiredDeveloper 로 복사 2. EMPLOYED >> RETIRED
+        if (retire(Collections.singletonList(memberId), LocalDateTime.now()).isEmpty())
+            throw DMakerException.stackless(NO_DEVELOPER);
+
+        DeveloperDetailDto developerDetail = developerRepository.findDeveloperDetailDtoByMemberId(memberId)
+                .orElseThrow(() -> DMakerException.stackless(NO_DEVELOPER));
+        publishRetired(memberId, developerDetail.getDeveloperLevel(), developerDetail.getDeveloperSkillType());
+        return developerDetail;
+    }
 
-        developer.setStatusCode(RETIRED);
+    // retireChunkSize 단위로 SELECT ... FOR UPDATE + INSERT ... SELECT + UPDATE, 이 트랜잭션이 퇴사 처리하지 못한 memberId 는 실패로 돌려준다
+    @Transactional
+    public RetireDevelopers.Response retireDevelopers(@NonNull List<String> memberIds) {
+        DMakerProperties.Bulk bulk = dMakerProperties.getBulk();
+        if (memberIds.size() > bulk.getMaxSize())
+            throw new DMakerException(INVALID_REQUEST, "한 번에 최대 " + bulk.getMaxSize() + "명까지 퇴사 처리할 수 있습니다.");
+
+        List<String> candidates = new ArrayList<>(new LinkedHashSet<>(memberIds));
+        List<RetireDevelopers.Failure> failures = new ArrayList<>();
+        LocalDateTime now = LocalDateTime.now();
+        int retired = 0;
+
+        for (List<String> chunk : chunk(candidates, bulk.getRetireChunkSize())) {
+            // 없거나 이미 퇴사했거나, 다른 요청이 먼저 퇴사 처리한 memberId 는 빠진다
+            List<DeveloperDto> retiredDevelopers = retire(chunk, now);
+            Set<String> retiredMemberIds = retiredDevelopers.stream()
+                    .map(DeveloperDto::getMemberId)
+                    .collect(Collectors.toSet());
+            for (String memberId : chunk) {
+                if (!retiredMemberIds.contains(memberId))
+                    failures.add(RetireDevelopers.Failure.noDeveloper(memberId));
+            }
+
+            retired += retiredDevelopers.size();
+            retiredDevelopers.forEach(developer -> publishRetired(developer.getMemberId(),
+                    developer.getDeveloperLevel(), developer.getDeveloperSkillType()));
+        }
 
-        // 2. save into RetiredDeveloper
-        RetiredDeveloper retiredDeveloper = RetiredDeveloper.builder()
-                .memberId(memberId)
-                .name(developer.getName())
+        return RetireDevelopers.Response.builder()
+                .total(candidates.size())
+                .retired(retired)
+                .failed(candidates.size() - retired)
+                .failures(failures)
                 .build();
+    }
 
-        retiredDeveloperRepository.save(retiredDeveloper);
-        return DeveloperDetailDto.fromEntity(developer);
+    // 재직 중인 row 를 잠근 뒤 잠근 memberId 만 retired_developer 로 복사하고 상태를 바꾼다
+    // 퇴사 처리된 개발자의 퇴사 전 level / skill 반환 (집계 이벤트용), 잠근 뒤에 읽으므로 그 사이 수정은 없다
+    // 복사 / 변경 건수가 잠근 건수와 다르면 예외로 트랜잭션 전체를 rollback
+    private List<DeveloperDto> retire(Collection<String> memberIds, LocalDateTime now) {
+        List<String> locked = developerRepository.lockMemberIdsByStatusCode(memberIds, EMPLOYED.name());
+        if (locked.isEmpty())
+            return Collections.emptyList();
+
+        List<DeveloperDto> developers = developerRepository.findDeveloperDtosByMemberIdsAndStatusCode(locked, EMPLOYED);
+        int copied = retiredDeveloperRepository.insertFromDevelopers(locked, EMPLOYED.name(), now);
+        int updated = developerRepository.updateStatusCode(locked, EMPLOYED, RETIRED, now);
+        if (copied != locked.size() || updated != locked.size()) {
+            log.error("retire count mismatch : locked {}, copied {}, updated {}", locked.size(), copied, updated);
+            throw new DMakerException(INTERNAL_SERVER_ERROR);
+        }
+        return developers;
+    }
+
+    private void publishCreated(Developer developer) {
+        eventPublisher.publishEvent(new DeveloperChangedEvent(developer.getMemberId(), null, DeveloperState.of(developer)));
+    }
 
+    // bulk update 라 entity 가 없으므로 level / skill 을 받아서 발행
+    private void publishRetired(String memberId, DeveloperLevel developerLevel, DeveloperSkillType developerSkillType) {
+        eventPublisher.publishEvent(new DeveloperChangedEvent(memberId,
+                new DeveloperState(EMPLOYED, developerLevel, developerSkillType),
+                new DeveloperState(RETIRED, developerLevel, developerSkillType)));
     }
 
     private Developer createDeveloperFromRequest(CreateDeveloper.Request request) {
@@ -153,11 +493,6 @@ public class DMakerService {
         // business validation
 //        validateDeveloperLevel(request.getDeveloperLevel(), request.getExperienceYears());
         request.getDeveloperLevel().validateExperienceYears(request.getExperienceYears());
-
-        developerRepository.findByMemberId(request.getMemberId())
-                .ifPresent((developer -> {
-                    throw new DMakerException(DUPLICATED_MEMBER_ID);
-                }));
     }
 
     private void validateDeveloperLevel(@NonNull DeveloperLevel developerLevel, @NonNull Integer experienceYears) {
@@ -0,0 +1,277 @@
+package com.developers.dmaker.snapshot;
+
+import com.developers.dmaker.cache.DeveloperDetailCache;
+import com.developers.dmaker.cache.DeveloperRosterCache;
+import com.developers.dmaker.config.DMakerProperties;
+import com.developers.dmaker.dto.DeveloperSnapshotDto;
+import com.developers.dmaker.entity.Developer;
+import com.developers.dmaker.entity.RetiredDeveloper;
+import com.developers.dmaker.exception.DMakerException;
+import com.developers.dmaker.repository.DeveloperRepository;
+import com.developers.dmaker.repository.RetiredDeveloperRepository;
+import com.developers.dmaker.stats.DeveloperStatistics;
+import org.hibernate.Cache;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManager;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+import static com.developers.dmaker.exception.DMakerErrorCode.INVALID_REQUEST;
+import static java.nio.file.StandardCopyOption.ATOMIC_MOVE;
+import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
+
+/**
+ * developer / retired_developer 전체를 snapshot 파일로 내보내고 다시 넣는다.
+ * export 는 read-only 트랜잭션의 stream 으로 한 row 씩 읽고, import 는 batch insert 로 넣으므로
+ * 건수와 상관없이 메모리는 buffer 와 batch 크기만큼만 쓴다.
+ */
+@Service
+public class DeveloperSnapshotService {
+
+    // 디렉터리 밖을 가리키지 못하도록 파일 이름만 허용
+    private static final Pattern NAME_PATTERN = Pattern.compile("[A-Za-z0-9][A-Za-z0-9._-]{0,99}");
+
+    // id 는 sequence 로 새로 받는다, pooled optimizer 가 미리 받아 둔 id 와 겹치지 않는다
+    private static final String INSERT_DEVELOPER = "insert into developer (id, developer_level, " +
+            "developer_skill_type, experience_years, member_id, name, age, status_code, created_at, updated_at, version) " +
+            "values (next value for developer_seq, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String INSERT_RETIRED_DEVELOPER = "insert into retired_developer " +
+            "(member_id, name, created_at, updated_at) values (?, ?, ?, ?)";
+
+    private final DeveloperRepository developerRepository;
+    private final RetiredDeveloperRepository retiredDeveloperRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final EntityManager entityManager;
+    private final DeveloperDetailCache developerDetailCache;
+    private final DeveloperRosterCache developerRosterCache;
+    private final DeveloperStatistics developerStatistics;
+    private final TransactionTemplate transactionTemplate;
+    private final TransactionTemplate readOnlyTransactionTemplate;
+    private final Path directory;
+    private final int importBatchSize;
+
+    public DeveloperSnapshotService(DeveloperRepository developerRepository,
+                                    RetiredDeveloperRepository retiredDeveloperRepository,
+                                    JdbcTemplate jdbcTemplate,
+                                    EntityManager entityManager,
+                                    DeveloperDetailCache developerDetailCache,
+                                    DeveloperRosterCache developerRosterCache,
+                                    DeveloperStatistics developerStatistics,
+                                    PlatformTransactionManager transactionManager,
+                                    DMakerProperties dMakerProperties) {
+        this.developerRepository = developerRepository;
+        this.retiredDeveloperRepository = retiredDeveloperRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.entityManager = entityManager;
+        this.developerDetailCache = developerDetailCache;
+        this.developerRosterCache = developerRosterCache;
+        this.developerStatistics = developerStatistics;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        // 큰 snapshot 은 spring.transaction.default-timeout 보다 오래 걸릴 수 있다
+        this.transactionTemplate.setTimeout((int) dMakerProperties.getSnapshot().getImportTimeout().getSeconds());
+        this.readOnlyTransactionTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTransactionTemplate.setReadOnly(true);
+        this.readOnlyTransactionTemplate.setTimeout((int) dMakerProperties.getSnapshot().getExportTimeout().getSeconds());
+        this.directory = Paths.get(dMakerProperties.getSnapshot().getDirectory());
+        this.importBatchSize = dMakerProperties.getSnapshot().getImportBatchSize();
+    }
+
+    // 임시 파일에 다 쓴 뒤 이름을 바꾸므로 중간에 실패해도 반쪽짜리 snapshot 이 남지 않는다
+    public DeveloperSnapshotDto exportSnapshot(String name) {
+        Path path = resolve(name);
+        Path temp = path.resolveSibling(path.getFileName() + ".tmp");
+        long start = System.nanoTime();
+
+        try {
+            Files.createDirectories(directory);
+            long[] counts = readOnlyTransactionTemplate.execute(status -> writeSnapshot(temp));
+            Files.move(temp, path, REPLACE_EXISTING, ATOMIC_MOVE);
+            return result(name, counts, Files.size(path), start);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            deleteQuietly(temp);
+        }
+    }
+
+    private long[] writeSnapshot(Path path) {
+        try (SnapshotWriter writer = SnapshotWriter.open(path)) {
+            try (Stream<Developer> developers = developerRepository.streamAllByOrderByIdAsc()) {
+                Iterator<Developer> iterator = developers.iterator();
+                while (iterator.hasNext()) {
+                    Developer developer = iterator.next();
+                    writer.writeDeveloper(developer);
+                    // 영속성 컨텍스트에 쌓이지 않도록 바로 떼어낸다
+                    entityManager.detach(developer);
+                }
+            }
+            try (Stream<RetiredDeveloper> retiredDevelopers = retiredDeveloperRepository.streamAllByOrderByIdAsc()) {
+                Iterator<RetiredDeveloper> iterator = retiredDevelopers.iterator();
+                while (iterator.hasNext()) {
+                    RetiredDeveloper retiredDeveloper = iterator.next();
+                    writer.writeRetiredDeveloper(retiredDeveloper);
+                    entityManager.detach(retiredDeveloper);
+                }
+            }
+            return new long[]{writer.getDevelopers(), writer.getRetiredDevelopers()};
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * 테이블이 비어 있어야 넣는다. replace 면 기존 row 를 지우고 같은 트랜잭션에서 넣는다.
+     * createdAt 은 snapshot 값을 유지하고 updatedAt 은 import 시각으로 두어 변경분 동기화(/developers/changes)에 잡히게 한다.
+     * import 는 sync.safety-lag 보다 오래 걸릴 수 있으므로 updatedAt 은 다 넣은 뒤 commit 직전 시각으로 다시 찍는다.
+     * outbox 이벤트는 만들지 않는다.
+     */
+    public DeveloperSnapshotDto importSnapshot(String name, boolean replace) {
+        Path path = resolve(name);
+        if (!Files.isRegularFile(path))
+            throw new DMakerException(INVALID_REQUEST, "snapshot 파일이 없습니다 : " + name);
+        long start = System.nanoTime();
+
+        long[] counts;
+        try {
+            counts = transactionTemplate.execute(status -> readSnapshot(path, replace));
+        } catch (IllegalStateException e) {
+            throw new DMakerException(INVALID_REQUEST, "snapshot 파일을 읽을 수 없습니다 : " + e.getMessage());
+        }
+
+        // 여러 개발자가 한 번에 바뀌었으므로 캐시 / 집계를 통째로 다시 만든다
+        developerDetailCache.invalidateAll();
+        developerRosterCache.invalidate();
+        // jdbc 로 넣은 row 는 hibernate 가 모르므로 2nd level / query cache 도 비운다
+        entityManager.getEntityManagerFactory().getCache().unwrap(Cache.class).evictAllRegions();
+        developerStatistics.rebuild();
+
+        try {
+            return result(name, counts, Files.size(path), start);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private long[] readSnapshot(Path path, boolean replace) {
+        prepareTables(replace);
+        SnapshotImport snapshotImport = new SnapshotImport(Timestamp.valueOf(LocalDateTime.now()));
+
+        try (SnapshotReader reader = SnapshotReader.open(path)) {
+            reader.read(snapshotImport::addDeveloper, snapshotImport::addRetiredDeveloper);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        snapshotImport.flush();
+        // 시작 시각 그대로 두면 commit 전에 그 시각을 지나간 sync cursor 가 import 한 row 를 건너뛴다
+        jdbcTemplate.update("update developer set updated_at = ?", Timestamp.valueOf(LocalDateTime.now()));
+        return new long[]{snapshotImport.developers, snapshotImport.retiredDevelopers};
+    }
+
+    private void prepareTables(boolean replace) {
+        if (replace) {
+            jdbcTemplate.update("delete from developer");
+            jdbcTemplate.update("delete from retired_developer");
+            return;
+        }
+
+        Long existing = jdbcTemplate.queryForObject(
+                "select (select count(*) from developer) + (select count(*) from retired_developer)", Long.class);
+        if (existing != null && existing > 0)
+            throw new DMakerException(INVALID_REQUEST, "개발자 데이터가 있어 import 할 수 없습니다. replace=true 로 요청하세요.");
+    }
+
+    private Path resolve(String name) {
+        if (name == null || !NAME_PATTERN.matcher(name).matches())
+            throw new DMakerException(INVALID_REQUEST, "snapshot 이름이 올바르지 않습니다 : " + name);
+        return directory.resolve(name);
+    }
+
+    private static DeveloperSnapshotDto result(String name, long[] counts, long bytes, long start) {
+        return DeveloperSnapshotDto.builder()
+                .name(name)
+                .developers(counts[0])
+                .retiredDevelopers(counts[1])
+                .bytes(bytes)
+                .elapsedMillis(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start))
+                .build();
+    }
+
+    private static void deleteQuietly(Path path) {
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException ignored) {
+        }
+    }
+
+    // importBatchSize 만큼 모아서 batch insert
+    private class SnapshotImport {
+        private final Timestamp importedAt;
+        private final List<Object[]> developerRows = new ArrayList<>(importBatchSize);
+        private final List<Object[]> retiredDeveloperRows = new ArrayList<>(importBatchSize);
+        private long developers;
+        private long retiredDevelopers;
+
+        private SnapshotImport(Timestamp importedAt) {
+            this.importedAt = importedAt;
+        }
+
+        private void addDeveloper(Developer developer) {
+            developerRows.add(new Object[]{
+                    name(developer.getDeveloperLevel()), name(developer.getDeveloperSkillType()),
+                    developer.getExperienceYears(), developer.getMemberId(), developer.getName(), developer.getAge(),
+                    name(developer.getStatusCode()), timestamp(developer.getCreatedAt()), importedAt,
+                    developer.getVersion() == null ? 0L : developer.getVersion()});
+            developers++;
+            if (developerRows.size() >= importBatchSize)
+                flushDevelopers();
+        }
+
+        private void addRetiredDeveloper(RetiredDeveloper retiredDeveloper) {
+            retiredDeveloperRows.add(new Object[]{retiredDeveloper.getMemberId(), retiredDeveloper.getName(),
+                    timestamp(retiredDeveloper.getCreatedAt()), importedAt});
+            retiredDevelopers++;
+            if (retiredDeveloperRows.size() >= importBatchSize)
+                flushRetiredDevelopers();
+        }
+
+        private void flush() {
+            flushDevelopers();
+            flushRetiredDevelopers();
+        }
+
+        private void flushDevelopers() {
+            if (!developerRows.isEmpty())
+                jdbcTemplate.batchUpdate(INSERT_DEVELOPER, developerRows);
+            developerRows.clear();
+        }
+
+        private void flushRetiredDevelopers() {
+            if (!retiredDeveloperRows.isEmpty())
+                jdbcTemplate.batchUpdate(INSERT_RETIRED_DEVELOPER, retiredDeveloperRows);
+            retiredDeveloperRows.clear();
+        }
+
+        private String name(Enum<?> value) {
+            return value == null ? null : value.name();
+        }
+
+        private Timestamp timestamp(LocalDateTime value) {
+            return value == null ? null : Timestamp.valueOf(value);
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package com.developers.dmaker.snapshot;
+
+/**
+ * developer snapshot 파일 구조 (big endian)
+ * <pre>
+ * header  : MAGIC(int) VERSION(byte) + 사전 3개 (DeveloperLevel, DeveloperSkillType, StatusCode)
+ *           사전 = 개수(byte) + 이름(string) 목록, 코드는 목록의 순번
+ * record  : DEVELOPER(byte) + developer row | RETIRED_DEVELOPER(byte) + retired developer row
+ * trailer : END(byte) + developer 건수(long) + retired developer 건수(long)
+ * </pre>
+ * enum 은 사전 코드 1 byte, 문자열은 길이(short) + UTF-8, 날짜는 epoch 초(long) + nano(int).
+ * 값이 없으면 enum -1, 문자열 길이 -1, 숫자 / 날짜는 MIN_VALUE.
+ * id 는 저장하지 않는다. (import 하는 DB 의 sequence 로 새로 받고, 순서만 유지)
+ */
+final class SnapshotFormat {
+
+    static final int MAGIC = 0x444D4B53; // "DMKS"
+    static final byte VERSION = 1;
+
+    static final byte DEVELOPER = 1;
+    static final byte RETIRED_DEVELOPER = 2;
+    static final byte END = 0;
+
+    static final byte NULL_CODE = -1;
+    static final short NULL_LENGTH = -1;
+
+    static final int BUFFER_SIZE = 64 * 1024;
+
+    private SnapshotFormat() {
+    }
+}
@@ -0,0 +1,202 @@
+package com.developers.dmaker.snapshot;
+
+import com.developers.dmaker.code.StatusCode;
+import com.developers.dmaker.entity.Developer;
+import com.developers.dmaker.entity.RetiredDeveloper;
+import com.developers.dmaker.type.DeveloperLevel;
+import com.developers.dmaker.type.DeveloperSkillType;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.function.Consumer;
+
+import static com.developers.dmaker.snapshot.SnapshotFormat.*;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.nio.file.StandardOpenOption.READ;
+
+/**
+ * snapshot 을 앞에서부터 한 row 씩 decode 한다.
+ * enum 은 파일에 적힌 사전의 이름으로 찾으므로 enum 순서가 바뀌어도 읽을 수 있다.
+ */
+final class SnapshotReader implements Closeable {
+
+    private final FileChannel channel;
+    private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+
+    private DeveloperLevel[] levels;
+    private DeveloperSkillType[] skillTypes;
+    private StatusCode[] statusCodes;
+
+    private SnapshotReader(FileChannel channel) {
+        this.channel = channel;
+        buffer.limit(0);
+    }
+
+    static SnapshotReader open(Path path) throws IOException {
+        SnapshotReader reader = new SnapshotReader(FileChannel.open(path, READ));
+        try {
+            reader.readHeader();
+        } catch (IOException | RuntimeException e) {
+            reader.close();
+            throw e;
+        }
+        return reader;
+    }
+
+    private void readHeader() throws IOException {
+        ensure(Integer.BYTES + 1);
+        if (buffer.getInt() != MAGIC)
+            throw new IllegalStateException("not a developer snapshot");
+        byte version = buffer.get();
+        if (version != VERSION)
+            throw new IllegalStateException("unsupported snapshot version : " + version);
+
+        levels = readDictionary(DeveloperLevel.class, new DeveloperLevel[0]);
+        skillTypes = readDictionary(DeveloperSkillType.class, new DeveloperSkillType[0]);
+        statusCodes = readDictionary(StatusCode.class, new StatusCode[0]);
+    }
+
+    private <E extends Enum<E>> E[] readDictionary(Class<E> type, E[] empty) throws IOException {
+        ensure(1);
+        int size = buffer.get() & 0xFF;
+        E[] values = Arrays.copyOf(empty, size);
+        for (int i = 0; i < size; i++) {
+            String name = readString();
+            try {
+                values[i] = Enum.valueOf(type, name);
+            } catch (IllegalArgumentException | NullPointerException e) {
+                throw new IllegalStateException("unknown " + type.getSimpleName() + " : " + name);
+            }
+        }
+        return values;
+    }
+
+    /**
+     * 모든 record 를 순서대로 넘기고 trailer 의 건수와 맞는지 확인한다.
+     * @return 읽은 developer + retired developer 건수
+     */
+    long read(Consumer<Developer> developerConsumer,
+              Consumer<RetiredDeveloper> retiredDeveloperConsumer) throws IOException {
+        long developers = 0;
+        long retiredDevelopers = 0;
+
+        while (true) {
+            ensure(1);
+            byte type = buffer.get();
+            if (type == DEVELOPER) {
+                developerConsumer.accept(readDeveloper());
+                developers++;
+            } else if (type == RETIRED_DEVELOPER) {
+                retiredDeveloperConsumer.accept(readRetiredDeveloper());
+                retiredDevelopers++;
+            } else if (type == END) {
+                ensure(Long.BYTES * 2);
+                if (buffer.getLong() != developers || buffer.getLong() != retiredDevelopers)
+                    throw new IllegalStateException("snapshot row count mismatch");
+                return developers + retiredDevelopers;
+            } else {
+                throw new IllegalStateException("unknown snapshot record : " + type);
+            }
+        }
+    }
+
+    private Developer readDeveloper() throws IOException {
+        return Developer.builder()
+                .developerLevel(decode(levels))
+                .developerSkillType(decode(skillTypes))
+                .experienceYears(readInt())
+                .memberId(readString())
+                .name(readString())
+                .age(readInt())
+                .statusCode(decode(statusCodes))
+                .createdAt(readDateTime())
+                .updatedAt(readDateTime())
+                .version(readLong())
+                .build();
+    }
+
+    private RetiredDeveloper readRetiredDeveloper() throws IOException {
+        return RetiredDeveloper.builder()
+                .memberId(readString())
+                .name(readString())
+                .createdAt(readDateTime())
+                .updatedAt(readDateTime())
+                .build();
+    }
+
+    private <E> E decode(E[] dictionary) throws IOException {
+        ensure(1);
+        byte code = buffer.get();
+        if (code == NULL_CODE)
+            return null;
+        if (code < 0 || code >= dictionary.length)
+            throw new IllegalStateException("unknown dictionary code : " + code);
+        return dictionary[code];
+    }
+
+    private Integer readInt() throws IOException {
+        ensure(Integer.BYTES);
+        int value = buffer.getInt();
+        return value == Integer.MIN_VALUE ? null : value;
+    }
+
+    private Long readLong() throws IOException {
+        ensure(Long.BYTES);
+        long value = buffer.getLong();
+        return value == Long.MIN_VALUE ? null : value;
+    }
+
+    private String readString() throws IOException {
+        ensure(Short.BYTES);
+        short length = buffer.getShort();
+        if (length == NULL_LENGTH)
+            return null;
+        // 손상된 파일이면 음수 / 파일보다 긴 길이가 올 수 있다
+        if (length < NULL_LENGTH || length > remaining())
+            throw new IllegalStateException("invalid string length : " + length);
+
+        ensure(length);
+        byte[] bytes = new byte[length];
+        buffer.get(bytes);
+        return new String(bytes, UTF_8);
+    }
+
+    private LocalDateTime readDateTime() throws IOException {
+        ensure(Long.BYTES);
+        long epochSecond = buffer.getLong();
+        if (epochSecond == Long.MIN_VALUE)
+            return null;
+
+        ensure(Integer.BYTES);
+        return LocalDateTime.ofEpochSecond(epochSecond, buffer.getInt(), ZoneOffset.UTC);
+    }
+
+    // buffer 에 남은 byte + 파일에서 아직 읽지 않은 byte
+    private long remaining() throws IOException {
+        return buffer.remaining() + channel.size() - channel.position();
+    }
+
+    // 남은 byte 가 모자라면 channel 에서 더 채운다
+    private void ensure(int bytes) throws IOException {
+        if (buffer.remaining() >= bytes)
+            return;
+
+        buffer.compact();
+        while (buffer.position() < bytes) {
+            if (channel.read(buffer) < 0)
+                throw new IllegalStateException("truncated snapshot");
+        }
+        buffer.flip();
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+}
@@ -0,0 +1,150 @@
+package com.developers.dmaker.snapshot;
+
+import com.developers.dmaker.code.StatusCode;
+import com.developers.dmaker.entity.Developer;
+import com.developers.dmaker.entity.RetiredDeveloper;
+import com.developers.dmaker.type.DeveloperLevel;
+import com.developers.dmaker.type.DeveloperSkillType;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+import static com.developers.dmaker.snapshot.SnapshotFormat.*;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.nio.file.StandardOpenOption.CREATE;
+import static java.nio.file.StandardOpenOption.TRUNCATE_EXISTING;
+import static java.nio.file.StandardOpenOption.WRITE;
+
+// row 를 고정 크기 buffer 에 encode 하고 찰 때마다 channel 로 내보낸다
+final class SnapshotWriter implements Closeable {
+
+    private final FileChannel channel;
+    private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+
+    private long developers;
+    private long retiredDevelopers;
+
+    private SnapshotWriter(FileChannel channel) {
+        this.channel = channel;
+    }
+
+    static SnapshotWriter open(Path path) throws IOException {
+        SnapshotWriter writer = new SnapshotWriter(FileChannel.open(path, CREATE, TRUNCATE_EXISTING, WRITE));
+        writer.writeHeader();
+        return writer;
+    }
+
+    private void writeHeader() throws IOException {
+        ensure(Integer.BYTES + 1);
+        buffer.putInt(MAGIC).put(VERSION);
+        writeDictionary(DeveloperLevel.values());
+        writeDictionary(DeveloperSkillType.values());
+        writeDictionary(StatusCode.values());
+    }
+
+    private void writeDictionary(Enum<?>[] values) throws IOException {
+        ensure(1);
+        buffer.put((byte) values.length);
+        for (Enum<?> value : values)
+            writeString(value.name());
+    }
+
+    void writeDeveloper(Developer developer) throws IOException {
+        ensure(1);
+        buffer.put(DEVELOPER);
+        writeCode(developer.getDeveloperLevel());
+        writeCode(developer.getDeveloperSkillType());
+        writeInt(developer.getExperienceYears());
+        writeString(developer.getMemberId());
+        writeString(developer.getName());
+        writeInt(developer.getAge());
+        writeCode(developer.getStatusCode());
+        writeDateTime(developer.getCreatedAt());
+        writeDateTime(developer.getUpdatedAt());
+        ensure(Long.BYTES);
+        buffer.putLong(developer.getVersion() == null ? Long.MIN_VALUE : developer.getVersion());
+        developers++;
+    }
+
+    void writeRetiredDeveloper(RetiredDeveloper retiredDeveloper) throws IOException {
+        ensure(1);
+        buffer.put(RETIRED_DEVELOPER);
+        writeString(retiredDeveloper.getMemberId());
+        writeString(retiredDeveloper.getName());
+        writeDateTime(retiredDeveloper.getCreatedAt());
+        writeDateTime(retiredDeveloper.getUpdatedAt());
+        retiredDevelopers++;
+    }
+
+    long getDevelopers() {
+        return developers;
+    }
+
+    long getRetiredDevelopers() {
+        return retiredDevelopers;
+    }
+
+    private void writeCode(Enum<?> value) throws IOException {
+        ensure(1);
+        buffer.put(value == null ? NULL_CODE : (byte) value.ordinal());
+    }
+
+    private void writeInt(Integer value) throws IOException {
+        ensure(Integer.BYTES);
+        buffer.putInt(value == null ? Integer.MIN_VALUE : value);
+    }
+
+    private void writeString(String value) throws IOException {
+        if (value == null) {
+            ensure(Short.BYTES);
+            buffer.putShort(NULL_LENGTH);
+            return;
+        }
+
+        byte[] bytes = value.getBytes(UTF_8);
+        if (bytes.length > Short.MAX_VALUE)
+            throw new IllegalArgumentException("string too long for snapshot : " + bytes.length + " bytes");
+        ensure(Short.BYTES + bytes.length);
+        buffer.putShort((short) bytes.length).put(bytes);
+    }
+
+    private void writeDateTime(LocalDateTime value) throws IOException {
+        if (value == null) {
+            ensure(Long.BYTES);
+            buffer.putLong(Long.MIN_VALUE);
+            return;
+        }
+        ensure(Long.BYTES + Integer.BYTES);
+        buffer.putLong(value.toEpochSecond(ZoneOffset.UTC)).putInt(value.getNano());
+    }
+
+    private void ensure(int bytes) throws IOException {
+        if (buffer.remaining() < bytes)
+            flush();
+    }
+
+    private void flush() throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining())
+            channel.write(buffer);
+        buffer.clear();
+    }
+
+    // trailer 까지 쓰고 디스크에 내린다
+    @Override
+    public void close() throws IOException {
+        try {
+            ensure(1 + Long.BYTES * 2);
+            buffer.put(END).putLong(developers).putLong(retiredDevelopers);
+            flush();
+            channel.force(false);
+        } finally {
+            channel.close();
+        }
+    }
+}
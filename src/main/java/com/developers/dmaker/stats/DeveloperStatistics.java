@@ -0,0 +1,168 @@
+package com.developers.dmaker.stats;
+
+import com.developers.dmaker.code.StatusCode;
+import com.developers.dmaker.config.DMakerProperties;
+import com.developers.dmaker.dto.DeveloperCountDto;
+import com.developers.dmaker.dto.DeveloperStatisticsDto;
+import com.developers.dmaker.event.DeveloperChangedEvent;
+import com.developers.dmaker.event.DeveloperState;
+import com.developers.dmaker.repository.DeveloperRepository;
+import com.developers.dmaker.routing.PrimaryReads;
+import com.developers.dmaker.type.DeveloperLevel;
+import com.developers.dmaker.type.DeveloperSkillType;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.SchedulingConfigurer;
+import org.springframework.scheduling.config.IntervalTask;
+import org.springframework.scheduling.config.ScheduledTaskRegistrar;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * status × level × skill type 별 인원 수를 enum ordinal 로 만든 배열에 들고 있는다.
+ * 기동 시 group by 한 번으로 채우고, 이후에는 commit 된 변경 이벤트로 증감, 조회는 DB 를 타지 않는다.
+ * 이벤트 반영과 group by 사이의 짧은 race 로 생길 수 있는 오차는 주기적인 reconcile 로 맞춘다.
+ * group by 가 도는 동안 반영된 이벤트는 따로 모아 두었다가 교체한 값에 다시 더한다 (교체로 잃어버리지 않게).
+ * 그중 group by 전에 commit 된 변경은 두 번 세어질 수 있지만 다음 reconcile 에서 맞춰진다.
+ */
+@Slf4j
+@Component
+public class DeveloperStatistics implements SchedulingConfigurer {
+
+    private static final StatusCode[] STATUS_CODES = StatusCode.values();
+    private static final DeveloperLevel[] LEVELS = DeveloperLevel.values();
+    private static final DeveloperSkillType[] SKILL_TYPES = DeveloperSkillType.values();
+    private static final int SIZE = STATUS_CODES.length * LEVELS.length * SKILL_TYPES.length;
+
+    private final DeveloperRepository developerRepository;
+    private final Duration reconcileInterval;
+    private final AtomicLongArray counts = new AtomicLongArray(SIZE);
+    // 이벤트 반영은 read lock 으로 동시에, 집계 교체만 write lock 으로 막는다
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    // 집계를 다시 읽는 동안 반영된 증감, 읽는 중이 아니면 null
+    private AtomicLongArray pending;
+
+    public DeveloperStatistics(DeveloperRepository developerRepository, DMakerProperties dMakerProperties) {
+        this.developerRepository = developerRepository;
+        this.reconcileInterval = dMakerProperties.getStatistics().getReconcileInterval();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        reload();
+    }
+
+    public void reconcile() {
+        int drifted = reload();
+        if (drifted > 0)
+            log.warn("developer statistics drifted, reconciled {} cells", drifted);
+    }
+
+    // 읽는 동안 반영된 증감을 더해서 교체, 바뀐 칸 수를 돌려준다
+    private synchronized int reload() {
+        AtomicLongArray applied = new AtomicLongArray(SIZE);
+        withWriteLock(() -> pending = applied);
+
+        long[] actual;
+        try {
+            actual = load();
+        } catch (RuntimeException e) {
+            withWriteLock(() -> pending = null);
+            throw e;
+        }
+
+        int[] drifted = new int[1];
+        withWriteLock(() -> {
+            pending = null;
+            for (int i = 0; i < SIZE; i++) {
+                long count = actual[i] + applied.get(i);
+                if (counts.get(i) != count)
+                    drifted[0]++;
+                counts.set(i, count);
+            }
+        });
+        return drifted[0];
+    }
+
+    @TransactionalEventListener
+    public void onDeveloperChanged(DeveloperChangedEvent event) {
+        DeveloperState before = event.getBefore();
+        DeveloperState after = event.getAfter();
+        if (before != null && before.equals(after))
+            return;
+
+        lock.readLock().lock();
+        try {
+            if (before != null)
+                add(indexOf(before.getStatusCode(), before.getDeveloperLevel(), before.getDeveloperSkillType()), -1);
+            if (after != null)
+                add(indexOf(after.getStatusCode(), after.getDeveloperLevel(), after.getDeveloperSkillType()), 1);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void add(int index, long delta) {
+        counts.addAndGet(index, delta);
+        AtomicLongArray applied = pending;
+        if (applied != null)
+            applied.addAndGet(index, delta);
+    }
+
+    public DeveloperStatisticsDto getStatistics(StatusCode statusCode) {
+        Map<DeveloperLevel, Map<DeveloperSkillType, Long>> byLevel = new EnumMap<>(DeveloperLevel.class);
+        long total = 0;
+
+        for (DeveloperLevel level : LEVELS) {
+            Map<DeveloperSkillType, Long> bySkillType = new EnumMap<>(DeveloperSkillType.class);
+            for (DeveloperSkillType skillType : SKILL_TYPES) {
+                long count = counts.get(indexOf(statusCode, level, skillType));
+                bySkillType.put(skillType, count);
+                total += count;
+            }
+            byLevel.put(level, bySkillType);
+        }
+
+        return DeveloperStatisticsDto.builder()
+                .statusCode(statusCode)
+                .total(total)
+                .counts(byLevel)
+                .build();
+    }
+
+    @Override
+    public void configureTasks(ScheduledTaskRegistrar taskRegistrar) {
+        long intervalMillis = reconcileInterval.toMillis();
+        taskRegistrar.addFixedDelayTask(new IntervalTask(this::reconcile, intervalMillis, intervalMillis));
+    }
+
+    // 이벤트로 맞춰온 집계를 덮어쓰므로 replica 의 늦은 값이 아니라 primary 에서 읽는다
+    private long[] load() {
+        long[] loaded = new long[SIZE];
+        for (DeveloperCountDto count : PrimaryReads.call(developerRepository::countGroupByStatusCodeAndLevelAndSkillType)) {
+            loaded[indexOf(count.getStatusCode(), count.getDeveloperLevel(), count.getDeveloperSkillType())] = count.getCount();
+        }
+        return loaded;
+    }
+
+    private void withWriteLock(Runnable action) {
+        lock.writeLock().lock();
+        try {
+            action.run();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private static int indexOf(StatusCode statusCode, DeveloperLevel level, DeveloperSkillType skillType) {
+        return (statusCode.ordinal() * LEVELS.length + level.ordinal()) * SKILL_TYPES.length + skillType.ordinal();
+    }
+}
@@ -4,8 +4,10 @@ import com.developers.dmaker.exception.DMakerException;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 
-import java.util.function.Function;
+import java.util.*;
+import java.util.function.IntPredicate;
 
+import static com.developers.dmaker.constant.DMakerConstant.MAX_EXPERIENCE_YEARS;
 import static com.developers.dmaker.constant.DMakerConstant.MAX_JUNIOR_EXPERIENCE_YEARS;
 import static com.developers.dmaker.constant.DMakerConstant.MIN_SENIOR_EXPERIENCE_YEARS;
 import static com.developers.dmaker.exception.DMakerErrorCode.LEVEL_EXPERIENCE_YEARS_NOT_MATCED;
@@ -20,10 +22,47 @@ public enum DeveloperLevel {
     ;
 
     private final String description;
-    private final Function<Integer, Boolean> validateFunction;
+    // primitive int 를 받아서 boxing 없이 검사
+    private final IntPredicate validateFunction;
 
-    public void validateExperienceYears(Integer years) {
-        if(!validateFunction.apply(years))
-            throw new DMakerException(LEVEL_EXPERIENCE_YEARS_NOT_MATCED);
+    // 0 ~ MAX_EXPERIENCE_YEARS 연차별 검사 결과를 미리 계산해 둔 표
+    private static final boolean[][] MATCHED_BY_LEVEL = new boolean[values().length][MAX_EXPERIENCE_YEARS + 1];
+    private static final List<Set<DeveloperLevel>> LEVELS_BY_YEARS = new ArrayList<>(MAX_EXPERIENCE_YEARS + 1);
+
+    static {
+        for (int years = 0; years <= MAX_EXPERIENCE_YEARS; years++) {
+            EnumSet<DeveloperLevel> levels = EnumSet.noneOf(DeveloperLevel.class);
+            for (DeveloperLevel level : values()) {
+                MATCHED_BY_LEVEL[level.ordinal()][years] = level.validateFunction.test(years);
+                if (MATCHED_BY_LEVEL[level.ordinal()][years])
+                    levels.add(level);
+            }
+            LEVELS_BY_YEARS.add(Collections.unmodifiableSet(levels));
+        }
+    }
+
+    public boolean isMatched(int years) {
+        if (years < 0 || years > MAX_EXPERIENCE_YEARS)
+            return validateFunction.test(years);
+        return MATCHED_BY_LEVEL[ordinal()][years];
+    }
+
+    // 레벨 불일치는 예상 가능한 business 실패라 stack trace 없는 예외를 재사용
+    public void validateExperienceYears(int years) {
+        if (!isMatched(years))
+            throw DMakerException.stackless(LEVEL_EXPERIENCE_YEARS_NOT_MATCED);
+    }
+
+    // 해당 연차에 허용되는 레벨 목록, 표 범위 안이면 O(1)
+    public static Set<DeveloperLevel> levelsOf(int years) {
+        if (years >= 0 && years <= MAX_EXPERIENCE_YEARS)
+            return LEVELS_BY_YEARS.get(years);
+
+        EnumSet<DeveloperLevel> levels = EnumSet.noneOf(DeveloperLevel.class);
+        for (DeveloperLevel level : values()) {
+            if (level.validateFunction.test(years))
+                levels.add(level);
+        }
+        return Collections.unmodifiableSet(levels);
     }
 }
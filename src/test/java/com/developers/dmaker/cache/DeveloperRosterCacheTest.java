@@ -0,0 +1,72 @@
+package com.developers.dmaker.cache;
+
+import com.developers.dmaker.config.DMakerProperties;
+import com.developers.dmaker.service.DMakerService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.Collections;
+
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.then;
+import static org.mockito.Mockito.times;
+
+@ExtendWith(MockitoExtension.class)
+class DeveloperRosterCacheTest {
+
+    @Mock
+    private DMakerService dMakerService;
+
+    @Test
+    void rosterIsReusedUntilInvalidated() {
+        DeveloperRosterCache rosterCache = rosterCache(Duration.ofMinutes(1));
+        given(dMakerService.getAllEmployedDevelopers()).willReturn(Collections.emptyList());
+
+        DeveloperRosterCache.Roster first = rosterCache.get();
+        assertSame(first, rosterCache.get());
+
+        rosterCache.invalidate();
+        assertNull(rosterCache.getIfPresent());
+        rosterCache.get();
+        then(dMakerService).should(times(2)).getAllEmployedDevelopers();
+    }
+
+    @Test
+    void rosterBuiltAcrossInvalidateIsNotStored() {
+        DeveloperRosterCache rosterCache = rosterCache(Duration.ofMinutes(1));
+        // 목록을 읽는 도중에 변경이 commit 되어 invalidate 된 경우
+        given(dMakerService.getAllEmployedDevelopers()).willAnswer(invocation -> {
+            rosterCache.invalidate();
+            return Collections.emptyList();
+        });
+
+        assertNotNull(rosterCache.get());
+        assertNull(rosterCache.getIfPresent());
+    }
+
+    @Test
+    void expiredRosterIsRebuilt() throws InterruptedException {
+        DeveloperRosterCache rosterCache = rosterCache(Duration.ofMillis(1));
+        given(dMakerService.getAllEmployedDevelopers()).willReturn(Collections.emptyList());
+
+        rosterCache.get();
+        Thread.sleep(10);
+
+        assertNull(rosterCache.getIfPresent());
+        rosterCache.get();
+        then(dMakerService).should(times(2)).getAllEmployedDevelopers();
+    }
+
+    private DeveloperRosterCache rosterCache(Duration ttl) {
+        DMakerProperties properties = new DMakerProperties();
+        properties.getRosterCache().setTtl(ttl);
+        return new DeveloperRosterCache(dMakerService, new ObjectMapper(), properties);
+    }
+}
@@ -0,0 +1,107 @@
+package com.developers.dmaker.cache;
+
+import com.developers.dmaker.config.DMakerProperties;
+import com.developers.dmaker.dto.CreateDeveloper;
+import com.developers.dmaker.exception.DMakerException;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.developers.dmaker.exception.DMakerErrorCode.DUPLICATED_MEMBER_ID;
+import static com.developers.dmaker.exception.DMakerErrorCode.IDEMPOTENCY_KEY_REUSED;
+import static com.developers.dmaker.type.DeveloperLevel.SENIOR;
+import static com.developers.dmaker.type.DeveloperSkillType.BACK_END;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class IdempotencyCacheTest {
+
+    private static final String CLIENT = "client-1";
+
+    private final IdempotencyCache idempotencyCache = new IdempotencyCache(new DMakerProperties());
+    private final AtomicInteger executions = new AtomicInteger();
+
+    @Test
+    void retryReplaysFirstResponse() {
+        CreateDeveloper.Response first = IdempotencyCache.join(
+                idempotencyCache.execute(CLIENT, "key-1", request("memberId"), this::create));
+        CreateDeveloper.Response retried = IdempotencyCache.join(
+                idempotencyCache.execute(CLIENT, "key-1", request("memberId"), this::create));
+
+        assertSame(first, retried);
+        assertEquals(1, executions.get());
+    }
+
+    @Test
+    void concurrentRetryWaitsForInFlightRequest() {
+        // 첫 요청이 아직 처리 중
+        CompletableFuture<CreateDeveloper.Response> inFlight = new CompletableFuture<>();
+        CompletableFuture<CreateDeveloper.Response> first =
+                idempotencyCache.execute(CLIENT, "key-1", request("memberId"), () -> inFlight);
+        CompletableFuture<CreateDeveloper.Response> retried =
+                idempotencyCache.execute(CLIENT, "key-1", request("memberId"), this::create);
+
+        assertFalse(retried.isDone());
+        inFlight.complete(CreateDeveloper.Response.builder().memberId("memberId").build());
+
+        assertSame(first.join(), retried.join());
+        assertEquals(0, executions.get());
+    }
+
+    @Test
+    void reusedKeyWithDifferentRequestIsRejected() {
+        IdempotencyCache.join(idempotencyCache.execute(CLIENT, "key-1", request("memberId"), this::create));
+
+        DMakerException exception = assertThrows(DMakerException.class,
+                () -> idempotencyCache.execute(CLIENT, "key-1", request("otherMemberId"), this::create));
+
+        assertEquals(IDEMPOTENCY_KEY_REUSED, exception.getDMakerErrorCode());
+    }
+
+    @Test
+    void keysAreScopedPerClient() {
+        IdempotencyCache.join(idempotencyCache.execute(CLIENT, "key-1", request("memberId"), this::create));
+        // 다른 클라이언트가 같은 key 를 써도 재생되거나 거절되지 않는다
+        IdempotencyCache.join(idempotencyCache.execute("client-2", "key-1", request("otherMemberId"), this::create));
+
+        assertEquals(2, executions.get());
+    }
+
+    @Test
+    void failureIsNotCached() {
+        assertThrows(DMakerException.class, () -> idempotencyCache.execute(CLIENT, "key-1", request("memberId"), () -> {
+            throw new DMakerException(DUPLICATED_MEMBER_ID);
+        }));
+
+        IdempotencyCache.join(idempotencyCache.execute(CLIENT, "key-1", request("memberId"), this::create));
+
+        assertEquals(1, executions.get());
+    }
+
+    @Test
+    void requestWithoutKeyAlwaysExecutes() {
+        IdempotencyCache.join(idempotencyCache.execute(CLIENT, null, request("memberId"), this::create));
+        IdempotencyCache.join(idempotencyCache.execute(CLIENT, null, request("memberId"), this::create));
+
+        assertEquals(2, executions.get());
+    }
+
+    private CompletableFuture<CreateDeveloper.Response> create() {
+        executions.incrementAndGet();
+        return CompletableFuture.completedFuture(CreateDeveloper.Response.builder().memberId("memberId").build());
+    }
+
+    private static CreateDeveloper.Request request(String memberId) {
+        return CreateDeveloper.Request.builder()
+                .developerLevel(SENIOR)
+                .developerSkillType(BACK_END)
+                .experienceYears(12)
+                .memberId(memberId)
+                .name("name")
+                .age(35)
+                .build();
+    }
+}
@@ -0,0 +1,86 @@
+package com.developers.dmaker.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.orm.jpa.JpaProperties;
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ProductionSettingsValidatorTest {
+
+    // 커넥션을 열지 않으므로 pool 은 시작되지 않는다
+    private final HikariDataSource dataSource = new HikariDataSource();
+    private final JpaProperties jpaProperties = new JpaProperties();
+    private final DMakerProperties dMakerProperties = new DMakerProperties();
+    private final JpaTransactionManager transactionManager = new JpaTransactionManager();
+
+    @BeforeEach
+    void setUp() {
+        dataSource.setMaximumPoolSize(10);
+        dataSource.setAutoCommit(false);
+
+        jpaProperties.setOpenInView(false);
+        Map<String, String> hibernate = jpaProperties.getProperties();
+        hibernate.put("hibernate.connection.provider_disables_autocommit", "true");
+        hibernate.put("hibernate.jdbc.batch_size", "50");
+        hibernate.put("hibernate.order_inserts", "true");
+        hibernate.put("hibernate.order_updates", "true");
+        hibernate.put("hibernate.default_batch_fetch_size", "100");
+        hibernate.put("hibernate.query.plan_cache_max_size", "4096");
+        hibernate.put("hibernate.query.in_clause_parameter_padding", "true");
+
+        transactionManager.setDefaultTimeout(30);
+    }
+
+    @Test
+    void validSettings() {
+        assertTrue(validator().validate().isEmpty());
+    }
+
+    @Test
+    void autoCommitMismatch() {
+        // pool 은 auto-commit 인데 Hibernate 는 이미 꺼져 있다고 가정하는 경우
+        dataSource.setAutoCommit(true);
+
+        List<String> violations = validator().validate();
+
+        assertEquals(1, violations.size());
+        assertThrows(IllegalStateException.class, () -> validator().afterPropertiesSet());
+    }
+
+    @Test
+    void poolSmallerThanJdbcExecutor() {
+        dataSource.setMaximumPoolSize(dMakerProperties.getAsync().getJdbcPoolSize() - 1);
+
+        assertEquals(1, validator().validate().size());
+    }
+
+    @Test
+    void safetyLagNotLongerThanTransactionTimeout() {
+        // 60초 걸리는 트랜잭션이 flush 한 row 는 5초 lag 로는 cursor 에 잡히지 않을 수 있다
+        transactionManager.setDefaultTimeout(60);
+        dMakerProperties.getSync().setSafetyLag(Duration.ofSeconds(5));
+
+        assertEquals(1, validator().validate().size());
+    }
+
+    @Test
+    void transactionTimeoutMissing() {
+        transactionManager.setDefaultTimeout(TransactionDefinition.TIMEOUT_DEFAULT);
+
+        assertEquals(1, validator().validate().size());
+    }
+
+    private ProductionSettingsValidator validator() {
+        return new ProductionSettingsValidator(dataSource, jpaProperties, dMakerProperties, transactionManager);
+    }
+}
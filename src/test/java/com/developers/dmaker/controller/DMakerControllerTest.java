@@ -1,27 +1,58 @@
 package com.developers.dmaker.controller;
 
+import com.developers.dmaker.cache.DeveloperRosterCache;
+import com.developers.dmaker.cache.IdempotencyCache;
+import com.developers.dmaker.dto.DeveloperDetailDto;
 import com.developers.dmaker.dto.DeveloperDto;
+import com.developers.dmaker.dto.EditDeveloper;
+import com.developers.dmaker.exception.DMakerException;
+import com.developers.dmaker.exception.RetryLaterException;
+import com.developers.dmaker.outbox.DeveloperEventFeed;
+import com.developers.dmaker.ratelimit.ClientResolver;
+import com.developers.dmaker.ratelimit.LoadShedder;
+import com.developers.dmaker.ratelimit.RateLimiter;
 import com.developers.dmaker.service.DMakerService;
+import com.developers.dmaker.snapshot.DeveloperSnapshotService;
 import com.developers.dmaker.type.DeveloperLevel;
 import com.developers.dmaker.type.DeveloperSkillType;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 
 import java.nio.charset.StandardCharsets;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.Set;
 
+import static com.developers.dmaker.exception.DMakerErrorCode.INVALID_REQUEST;
+import static com.developers.dmaker.exception.DMakerErrorCode.NO_DEVELOPER;
+import static com.developers.dmaker.exception.DMakerErrorCode.PRECONDITION_FAILED;
+import static com.developers.dmaker.exception.DMakerErrorCode.TOO_MANY_REQUESTS;
+import static org.hamcrest.CoreMatchers.containsString;
 import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.then;
+import static org.mockito.BDDMockito.willThrow;
+import static org.mockito.Mockito.times;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
 import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @WebMvcTest(DMakerController.class)
+@Import({DeveloperRosterCache.class, ClientResolver.class})
 class DMakerControllerTest {
 
     @Autowired
@@ -30,6 +61,21 @@ class DMakerControllerTest {
     @MockBean
     private DMakerService dMakerService;
 
+    @MockBean
+    private DeveloperEventFeed developerEventFeed;
+
+    @MockBean
+    private DeveloperSnapshotService developerSnapshotService;
+
+    @MockBean
+    private IdempotencyCache idempotencyCache;
+
+    @MockBean
+    private RateLimiter rateLimiter;
+
+    @MockBean
+    private LoadShedder loadShedder;
+
     protected MediaType contentType = new MediaType(MediaType.APPLICATION_JSON.getType(),
             MediaType.APPLICATION_JSON.getSubtype(),
             StandardCharsets.UTF_8);
@@ -71,4 +117,138 @@ class DMakerControllerTest {
                                 is(DeveloperLevel.SENIOR.name()))
                 );
     }
-}
\ No newline at end of file
+
+    @Test
+    void developersAreCachedAndRevalidatedWithETag() throws Exception {
+        given(dMakerService.getAllEmployedDevelopers())
+                .willReturn(Collections.singletonList(DeveloperDto.builder()
+                        .developerSkillType(DeveloperSkillType.BACK_END)
+                        .developerLevel(DeveloperLevel.JUNIOR)
+                        .memberId("memberId1").build()));
+
+        String eTag = mockMvc.perform(get("/developers"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(get("/developers").header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isNotModified());
+
+        // 압축 응답은 다른 ETag 를 쓴다
+        mockMvc.perform(get("/developers").header(HttpHeaders.ACCEPT_ENCODING, "gzip, deflate"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "gzip"))
+                .andExpect(header().string(HttpHeaders.ETAG, not(eTag)));
+
+        // 목록은 한 번만 조회 / 직렬화
+        then(dMakerService).should(times(1)).getAllEmployedDevelopers();
+    }
+
+    @Test
+    void malformedAcceptEncodingQualityGetsUncompressedDevelopers() throws Exception {
+        given(dMakerService.getAllEmployedDevelopers())
+                .willReturn(Collections.singletonList(DeveloperDto.builder()
+                        .developerSkillType(DeveloperSkillType.BACK_END)
+                        .developerLevel(DeveloperLevel.JUNIOR)
+                        .memberId("memberId1").build()));
+
+        // 읽을 수 없는 q 는 500 대신 gzip 을 받지 않는 것으로 본다
+        mockMvc.perform(get("/developers").header(HttpHeaders.ACCEPT_ENCODING, "gzip;q=abc"))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(HttpHeaders.CONTENT_ENCODING))
+                .andExpect(jsonPath("$.[0].memberId", is("memberId1")));
+    }
+
+    @Test
+    void rateLimitedRequestGets429WithRetryAfter() throws Exception {
+        willThrow(new RetryLaterException(TOO_MANY_REQUESTS, 3))
+                .given(rateLimiter).acquire(anyString(), eq("GET /developers"));
+
+        mockMvc.perform(get("/developers").contentType(contentType))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().string(HttpHeaders.RETRY_AFTER, "3"))
+                .andExpect(jsonPath("$.errorCode", is(TOO_MANY_REQUESTS.name())));
+    }
+
+    @Test
+    void missingDeveloperGets404() throws Exception {
+        given(dMakerService.getDeveloperDetail("memberId1"))
+                .willThrow(DMakerException.stackless(NO_DEVELOPER));
+
+        mockMvc.perform(get("/developer/memberId1").contentType(contentType))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.errorCode", is(NO_DEVELOPER.name())))
+                .andExpect(jsonPath("$.errorMessage", is(NO_DEVELOPER.getMessage())));
+    }
+
+    @Test
+    void editAcceptsIfMatchList() throws Exception {
+        // If-Match 는 strong 비교 : weak tag 와 버전이 아닌 tag 는 맞지 않는 것으로 빠진다
+        given(dMakerService.editDeveloper(eq("memberId1"), any(EditDeveloper.Request.class), eq(Set.of(3L, 5L))))
+                .willReturn(DeveloperDetailDto.builder().memberId("memberId1").version(6L).build());
+
+        mockMvc.perform(put("/developer/memberId1")
+                        .contentType(contentType)
+                        .header(HttpHeaders.IF_MATCH, "\"3\", W/\"4\", \"abc\", \"5\"")
+                        .content("{\"developerLevel\":\"SENIOR\",\"developerSkillType\":\"BACK_END\",\"experienceYears\":12}"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"6\""));
+
+        // * 이면 버전 확인 없이
+        mockMvc.perform(put("/developer/memberId1")
+                        .contentType(contentType)
+                        .header(HttpHeaders.IF_MATCH, "*")
+                        .content("{\"developerLevel\":\"SENIOR\",\"developerSkillType\":\"BACK_END\",\"experienceYears\":12}"))
+                .andExpect(status().isOk());
+        then(dMakerService).should().editDeveloper(eq("memberId1"), any(EditDeveloper.Request.class), isNull());
+    }
+
+    @Test
+    void weakOrInvalidIfMatchGets412() throws Exception {
+        // 맞을 수 있는 tag 가 없으면 빈 목록으로 넘어가 서비스가 412
+        given(dMakerService.editDeveloper(eq("memberId1"), any(EditDeveloper.Request.class), eq(Set.of())))
+                .willThrow(DMakerException.stackless(PRECONDITION_FAILED));
+
+        mockMvc.perform(put("/developer/memberId1")
+                        .contentType(contentType)
+                        .header(HttpHeaders.IF_MATCH, "W/\"3\", \"abc\"")
+                        .content("{\"developerLevel\":\"SENIOR\",\"developerSkillType\":\"BACK_END\",\"experienceYears\":12}"))
+                .andExpect(status().isPreconditionFailed())
+                .andExpect(jsonPath("$.errorCode", is(PRECONDITION_FAILED.name())));
+    }
+
+    @Test
+    void invalidRequestGets400() throws Exception {
+        mockMvc.perform(get("/developers/page?size=abc").contentType(contentType))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.errorCode", is(INVALID_REQUEST.name())));
+    }
+
+    @Test
+    void unsupportedMethodGets405WithAllow() throws Exception {
+        mockMvc.perform(put("/developers/statistics").contentType(contentType))
+                .andExpect(status().isMethodNotAllowed())
+                .andExpect(header().string(HttpHeaders.ALLOW, containsString("GET")))
+                .andExpect(jsonPath("$.errorCode", is(INVALID_REQUEST.name())));
+    }
+
+    @Test
+    void unsupportedContentTypeGets415() throws Exception {
+        mockMvc.perform(put("/developer/memberId1")
+                        .contentType(MediaType.TEXT_PLAIN)
+                        .content("SENIOR"))
+                .andExpect(status().isUnsupportedMediaType())
+                .andExpect(header().string(HttpHeaders.ACCEPT, containsString(MediaType.APPLICATION_JSON_VALUE)))
+                .andExpect(jsonPath("$.errorCode", is(INVALID_REQUEST.name())));
+    }
+
+    @Test
+    void unacceptableAcceptGets406() throws Exception {
+        given(dMakerService.getDeveloperDetail("memberId1"))
+                .willReturn(DeveloperDetailDto.builder().memberId("memberId1").version(1L).build());
+
+        mockMvc.perform(get("/developer/memberId1").accept(MediaType.APPLICATION_XML))
+                .andExpect(status().isNotAcceptable())
+                .andExpect(jsonPath("$.errorCode", is(INVALID_REQUEST.name())));
+    }
+}
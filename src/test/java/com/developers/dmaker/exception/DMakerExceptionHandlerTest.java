@@ -0,0 +1,31 @@
+package com.developers.dmaker.exception;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.web.HttpMediaTypeNotAcceptableException;
+import org.springframework.web.HttpMediaTypeNotSupportedException;
+import org.springframework.web.bind.MissingPathVariableException;
+import org.springframework.web.bind.MissingRequestHeaderException;
+import org.springframework.web.method.annotation.ExceptionHandlerMethodResolver;
+
+import java.lang.reflect.Method;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+// 클라이언트 잘못인 spring MVC 예외가 500 (Exception handler) 으로 빠지지 않는지 확인
+class DMakerExceptionHandlerTest {
+
+    private final ExceptionHandlerMethodResolver resolver = new ExceptionHandlerMethodResolver(DMakerExceptionHandler.class);
+
+    @Test
+    void clientErrorsAreNotHandledAsServerErrors() {
+        assertEquals("handleMediaTypeNotSupported", handlerOf(HttpMediaTypeNotSupportedException.class));
+        assertEquals("handleMediaTypeNotAcceptable", handlerOf(HttpMediaTypeNotAcceptableException.class));
+        assertEquals("handelBadRequest", handlerOf(MissingRequestHeaderException.class));
+        assertEquals("handelBadRequest", handlerOf(MissingPathVariableException.class));
+    }
+
+    private String handlerOf(Class<? extends Throwable> exceptionType) {
+        Method method = resolver.resolveMethodByExceptionType(exceptionType);
+        return method.getName();
+    }
+}
@@ -0,0 +1,27 @@
+package com.developers.dmaker.exception;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static com.developers.dmaker.exception.DMakerErrorCode.INVALID_REQUEST;
+import static com.developers.dmaker.exception.DMakerErrorCode.NO_DEVELOPER;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class ErrorLogThrottleTest {
+
+    @Test
+    void logsOncePerIntervalAndCountsSuppressed() throws InterruptedException {
+        ErrorLogThrottle throttle = new ErrorLogThrottle(Duration.ofMillis(50));
+
+        assertEquals(0, throttle.tryAcquire(NO_DEVELOPER));
+        for (int i = 0; i < 5; i++)
+            assertEquals(-1, throttle.tryAcquire(NO_DEVELOPER));
+        // errorCode 별로 따로 센다
+        assertEquals(0, throttle.tryAcquire(INVALID_REQUEST));
+
+        Thread.sleep(60);
+
+        assertEquals(5, throttle.tryAcquire(NO_DEVELOPER));
+    }
+}
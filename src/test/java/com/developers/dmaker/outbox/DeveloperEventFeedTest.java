@@ -0,0 +1,45 @@
+package com.developers.dmaker.outbox;
+
+import com.developers.dmaker.dto.DeveloperEventDto;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class DeveloperEventFeedTest {
+
+    // offset 6 ~ 9 batch
+    private final List<DeveloperEventDto> published = Arrays.asList(event(6), event(7), event(8), event(9));
+
+    @Test
+    void afterReturnsEventsContinuingFromOffset() {
+        assertEquals(Arrays.asList(6L, 7L, 8L, 9L), offsets(DeveloperEventFeed.after(published, 5, null)));
+        assertEquals(Arrays.asList(8L, 9L), offsets(DeveloperEventFeed.after(published, 7, null)));
+        assertEquals(Arrays.asList(8L), offsets(DeveloperEventFeed.after(published, 7, 1)));
+    }
+
+    @Test
+    void afterReturnsEmptyWhenAlreadyReceived() {
+        assertTrue(DeveloperEventFeed.after(published, 9, null).isEmpty());
+        assertTrue(DeveloperEventFeed.after(published, 12, null).isEmpty());
+    }
+
+    @Test
+    void afterReturnsNullWhenBatchDoesNotContinueOffset() {
+        // offset 4, 5 는 이 batch 에 없으므로 DB 에서 다시 읽어야 한다
+        assertNull(DeveloperEventFeed.after(published, 3, null));
+    }
+
+    private static DeveloperEventDto event(long offset) {
+        return DeveloperEventDto.builder().offset(offset).memberId("member" + offset).build();
+    }
+
+    private static List<Long> offsets(List<DeveloperEventDto> events) {
+        return events.stream().map(DeveloperEventDto::getOffset).collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,160 @@
+package com.developers.dmaker.outbox;
+
+import com.developers.dmaker.config.DMakerProperties;
+import com.developers.dmaker.dto.DeveloperEventDto;
+import com.developers.dmaker.entity.DeveloperOutbox;
+import com.developers.dmaker.entity.DeveloperOutboxCursor;
+import com.developers.dmaker.repository.DeveloperOutboxCursorRepository;
+import com.developers.dmaker.repository.DeveloperOutboxRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+
+import static com.developers.dmaker.code.DeveloperEventType.CREATED;
+import static com.developers.dmaker.code.DeveloperEventType.RETIRED;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.willThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class OutboxRelayTest {
+
+    @Mock
+    private DeveloperOutboxRepository developerOutboxRepository;
+
+    @Mock
+    private DeveloperOutboxCursorRepository developerOutboxCursorRepository;
+
+    @Mock
+    private OutboxSink outboxSink;
+
+    @Mock
+    private DeveloperEventFeed developerEventFeed;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private OutboxRelay outboxRelay;
+
+    private final DeveloperOutbox created = DeveloperOutbox.builder().id(11L).eventType(CREATED).memberId("member1").build();
+    private final DeveloperOutbox retired = DeveloperOutbox.builder().id(12L).eventType(RETIRED).memberId("member2").build();
+    private final DeveloperOutboxCursor cursor = new DeveloperOutboxCursor(DeveloperOutboxCursor.ID, 5L);
+
+    @BeforeEach
+    void setUp() {
+        outboxRelay = new OutboxRelay(developerOutboxRepository, developerOutboxCursorRepository, outboxSink,
+                developerEventFeed, transactionManager, new DMakerProperties());
+    }
+
+    @Test
+    void relayAssignsOffsetsInIdOrder() throws Exception {
+        // 1. given
+        givenCursorLockedAndTwoOutboxes();
+
+        // 2. when
+        outboxRelay.relay();
+
+        // 3. then
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<DeveloperEventDto>> captor = ArgumentCaptor.forClass(List.class);
+        verify(outboxSink, times(1)).publish(captor.capture());
+        assertEquals(6L, captor.getValue().get(0).getOffset());
+        assertEquals(7L, captor.getValue().get(1).getOffset());
+        assertEquals(7L, retired.getPublishedOffset());
+        assertEquals(7L, cursor.getLastOffset());
+        // 구독자에게는 commit 된 batch 를 그대로 넘긴다
+        verify(developerEventFeed, times(1)).published(captor.getValue());
+    }
+
+    @Test
+    void relaySkipsWhileAnotherInstanceHoldsCursor() throws Exception {
+        // 1. given
+        // SKIP LOCKED 로 잠그지 못함
+        given(developerOutboxCursorRepository.existsById(DeveloperOutboxCursor.ID))
+                .willReturn(true);
+        given(developerOutboxCursorRepository.findByIdSkipLocked(DeveloperOutboxCursor.ID))
+                .willReturn(Optional.empty());
+
+        // 2. when
+        outboxRelay.relay();
+
+        // 3. then
+        verify(developerOutboxRepository, never()).findByPublishedOffsetIsNullOrderByIdAsc(any());
+        verify(outboxSink, never()).publish(anyList());
+        verify(developerEventFeed, never()).published(anyList());
+    }
+
+    @Test
+    void relayCreatesCursorAfterExistingOffsets() {
+        // 1. given
+        given(developerOutboxCursorRepository.existsById(DeveloperOutboxCursor.ID))
+                .willReturn(false);
+        given(developerOutboxRepository.findMaxPublishedOffset())
+                .willReturn(Optional.of(5L));
+        given(developerOutboxCursorRepository.findByIdSkipLocked(DeveloperOutboxCursor.ID))
+                .willReturn(Optional.empty());
+
+        // 2. when
+        outboxRelay.relay();
+
+        // 3. then
+        ArgumentCaptor<DeveloperOutboxCursor> captor = ArgumentCaptor.forClass(DeveloperOutboxCursor.class);
+        verify(developerOutboxCursorRepository, times(1)).save(captor.capture());
+        assertEquals(5L, captor.getValue().getLastOffset());
+    }
+
+    @Test
+    void sinkFailureRollsBack() throws Exception {
+        // 1. given
+        givenCursorLockedAndTwoOutboxes();
+        willThrow(new IllegalStateException("sink down")).given(outboxSink).publish(anyList());
+
+        // 2. when
+        outboxRelay.relay();
+
+        // 3. then
+        // 트랜잭션이 rollback 되고 구독자는 깨우지 않는다
+        verify(transactionManager, times(1)).rollback(any());
+        verify(developerEventFeed, never()).published(anyList());
+    }
+
+    @Test
+    void purgeDeletesEventsPublishedBeforeRetention() {
+        // 1. given
+        given(developerOutboxRepository.deletePublishedBefore(any()))
+                .willReturn(3);
+
+        // 2. when
+        outboxRelay.purge();
+
+        // 3. then
+        // 기본 보관 기간 7일
+        ArgumentCaptor<LocalDateTime> captor = ArgumentCaptor.forClass(LocalDateTime.class);
+        verify(developerOutboxRepository, times(1)).deletePublishedBefore(captor.capture());
+        assertTrue(captor.getValue().isBefore(LocalDateTime.now().minusDays(7).plusMinutes(1)));
+    }
+
+    private void givenCursorLockedAndTwoOutboxes() {
+        given(developerOutboxCursorRepository.existsById(DeveloperOutboxCursor.ID))
+                .willReturn(true);
+        given(developerOutboxCursorRepository.findByIdSkipLocked(DeveloperOutboxCursor.ID))
+                .willReturn(Optional.of(cursor));
+        given(developerOutboxRepository.findByPublishedOffsetIsNullOrderByIdAsc(any()))
+                .willReturn(Arrays.asList(created, retired));
+    }
+}
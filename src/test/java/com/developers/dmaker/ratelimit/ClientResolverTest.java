@@ -0,0 +1,40 @@
+package com.developers.dmaker.ratelimit;
+
+import com.developers.dmaker.config.DMakerProperties;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class ClientResolverTest {
+
+    private static final String GATEWAY = "10.0.0.1";
+
+    private final ClientResolver clientResolver = clientResolver();
+
+    @Test
+    void headerFromTrustedProxyIsUsed() {
+        assertEquals("client-1", clientResolver.resolve(request(GATEWAY, "client-1")));
+        assertEquals(GATEWAY, clientResolver.resolve(request(GATEWAY, null)));
+    }
+
+    @Test
+    void headerFromOtherAddressIsIgnored() {
+        // 직접 들어온 요청은 header 를 바꿔 보내도 remote address 로 구분
+        assertEquals("192.168.0.7", clientResolver.resolve(request("192.168.0.7", "client-1")));
+    }
+
+    private static ClientResolver clientResolver() {
+        DMakerProperties properties = new DMakerProperties();
+        properties.getRateLimit().getTrustedProxies().add(GATEWAY);
+        return new ClientResolver(properties);
+    }
+
+    private static MockHttpServletRequest request(String remoteAddress, String client) {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setRemoteAddr(remoteAddress);
+        if (client != null)
+            request.addHeader("X-Client-Id", client);
+        return request;
+    }
+}
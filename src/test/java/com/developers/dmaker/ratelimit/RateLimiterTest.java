@@ -0,0 +1,94 @@
+package com.developers.dmaker.ratelimit;
+
+import com.developers.dmaker.config.DMakerProperties;
+import com.developers.dmaker.exception.RetryLaterException;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static com.developers.dmaker.exception.DMakerErrorCode.TOO_MANY_REQUESTS;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RateLimiterTest {
+
+    private static final String LIST = "GET /developers";
+    private static final String DETAIL = "GET /developer/{memberId}";
+
+    @Test
+    void burstThenRejectWithRetryAfter() {
+        // 초당 0.5 건 : burst 3 건을 쓰고 나면 token 하나가 차는 데 2 초
+        RateLimiter rateLimiter = rateLimiter(0.5, 3);
+        for (int i = 0; i < 3; i++)
+            rateLimiter.acquire("client-1", LIST);
+
+        RetryLaterException exception = assertThrows(RetryLaterException.class,
+                () -> rateLimiter.acquire("client-1", LIST));
+
+        assertEquals(TOO_MANY_REQUESTS, exception.getDMakerErrorCode());
+        assertTrue(exception.getRetryAfterSeconds() >= 1 && exception.getRetryAfterSeconds() <= 2,
+                "retryAfter " + exception.getRetryAfterSeconds());
+    }
+
+    @Test
+    void bucketsAreSeparatedByClientAndEndpoint() {
+        RateLimiter rateLimiter = rateLimiter(0.5, 1);
+        rateLimiter.acquire("client-1", LIST);
+
+        // 다른 클라이언트 / 다른 endpoint 는 영향 없음
+        rateLimiter.acquire("client-2", LIST);
+        rateLimiter.acquire("client-1", DETAIL);
+        assertThrows(RetryLaterException.class, () -> rateLimiter.acquire("client-1", LIST));
+    }
+
+    @Test
+    void endpointLimitOverridesDefault() {
+        DMakerProperties properties = new DMakerProperties();
+        properties.getRateLimit().setDefaultLimit(new DMakerProperties.Limit(0.5, 1));
+        properties.getRateLimit().getEndpoints().put(DETAIL, new DMakerProperties.Limit(0.5, 5));
+        RateLimiter rateLimiter = new RateLimiter(properties);
+
+        for (int i = 0; i < 5; i++)
+            rateLimiter.acquire("client-1", DETAIL);
+        rateLimiter.acquire("client-1", LIST);
+        assertThrows(RetryLaterException.class, () -> rateLimiter.acquire("client-1", LIST));
+    }
+
+    @Test
+    void idleBucketIsKeptUntilRefilled() throws InterruptedException {
+        // idle-timeout 이 token 이 다시 차는 시간(2 초)보다 짧아도 bucket 을 버려 burst 를 다시 주지 않는다
+        DMakerProperties properties = new DMakerProperties();
+        properties.getRateLimit().setDefaultLimit(new DMakerProperties.Limit(0.5, 1));
+        properties.getRateLimit().setIdleTimeout(Duration.ofMillis(1));
+        RateLimiter rateLimiter = new RateLimiter(properties);
+
+        rateLimiter.acquire("client-1", LIST);
+        Thread.sleep(10);
+
+        assertThrows(RetryLaterException.class, () -> rateLimiter.acquire("client-1", LIST));
+    }
+
+    @Test
+    void leastRecentlyUsedBucketIsEvictedWhenFull() {
+        DMakerProperties properties = new DMakerProperties();
+        properties.getRateLimit().setDefaultLimit(new DMakerProperties.Limit(0.5, 1));
+        properties.getRateLimit().setMaxBuckets(1);
+        RateLimiter rateLimiter = new RateLimiter(properties);
+
+        rateLimiter.acquire("client-1", LIST);
+        // 상한을 넘어도 새 클라이언트는 자기 bucket 을 받고, 가장 오래 쓰지 않은 bucket 이 버려진다
+        rateLimiter.acquire("client-2", LIST);
+        assertThrows(RetryLaterException.class, () -> rateLimiter.acquire("client-2", LIST));
+        // 막힌 client-2 가 다른 새 클라이언트를 막지 않는다
+        rateLimiter.acquire("client-3", LIST);
+        assertThrows(RetryLaterException.class, () -> rateLimiter.acquire("client-3", LIST));
+        assertEquals(1, rateLimiter.size());
+    }
+
+    private static RateLimiter rateLimiter(double permitsPerSecond, int burst) {
+        DMakerProperties properties = new DMakerProperties();
+        properties.getRateLimit().setDefaultLimit(new DMakerProperties.Limit(permitsPerSecond, burst));
+        return new RateLimiter(properties);
+    }
+}
@@ -0,0 +1,201 @@
+package com.developers.dmaker.repository;
+
+import com.developers.dmaker.code.StatusCode;
+import com.developers.dmaker.dto.DeveloperCountDto;
+import com.developers.dmaker.dto.DeveloperPageDto;
+import com.developers.dmaker.dto.DeveloperSearch;
+import com.developers.dmaker.dto.DeveloperSyncDto;
+import com.developers.dmaker.entity.Developer;
+import com.developers.dmaker.type.DeveloperSkillType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+import static com.developers.dmaker.code.StatusCode.EMPLOYED;
+import static com.developers.dmaker.code.StatusCode.RETIRED;
+import static com.developers.dmaker.type.DeveloperLevel.SENIOR;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DataJpaTest
+class DeveloperRepositoryTest {
+
+    private static final int EMPLOYED_ROWS = 2_000;
+
+    @Autowired
+    private DeveloperRepository developerRepository;
+
+    @Autowired
+    private DataSource dataSource;
+
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate = new JdbcTemplate(dataSource);
+    }
+
+    @Test
+    void employedListingUsesStatusCodeIndex() {
+        insertDevelopers(1, EMPLOYED_ROWS, EMPLOYED);
+
+        String plan = jdbcTemplate.queryForObject(
+                "explain select member_id from developer where status_code = 'EMPLOYED' order by id", String.class)
+                .toLowerCase();
+
+        // 테이블 전체를 읽지 않고 status_code 인덱스로 범위를 좁힌다
+        // 퇴사자가 늘어도 조회 시간이 유지되는지는 측정값이라 jmh 로 따로 확인 (EmployedListingBenchmark)
+        assertTrue(plan.contains("idx_developer_status_code"), plan);
+        assertFalse(plan.contains("tablescan"), plan);
+    }
+
+    @Test
+    void countGroupByStatusCodeAndLevelAndSkillType() {
+        insertDevelopers(1, 30, EMPLOYED);
+        insertDevelopers(31, 20, RETIRED);
+
+        List<DeveloperCountDto> counts = developerRepository.countGroupByStatusCodeAndLevelAndSkillType();
+
+        assertEquals(50, counts.stream().mapToLong(DeveloperCountDto::getCount).sum());
+        assertEquals(30, counts.stream()
+                .filter(count -> count.getStatusCode() == EMPLOYED)
+                .mapToLong(DeveloperCountDto::getCount)
+                .sum());
+    }
+
+    @Test
+    void lockOnlyEmployedMemberIds() {
+        insertDevelopers(1, 3, EMPLOYED);
+        insertDevelopers(4, 2, RETIRED);
+
+        List<String> locked = developerRepository.lockMemberIdsByStatusCode(
+                Arrays.asList("member1", "member3", "member4", "member9"), EMPLOYED.name());
+
+        // 퇴사자 / 없는 memberId 는 잠그지 않는다 (복사 / 상태 변경 대상에서 빠짐)
+        assertEquals(Arrays.asList("member1", "member3"), locked.stream().sorted().collect(Collectors.toList()));
+    }
+
+    @Test
+    void searchDevelopersWithKeysetAndCount() {
+        // 1. given
+        // id 1 ~ 40 재직 SENIOR, 연차 10 ~ 19 반복
+        insertDevelopers(1, 40, EMPLOYED);
+        insertDevelopers(41, 40, RETIRED);
+        DeveloperSkillType skillType = DeveloperSkillType.values()[0];
+        DeveloperSearch.Request condition = DeveloperSearch.Request.builder()
+                .developerLevel(SENIOR)
+                .developerSkillType(skillType)
+                .minExperienceYears(12)
+                .maxExperienceYears(15)
+                .build();
+
+        // 2. when
+        DeveloperPageDto firstPage = developerRepository.searchDevelopers(condition, 2);
+        condition.setCursor(firstPage.getNextCursor());
+        DeveloperPageDto secondPage = developerRepository.searchDevelopers(condition, 100);
+
+        // 3. then
+        long expected = LongStream.rangeClosed(1, 40)
+                .filter(id -> skillTypes(id) == skillType)
+                .filter(id -> experienceYears(id) >= 12 && experienceYears(id) <= 15)
+                .count();
+        assertEquals(2, firstPage.getDevelopers().size());
+        assertEquals(expected, firstPage.getDevelopers().size() + secondPage.getDevelopers().size());
+        assertNull(secondPage.getNextCursor());
+        assertEquals(expected, developerRepository.countDevelopers(condition));
+    }
+
+    @Test
+    void searchUsesStatusLevelSkillYearsIndex() {
+        insertDevelopers(1, EMPLOYED_ROWS, EMPLOYED);
+
+        String plan = jdbcTemplate.queryForObject(
+                "explain select member_id from developer where status_code = 'EMPLOYED' " +
+                        "and developer_level = 'SENIOR' and developer_skill_type = 'BACK_END' " +
+                        "and experience_years between 12 and 15 order by id", String.class)
+                .toLowerCase();
+
+        // status_code 만 있는 인덱스가 아니라 4개 조건을 모두 쓰는 복합 인덱스
+        assertTrue(plan.contains(Developer.STATUS_CODE_LEVEL_SKILL_YEARS_INDEX), plan);
+        assertFalse(plan.contains("tablescan"), plan);
+    }
+
+    @Test
+    void changedDevelopersPageThroughUpdatedAtTies() {
+        // 1. given
+        // 한 번에 넣은 row 는 updatedAt 이 모두 같다
+        insertDevelopers(1, 5, EMPLOYED);
+        insertDevelopers(6, 3, RETIRED);
+        LocalDateTime until = LocalDateTime.now().plusSeconds(1);
+
+        // 2. when
+        // 페이지 크기 2 로 끝까지 이어서 읽는다
+        List<Long> ids = new ArrayList<>();
+        LocalDateTime since = LocalDateTime.of(1970, 1, 1, 0, 0);
+        long afterId = 0L;
+        List<DeveloperSyncDto> page;
+        do {
+            page = developerRepository.findChangedDevelopers(since, afterId, until, PageRequest.of(0, 2));
+            for (DeveloperSyncDto developer : page) {
+                ids.add(developer.getId());
+                since = developer.getUpdatedAt();
+                afterId = developer.getId();
+            }
+        } while (!page.isEmpty());
+
+        // 3. then
+        assertEquals(LongStream.rangeClosed(1, 8).boxed().collect(Collectors.toList()), ids);
+        assertTrue(developerRepository.findChangedDevelopers(LocalDateTime.of(1970, 1, 1, 0, 0), 0L,
+                LocalDateTime.now().minusHours(1), PageRequest.of(0, 10)).isEmpty());
+    }
+
+    @Test
+    void changedDevelopersUseUpdatedAtIndex() {
+        insertDevelopers(1, EMPLOYED_ROWS, EMPLOYED);
+
+        String plan = jdbcTemplate.queryForObject(
+                "explain select member_id from developer where updated_at > timestamp '2022-01-01 00:00:00' " +
+                        "order by updated_at, id", String.class)
+                .toLowerCase();
+
+        assertTrue(plan.contains("idx_developer_updated_at_id"), plan);
+    }
+
+    private static DeveloperSkillType skillTypes(long id) {
+        DeveloperSkillType[] skillTypes = DeveloperSkillType.values();
+        return skillTypes[(int) (id % skillTypes.length)];
+    }
+
+    private static int experienceYears(long id) {
+        return 10 + (int) (id % 10);
+    }
+
+    private void insertDevelopers(int fromId, int rows, StatusCode statusCode) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+
+        List<Object[]> args = new ArrayList<>(rows);
+        for (int i = 0; i < rows; i++) {
+            long id = fromId + i;
+            args.add(new Object[]{id, SENIOR.name(), skillTypes(id).name(),
+                    experienceYears(id), "member" + id, "name" + id, 32, statusCode.name(), now, now});
+        }
+
+        jdbcTemplate.batchUpdate("insert into developer (id, developer_level, developer_skill_type, " +
+                "experience_years, member_id, name, age, status_code, created_at, updated_at, version) " +
+                "values (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, 0)", args);
+    }
+}
@@ -0,0 +1,233 @@
+package com.developers.dmaker.routing;
+
+import com.developers.dmaker.config.DMakerProperties;
+import org.hibernate.CacheMode;
+import org.hibernate.Session;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
+import org.springframework.orm.jpa.SharedEntityManagerCreator;
+import org.springframework.orm.jpa.vendor.HibernateJpaVendorAdapter;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+// primary / replica 를 서로 다른 H2 in-memory DB 로 띄우고, 각 DB 의 node 테이블에 자기 이름을 넣어 어디서 읽었는지 확인
+class ReadWriteRoutingDataSourceTest {
+
+    private static final String LAG_QUERY = "select lag_seconds from replica_lag";
+
+    private DataSource primary;
+    private Map<String, DataSource> replicas;
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate writeTransaction;
+    private TransactionTemplate readOnlyTransaction;
+    private EntityManagerFactory entityManagerFactory;
+
+    @BeforeEach
+    void setUp() {
+        String run = UUID.randomUUID().toString();
+        primary = database("primary-" + run, "primary");
+        replicas = new LinkedHashMap<>();
+        replicas.put("replica-0", database("replica-0-" + run, "replica-0"));
+        replicas.put("replica-1", database("replica-1-" + run, "replica-1"));
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (entityManagerFactory != null)
+            entityManagerFactory.close();
+    }
+
+    @Test
+    void readOnlyTransactionsAreBalancedAcrossReplicas() {
+        route(new DMakerProperties.Replica());
+
+        assertEquals("primary", writeTransaction.execute(status -> node()));
+        assertEquals(Arrays.asList("replica-0", "replica-1", "replica-0"), Arrays.asList(
+                readOnlyTransaction.execute(status -> node()),
+                readOnlyTransaction.execute(status -> node()),
+                readOnlyTransaction.execute(status -> node())));
+        // 트랜잭션 밖은 primary
+        assertEquals("primary", node());
+    }
+
+    @Test
+    void readOnlyJoinsOuterWriteTransactionOnPrimary() {
+        route(new DMakerProperties.Replica());
+
+        assertEquals("primary", writeTransaction.execute(status -> readOnlyTransaction.execute(inner -> node())));
+    }
+
+    @Test
+    void primaryReadsRouteReadOnlyToPrimary() {
+        route(new DMakerProperties.Replica());
+
+        assertEquals("primary", PrimaryReads.call(() -> readOnlyTransaction.execute(status -> node())));
+        assertEquals("replica-0", readOnlyTransaction.execute(status -> node()));
+    }
+
+    // 서비스 / repository 가 실제로 쓰는 JpaTransactionManager 로도 readOnly 가 첫 SQL 전에 정해지는지 확인
+    @Test
+    void jpaTransactionsAreRoutedByReadOnly() {
+        EntityManager entityManager = routeJpa(new DMakerProperties.Replica());
+
+        assertEquals("primary", writeTransaction.execute(status -> node(entityManager)));
+        assertEquals(Arrays.asList("replica-0", "replica-1"), Arrays.asList(
+                readOnlyTransaction.execute(status -> node(entityManager)),
+                readOnlyTransaction.execute(status -> node(entityManager))));
+        assertEquals("primary", PrimaryReads.call(() -> readOnlyTransaction.execute(status -> node(entityManager))));
+        assertEquals("primary", writeTransaction.execute(status ->
+                readOnlyTransaction.execute(inner -> node(entityManager))));
+    }
+
+    // replica 에서 읽은 값은 2nd level / query cache 에 넣지 않는다
+    @Test
+    void replicaReadsDoNotPopulateSecondLevelCache() {
+        EntityManager entityManager = routeJpa(new DMakerProperties.Replica());
+
+        assertEquals(CacheMode.GET, readOnlyTransaction.execute(status -> cacheMode(entityManager)));
+        assertEquals(CacheMode.NORMAL, PrimaryReads.call(() -> readOnlyTransaction.execute(status -> cacheMode(entityManager))));
+        assertEquals(CacheMode.NORMAL, writeTransaction.execute(status -> cacheMode(entityManager)));
+    }
+
+    @Test
+    void laggingReplicasFallBackToPrimary() {
+        DMakerProperties.Replica properties = new DMakerProperties.Replica();
+        properties.setLagQuery(LAG_QUERY);
+        ReadWriteRoutingDataSource routing = route(properties);
+
+        // replica-0 만 max-lag(5s) 초과
+        setLag("replica-0", 10);
+        routing.checkLag();
+        assertEquals(Arrays.asList("replica-1", "replica-1"), Arrays.asList(
+                readOnlyTransaction.execute(status -> node()),
+                readOnlyTransaction.execute(status -> node())));
+
+        setLag("replica-1", 10);
+        routing.checkLag();
+        assertEquals("primary", readOnlyTransaction.execute(status -> node()));
+
+        // 따라잡으면 다시 사용
+        setLag("replica-0", 0);
+        routing.checkLag();
+        assertEquals("replica-0", readOnlyTransaction.execute(status -> node()));
+    }
+
+    // lagQuery 가 없어도 죽은 replica 는 빼고, 살아나면 다시 사용
+    @Test
+    void deadReplicasAreSkippedWithoutLagQuery() {
+        SwitchableDataSource replica0 = new SwitchableDataSource(replicas.get("replica-0"));
+        replicas.put("replica-0", replica0);
+        ReadWriteRoutingDataSource routing = route(new DMakerProperties.Replica());
+
+        replica0.down = true;
+        routing.checkLag();
+        assertEquals(1, routing.availableReplicas());
+        assertEquals(Arrays.asList("replica-1", "replica-1"), Arrays.asList(
+                readOnlyTransaction.execute(status -> node()),
+                readOnlyTransaction.execute(status -> node())));
+
+        replica0.down = false;
+        routing.checkLag();
+        assertEquals(2, routing.availableReplicas());
+    }
+
+    private ReadWriteRoutingDataSource route(DMakerProperties.Replica properties) {
+        ReadWriteRoutingDataSource routing = routing(properties);
+        DataSource dataSource = new LazyConnectionDataSourceProxy(routing);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        transactions(new DataSourceTransactionManager(dataSource));
+        return routing;
+    }
+
+    // ReplicaDataSourceConfig 와 같은 구성 : LazyConnectionDataSourceProxy 위의 hibernate + ReplicaAwareJpaTransactionManager
+    private EntityManager routeJpa(DMakerProperties.Replica properties) {
+        LocalContainerEntityManagerFactoryBean factory = new LocalContainerEntityManagerFactoryBean();
+        factory.setDataSource(new LazyConnectionDataSourceProxy(routing(properties)));
+        factory.setJpaVendorAdapter(new HibernateJpaVendorAdapter());
+        // entity 없이 native query 만 사용
+        factory.setPackagesToScan(ReadWriteRoutingDataSourceTest.class.getPackageName());
+        factory.afterPropertiesSet();
+        entityManagerFactory = factory.getObject();
+
+        ReplicaAwareJpaTransactionManager transactionManager = new ReplicaAwareJpaTransactionManager();
+        transactionManager.setEntityManagerFactory(entityManagerFactory);
+        transactionManager.afterPropertiesSet();
+        transactions(transactionManager);
+        return SharedEntityManagerCreator.createSharedEntityManager(entityManagerFactory);
+    }
+
+    private ReadWriteRoutingDataSource routing(DMakerProperties.Replica properties) {
+        ReadWriteRoutingDataSource routing = new ReadWriteRoutingDataSource(primary, replicas, properties);
+        routing.afterPropertiesSet();
+        return routing;
+    }
+
+    private void transactions(PlatformTransactionManager transactionManager) {
+        writeTransaction = new TransactionTemplate(transactionManager);
+        readOnlyTransaction = new TransactionTemplate(transactionManager);
+        readOnlyTransaction.setReadOnly(true);
+    }
+
+    private String node() {
+        List<String> names = jdbcTemplate.queryForList("select name from node", String.class);
+        return names.get(0);
+    }
+
+    private static String node(EntityManager entityManager) {
+        return (String) entityManager.createNativeQuery("select name from node").getSingleResult();
+    }
+
+    private static CacheMode cacheMode(EntityManager entityManager) {
+        return entityManager.unwrap(Session.class).getCacheMode();
+    }
+
+    private void setLag(String replica, int seconds) {
+        new JdbcTemplate(replicas.get(replica)).update("update replica_lag set lag_seconds = ?", seconds);
+    }
+
+    // down 이면 커넥션을 주지 않는 replica
+    private static class SwitchableDataSource extends DelegatingDataSource {
+        private volatile boolean down;
+
+        private SwitchableDataSource(DataSource dataSource) {
+            super(dataSource);
+        }
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            if (down)
+                throw new SQLException("replica is down");
+            return super.getConnection();
+        }
+    }
+
+    private static DataSource database(String database, String name) {
+        DataSource dataSource = new DriverManagerDataSource("jdbc:h2:mem:" + database + ";DB_CLOSE_DELAY=-1", "sa", "");
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("create table node (name varchar(20))");
+        jdbcTemplate.update("insert into node values (?)", name);
+        jdbcTemplate.execute("create table replica_lag (lag_seconds int)");
+        jdbcTemplate.update("insert into replica_lag values (0)");
+        return dataSource;
+    }
+}
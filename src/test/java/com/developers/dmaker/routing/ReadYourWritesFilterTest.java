@@ -0,0 +1,39 @@
+package com.developers.dmaker.routing;
+
+import com.developers.dmaker.config.DMakerProperties;
+import com.developers.dmaker.ratelimit.ClientResolver;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ReadYourWritesFilterTest {
+
+    private final ReadYourWritesFilter filter =
+            new ReadYourWritesFilter(new ClientResolver(new DMakerProperties()), Duration.ofMinutes(1), 100);
+
+    @Test
+    void clientReadsFromPrimaryAfterWrite() throws Exception {
+        assertFalse(readsFromPrimary("GET", "10.0.0.1"));
+
+        assertTrue(readsFromPrimary("PUT", "10.0.0.1"));
+        assertTrue(readsFromPrimary("GET", "10.0.0.1"));
+        // 다른 클라이언트는 그대로 replica
+        assertFalse(readsFromPrimary("GET", "10.0.0.2"));
+        // 요청이 끝나면 범위도 끝난다
+        assertFalse(PrimaryReads.isActive());
+    }
+
+    private boolean readsFromPrimary(String method, String remoteAddress) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest(method, "/developers");
+        request.setRemoteAddr(remoteAddress);
+        AtomicBoolean primary = new AtomicBoolean();
+        filter.doFilter(request, new MockHttpServletResponse(), (req, res) -> primary.set(PrimaryReads.isActive()));
+        return primary.get();
+    }
+}
@@ -0,0 +1,71 @@
+package com.developers.dmaker.service;
+
+import com.developers.dmaker.config.DMakerProperties;
+import com.developers.dmaker.dto.CreateDeveloper;
+import com.developers.dmaker.dto.CreateDevelopers;
+import org.hibernate.Session;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.orm.jpa.EntityManagerHolder;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static com.developers.dmaker.type.DeveloperLevel.SENIOR;
+import static com.developers.dmaker.type.DeveloperSkillType.BACK_END;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@SpringBootTest
+class DMakerServiceBulkCreateTest {
+
+    private static final int CHUNKS = 3;
+
+    @Autowired
+    private DMakerService dMakerService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private DMakerProperties dMakerProperties;
+
+    @Test
+    void persistenceContextIsClearedAfterEachChunk() {
+        int size = dMakerProperties.getBulk().getBatchSize() * CHUNKS;
+        String prefix = UUID.randomUUID().toString().substring(0, 8);
+        List<CreateDeveloper.Request> requests = IntStream.range(0, size)
+                .mapToObj(i -> request(prefix + "-" + i))
+                .collect(Collectors.toList());
+
+        // open-in-view 처럼 요청 내내 같은 EntityManager 를 chunk 트랜잭션들이 같이 쓴다
+        EntityManager entityManager = entityManagerFactory.createEntityManager();
+        TransactionSynchronizationManager.bindResource(entityManagerFactory, new EntityManagerHolder(entityManager));
+        try {
+            CreateDevelopers.Response response = dMakerService.createDevelopers(requests);
+
+            assertEquals(size, response.getCreated());
+            // 앞 chunk 의 developer / outbox entity 가 남지 않는다
+            assertEquals(0, entityManager.unwrap(Session.class).getStatistics().getEntityCount());
+        } finally {
+            TransactionSynchronizationManager.unbindResource(entityManagerFactory);
+            entityManager.close();
+        }
+    }
+
+    private static CreateDeveloper.Request request(String memberId) {
+        return CreateDeveloper.Request.builder()
+                .developerLevel(SENIOR)
+                .developerSkillType(BACK_END)
+                .experienceYears(12)
+                .memberId(memberId)
+                .name("name")
+                .age(35)
+                .build();
+    }
+}
@@ -1,34 +1,76 @@
 package com.developers.dmaker.service;
 
+import com.developers.dmaker.cache.DeveloperDetailCache;
 import com.developers.dmaker.code.StatusCode;
+import com.developers.dmaker.config.DMakerProperties;
 import com.developers.dmaker.dto.CreateDeveloper;
+import com.developers.dmaker.dto.CreateDevelopers;
 import com.developers.dmaker.dto.DeveloperDetailDto;
+import com.developers.dmaker.dto.DeveloperDto;
+import com.developers.dmaker.dto.DeveloperPageDto;
+import com.developers.dmaker.dto.DeveloperSearch;
+import com.developers.dmaker.dto.DeveloperSyncDto;
+import com.developers.dmaker.dto.DeveloperSyncPageDto;
+import com.developers.dmaker.dto.EditDeveloper;
+import com.developers.dmaker.dto.RetireDevelopers;
 import com.developers.dmaker.entity.Developer;
 import com.developers.dmaker.exception.DMakerException;
 import com.developers.dmaker.repository.DeveloperRepository;
+import com.developers.dmaker.repository.RetiredDeveloperRepository;
 import com.developers.dmaker.type.DeveloperLevel;
 import com.developers.dmaker.type.DeveloperSkillType;
+import org.hibernate.exception.ConstraintViolationException;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import javax.persistence.EntityManager;
+import javax.validation.Validator;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
 
 import static com.developers.dmaker.constant.DMakerConstant.MAX_JUNIOR_EXPERIENCE_YEARS;
+import static com.developers.dmaker.constant.DMakerConstant.MAX_PAGE_SIZE;
 import static com.developers.dmaker.constant.DMakerConstant.MIN_SENIOR_EXPERIENCE_YEARS;
 import static com.developers.dmaker.exception.DMakerErrorCode.DUPLICATED_MEMBER_ID;
+import static com.developers.dmaker.exception.DMakerErrorCode.INTERNAL_SERVER_ERROR;
+import static com.developers.dmaker.exception.DMakerErrorCode.INVALID_REQUEST;
 import static com.developers.dmaker.exception.DMakerErrorCode.LEVEL_EXPERIENCE_YEARS_NOT_MATCED;
+import static com.developers.dmaker.exception.DMakerErrorCode.NO_DEVELOPER;
+import static com.developers.dmaker.exception.DMakerErrorCode.PRECONDITION_FAILED;
 import static com.developers.dmaker.type.DeveloperLevel.*;
 import static com.developers.dmaker.type.DeveloperSkillType.BACK_END;
 import static com.developers.dmaker.type.DeveloperSkillType.FRONT_END;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 
@@ -41,6 +83,27 @@ class DMakerServiceTest {
     @Mock
     private DeveloperRepository developerRepository;
 
+    @Mock
+    private RetiredDeveloperRepository retiredDeveloperRepository;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @Mock
+    private Validator validator;
+
+    @Mock
+    private EntityManager entityManager;
+
+    @Spy
+    private DMakerProperties dMakerProperties = new DMakerProperties();
+
+    @Spy
+    private DeveloperDetailCache developerDetailCache = new DeveloperDetailCache(new DMakerProperties());
+
     // 기본 사용할 객체 지정
     private final Developer defaultDeveloper = Developer.builder()
             .developerLevel(SENIOR)
@@ -54,11 +117,18 @@ class DMakerServiceTest {
     private CreateDeveloper.Request getCreateRequest(DeveloperLevel developerLevel,
                                                      DeveloperSkillType developerSkillType,
                                                      Integer experienceYears) {
+        return getCreateRequest(developerLevel, developerSkillType, experienceYears, "memberId");
+    }
+
+    private CreateDeveloper.Request getCreateRequest(DeveloperLevel developerLevel,
+                                                     DeveloperSkillType developerSkillType,
+                                                     Integer experienceYears,
+                                                     String memberId) {
          return CreateDeveloper.Request.builder()
                     .developerLevel(developerLevel)
                     .developerSkillType(developerSkillType)
                     .experienceYears(experienceYears)
-                    .memberId("memberId")
+                    .memberId(memberId)
                     .name("name")
                     .age(32)
                     .build();
@@ -66,8 +136,8 @@ class DMakerServiceTest {
 
     @Test
     public void testSomething() {
-        given(developerRepository.findByMemberId(anyString()))
-                .willReturn(Optional.of(defaultDeveloper));
+        given(developerRepository.findDeveloperDetailDtoByMemberId(anyString()))
+                .willReturn(Optional.of(DeveloperDetailDto.fromEntity(defaultDeveloper)));
 
         DeveloperDetailDto developerDetail = dMakerService.getDeveloperDetail("memberId");
 
@@ -76,15 +146,94 @@ class DMakerServiceTest {
         assertEquals(32, developerDetail.getAge());
     }
 
+    @Test
+    void getDeveloperDetailTest_cached() {
+        given(developerRepository.findDeveloperDetailDtoByMemberId(anyString()))
+                .willReturn(Optional.of(DeveloperDetailDto.fromEntity(defaultDeveloper)));
+
+        dMakerService.getDeveloperDetail("memberId");
+        dMakerService.getDeveloperDetail("memberId");
+
+        // 두 번째 조회는 cache hit
+        verify(developerRepository, times(1)).findDeveloperDetailDtoByMemberId("memberId");
+        assertEquals(1, dMakerService.getDeveloperDetailCacheStats().getHits());
+        assertEquals(1, dMakerService.getDeveloperDetailCacheStats().getMisses());
+    }
+
+    @Test
+    void getDeveloperDetailTest_cached_value_is_not_shared() {
+        given(developerRepository.findDeveloperDetailDtoByMemberId(anyString()))
+                .willReturn(Optional.of(DeveloperDetailDto.fromEntity(defaultDeveloper)));
+
+        // 호출한 쪽이 결과를 바꿔도 cache 에 있는 값은 그대로
+        dMakerService.getDeveloperDetail("memberId").setDeveloperLevel(JUNIOR);
+
+        assertEquals(SENIOR, dMakerService.getDeveloperDetail("memberId").getDeveloperLevel());
+        verify(developerRepository, times(1)).findDeveloperDetailDtoByMemberId("memberId");
+    }
+
+    @Test
+    void getEmployedDevelopersPageTest() {
+        Developer first = Developer.builder().id(1L).developerLevel(SENIOR).developerSkillType(FRONT_END)
+                .memberId("memberId1").statusCode(StatusCode.EMPLOYED).build();
+        Developer second = Developer.builder().id(2L).developerLevel(JUNIOR).developerSkillType(BACK_END)
+                .memberId("memberId2").statusCode(StatusCode.EMPLOYED).build();
+
+        // 요청한 size 만큼 채워지면 마지막 id 가 다음 cursor
+        given(developerRepository.findByStatusCodeEqualsAndIdGreaterThanOrderByIdAsc(eq(StatusCode.EMPLOYED), eq(0L), any()))
+                .willReturn(Arrays.asList(first, second));
+
+        DeveloperPageDto page = dMakerService.getEmployedDevelopersPage(null, 2);
+
+        assertEquals(2, page.getDevelopers().size());
+        assertEquals("memberId1", page.getDevelopers().get(0).getMemberId());
+        assertEquals(2L, page.getNextCursor());
+
+        // 덜 채워지면 마지막 페이지
+        given(developerRepository.findByStatusCodeEqualsAndIdGreaterThanOrderByIdAsc(eq(StatusCode.EMPLOYED), eq(2L), any()))
+                .willReturn(Arrays.asList());
+
+        page = dMakerService.getEmployedDevelopersPage(2L, 2);
+
+        assertEquals(0, page.getDevelopers().size());
+        assertNull(page.getNextCursor());
+    }
+
+    @Test
+    void getDeveloperChangesTest() {
+        LocalDateTime updatedAt = LocalDateTime.of(2022, 5, 1, 12, 0);
+        DeveloperSyncDto first = DeveloperSyncDto.builder().id(7L).memberId("memberId7")
+                .statusCode(StatusCode.EMPLOYED).updatedAt(updatedAt).build();
+        DeveloperSyncDto second = DeveloperSyncDto.builder().id(9L).memberId("memberId9")
+                .statusCode(StatusCode.RETIRED).updatedAt(updatedAt).build();
+
+        // 가득 찬 페이지면 마지막 row 의 (updatedAt, id) 가 다음 cursor
+        given(developerRepository.findChangedDevelopers(any(), eq(0L), any(), any()))
+                .willReturn(Arrays.asList(first, second));
+
+        DeveloperSyncPageDto page = dMakerService.getDeveloperChanges(null, null, 2);
+
+        assertEquals(2, page.getDevelopers().size());
+        assertEquals(updatedAt, page.getNextSince());
+        assertEquals(9L, page.getNextId());
+        assertTrue(page.isHasMore());
+
+        // 변경분이 없으면 받은 cursor 를 그대로 돌려준다
+        given(developerRepository.findChangedDevelopers(eq(updatedAt), eq(9L), any(), any()))
+                .willReturn(Collections.emptyList());
+
+        page = dMakerService.getDeveloperChanges(updatedAt, 9L, 2);
+
+        assertEquals(updatedAt, page.getNextSince());
+        assertEquals(9L, page.getNextId());
+        assertFalse(page.isHasMore());
+    }
+
     @Test
     void createDeveloperTest_success() {
         // 1. given
-        // 1-1. validation given (inner logic)
-        given(developerRepository.findByMemberId(anyString()))
-                .willReturn(Optional.empty());
-
-        // 1-2. Repository 에서 저장하는 객체의 사본
-        given(developerRepository.save(any()))
+        // 1-1. Repository 에서 저장하는 객체의 사본 (중복 검사는 unique 제약조건이 담당)
+        given(developerRepository.saveAndFlush(any()))
                 .willReturn(defaultDeveloper);
         ArgumentCaptor<Developer> captor = ArgumentCaptor.forClass(Developer.class);
 
@@ -94,7 +243,7 @@ class DMakerServiceTest {
         // 3. then
         // 3-1. 특정 Mock이 몇번이나 호출되었다.
         verify(developerRepository, times(1))
-                .save(captor.capture());
+                .saveAndFlush(captor.capture());
 
         Developer savedDeveloper = captor.getValue();
         assertEquals(SENIOR, savedDeveloper.getDeveloperLevel());
@@ -129,9 +278,11 @@ class DMakerServiceTest {
     @Test
     void createDeveloperTest_fail_with_duplicated() {
         // 1. given
-        // 1-1. validation given (inner logic)
-        given(developerRepository.findByMemberId(anyString()))
-                .willReturn(Optional.of(defaultDeveloper));
+        // 1-1. memberId unique 제약조건 위반
+        given(developerRepository.saveAndFlush(any()))
+                .willThrow(new DataIntegrityViolationException("duplicated",
+                        new ConstraintViolationException("duplicated", new SQLException(),
+                                "PUBLIC.UK_DEVELOPER_MEMBER_ID_INDEX_8")));
 
         // 2. when
 
@@ -142,4 +293,236 @@ class DMakerServiceTest {
         assertEquals(DUPLICATED_MEMBER_ID, dMakerException.getDMakerErrorCode());
 
     }
-}
\ No newline at end of file
+
+    @Test
+    void streamEmployedDevelopersUsesStreamTimeout() {
+        PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+        given(transactionTemplate.getTransactionManager()).willReturn(transactionManager);
+        given(transactionManager.getTransaction(any())).willReturn(new SimpleTransactionStatus());
+        DeveloperDto developer = DeveloperDto.builder().memberId("memberId").build();
+        given(developerRepository.streamDeveloperDtosByStatusCode(StatusCode.EMPLOYED))
+                .willReturn(Stream.of(developer));
+
+        List<DeveloperDto> streamed = new ArrayList<>();
+        dMakerService.streamEmployedDevelopers(streamed::add);
+
+        // spring.transaction.default-timeout 이 아니라 bulk.stream-timeout 으로 readOnly 트랜잭션을 연다
+        ArgumentCaptor<TransactionDefinition> definition = ArgumentCaptor.forClass(TransactionDefinition.class);
+        verify(transactionManager).getTransaction(definition.capture());
+        assertTrue(definition.getValue().isReadOnly());
+        assertEquals(dMakerProperties.getBulk().getStreamTimeout().getSeconds(), definition.getValue().getTimeout());
+        assertEquals(Collections.singletonList(developer), streamed);
+    }
+
+    // chunk 트랜잭션은 callback 을 그대로 실행
+    private void givenTransactionTemplateRunsCallback() {
+        given(transactionTemplate.execute(any()))
+                .willAnswer(invocation -> invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+    }
+
+    private static DataIntegrityViolationException duplicatedMemberId() {
+        return new DataIntegrityViolationException("duplicated",
+                new ConstraintViolationException("duplicated", new SQLException(),
+                        "PUBLIC.UK_DEVELOPER_MEMBER_ID_INDEX_8"));
+    }
+
+    @Test
+    void createDevelopersTest_partial_success() {
+        // 1. given
+        givenTransactionTemplateRunsCallback();
+        given(developerRepository.findExistingMemberIds(anyList()))
+                .willReturn(Collections.singletonList("registered"));
+
+        // 2. when
+        CreateDevelopers.Response response = dMakerService.createDevelopers(Arrays.asList(
+                getCreateRequest(SENIOR, FRONT_END, 12, "memberId1"),
+                getCreateRequest(JUNIOR, BACK_END, MAX_JUNIOR_EXPERIENCE_YEARS + 1, "memberId2"),
+                getCreateRequest(SENIOR, BACK_END, 15, "registered"),
+                getCreateRequest(SENIOR, BACK_END, 15, "memberId1")
+        ));
+
+        // 3. then
+        // 3-1. 실패한 건이 있어도 나머지는 insert
+        verify(developerRepository, times(1)).saveAllAndFlush(anyList());
+        assertEquals(4, response.getTotal());
+        assertEquals(1, response.getCreated());
+        assertEquals(3, response.getFailed());
+
+        assertTrue(response.getResults().get(0).isSuccess());
+        assertFalse(response.getResults().get(1).isSuccess());
+        assertEquals(LEVEL_EXPERIENCE_YEARS_NOT_MATCED, response.getResults().get(1).getErrorCode());
+        assertEquals(DUPLICATED_MEMBER_ID, response.getResults().get(2).getErrorCode());
+        assertEquals(DUPLICATED_MEMBER_ID, response.getResults().get(3).getErrorCode());
+    }
+
+    @Test
+    void createDevelopersTest_race_marks_only_conflicting_member() {
+        // 1. given
+        // 사전 조회 이후 memberId2 를 다른 요청이 먼저 넣었다 : chunk 는 실패, 한 건씩 다시 넣으면 memberId2 만 실패
+        givenTransactionTemplateRunsCallback();
+        given(developerRepository.findExistingMemberIds(anyList()))
+                .willReturn(Collections.emptyList());
+        given(developerRepository.saveAllAndFlush(anyList()))
+                .willThrow(duplicatedMemberId())
+                .willReturn(Collections.emptyList())
+                .willThrow(duplicatedMemberId());
+
+        // 2. when
+        CreateDevelopers.Response response = dMakerService.createDevelopers(Arrays.asList(
+                getCreateRequest(SENIOR, FRONT_END, 12, "memberId1"),
+                getCreateRequest(SENIOR, BACK_END, 15, "memberId2")
+        ));
+
+        // 3. then
+        verify(developerRepository, times(3)).saveAllAndFlush(anyList());
+        assertEquals(1, response.getCreated());
+        assertTrue(response.getResults().get(0).isSuccess());
+        assertEquals(DUPLICATED_MEMBER_ID, response.getResults().get(1).getErrorCode());
+        // 생성 이벤트는 commit 된 건만
+        verify(eventPublisher, times(1)).publishEvent(any(Object.class));
+    }
+
+    @Test
+    void editDeveloperTest_fail_with_version_mismatch() {
+        // 1. given
+        Developer developer = Developer.builder()
+                .developerLevel(SENIOR)
+                .developerSkillType(FRONT_END)
+                .experienceYears(12)
+                .memberId("memberId")
+                .statusCode(StatusCode.EMPLOYED)
+                .version(3L)
+                .build();
+        given(developerRepository.findByMemberId(anyString()))
+                .willReturn(Optional.of(developer));
+
+        EditDeveloper.Request request = EditDeveloper.Request.builder()
+                .developerLevel(JUNGNIOR)
+                .developerSkillType(BACK_END)
+                .experienceYears(MAX_JUNIOR_EXPERIENCE_YEARS + 1)
+                .build();
+
+        // 2. when
+        DMakerException dMakerException = assertThrows(DMakerException.class,
+                () -> dMakerService.editDeveloper("memberId", request, Set.of(1L, 2L)));
+
+        // 3. then
+        // If-Match 버전이 다르면 수정하지 않는다
+        assertEquals(PRECONDITION_FAILED, dMakerException.getDMakerErrorCode());
+        assertEquals(SENIOR, developer.getDeveloperLevel());
+        verify(developerRepository, times(0)).flush();
+    }
+
+    @Test
+    void retireDevelopersTest_partial_success() {
+        // 1. given
+        // member2 는 없는 개발자 (또는 이미 퇴사)
+        given(developerRepository.findDeveloperDtosByMemberIdsAndStatusCode(anyList(), eq(StatusCode.EMPLOYED)))
+                .willReturn(Arrays.asList(new DeveloperDto(SENIOR, BACK_END, "member1"),
+                        new DeveloperDto(JUNIOR, FRONT_END, "member3")));
+        given(developerRepository.lockMemberIdsByStatusCode(anyCollection(), eq("EMPLOYED")))
+                .willReturn(Arrays.asList("member1", "member3"));
+        given(retiredDeveloperRepository.insertFromDevelopers(anyCollection(), eq("EMPLOYED"), any()))
+                .willReturn(2);
+        given(developerRepository.updateStatusCode(anyCollection(), eq(StatusCode.EMPLOYED), eq(StatusCode.RETIRED), any()))
+                .willReturn(2);
+
+        // 2. when
+        RetireDevelopers.Response response = dMakerService.retireDevelopers(
+                Arrays.asList("member1", "member2", "member3", "member1"));
+
+        // 3. then
+        assertEquals(3, response.getTotal());
+        assertEquals(2, response.getRetired());
+        assertEquals(1, response.getFailed());
+        assertEquals("member2", response.getFailures().get(0).getMemberId());
+        assertEquals(NO_DEVELOPER, response.getFailures().get(0).getErrorCode());
+        verify(eventPublisher, times(2)).publishEvent(any(Object.class));
+    }
+
+    @Test
+    void retireDevelopersTest_race_reports_members_retired_by_others() {
+        // 1. given
+        // member3 은 재직 중이었지만 다른 요청이 먼저 퇴사 처리해서 잠그지 못했다
+        given(developerRepository.lockMemberIdsByStatusCode(anyCollection(), eq("EMPLOYED")))
+                .willReturn(Collections.singletonList("member1"));
+        given(developerRepository.findDeveloperDtosByMemberIdsAndStatusCode(eq(Collections.singletonList("member1")), eq(StatusCode.EMPLOYED)))
+                .willReturn(Collections.singletonList(new DeveloperDto(SENIOR, BACK_END, "member1")));
+        given(retiredDeveloperRepository.insertFromDevelopers(anyCollection(), eq("EMPLOYED"), any()))
+                .willReturn(1);
+        given(developerRepository.updateStatusCode(anyCollection(), eq(StatusCode.EMPLOYED), eq(StatusCode.RETIRED), any()))
+                .willReturn(1);
+
+        // 2. when
+        RetireDevelopers.Response response = dMakerService.retireDevelopers(Arrays.asList("member1", "member3"));
+
+        // 3. then
+        // 실제로 바꾼 row 만 집계 / 이벤트, 나머지는 실패로
+        assertEquals(1, response.getRetired());
+        assertEquals(1, response.getFailed());
+        assertEquals("member3", response.getFailures().get(0).getMemberId());
+        verify(eventPublisher, times(1)).publishEvent(any(Object.class));
+    }
+
+    @Test
+    void retireDevelopersTest_fail_when_copied_count_differs() {
+        // 1. given
+        given(developerRepository.findDeveloperDtosByMemberIdsAndStatusCode(anyList(), eq(StatusCode.EMPLOYED)))
+                .willReturn(Arrays.asList(new DeveloperDto(SENIOR, BACK_END, "member1"),
+                        new DeveloperDto(JUNIOR, FRONT_END, "member3")));
+        given(developerRepository.lockMemberIdsByStatusCode(anyCollection(), eq("EMPLOYED")))
+                .willReturn(Arrays.asList("member1", "member3"));
+        given(retiredDeveloperRepository.insertFromDevelopers(eq(Arrays.asList("member1", "member3")), eq("EMPLOYED"), any()))
+                .willReturn(3);
+        given(developerRepository.updateStatusCode(anyCollection(), eq(StatusCode.EMPLOYED), eq(StatusCode.RETIRED), any()))
+                .willReturn(2);
+
+        // 2. when
+        DMakerException dMakerException = assertThrows(DMakerException.class,
+                () -> dMakerService.retireDevelopers(Arrays.asList("member1", "member3")));
+
+        // 3. then
+        // 잠근 건수와 복사 건수가 다르면 예외로 rollback, 이벤트도 발행하지 않는다
+        assertEquals(INTERNAL_SERVER_ERROR, dMakerException.getDMakerErrorCode());
+        verify(eventPublisher, times(0)).publishEvent(any(Object.class));
+    }
+
+    @Test
+    void searchDevelopersTest_count_only_when_requested() {
+        // 1. given
+        DeveloperSearch.Request request = DeveloperSearch.Request.builder()
+                .developerLevel(SENIOR)
+                .minExperienceYears(12)
+                .maxExperienceYears(15)
+                .size(MAX_PAGE_SIZE + 1)
+                .count(true)
+                .build();
+        given(developerRepository.searchDevelopers(request, MAX_PAGE_SIZE))
+                .willReturn(DeveloperPageDto.builder()
+                        .developers(Collections.singletonList(DeveloperDto.fromEntity(defaultDeveloper)))
+                        .build());
+        given(developerRepository.countDevelopers(request))
+                .willReturn(1L);
+
+        // 2. when
+        DeveloperSearch.Response response = dMakerService.searchDevelopers(request);
+
+        // 3. then
+        assertEquals(1, response.getDevelopers().size());
+        assertNull(response.getNextCursor());
+        assertEquals(1L, response.getTotalCount());
+    }
+
+    @Test
+    void searchDevelopersTest_fail_with_invalid_range() {
+        DeveloperSearch.Request request = DeveloperSearch.Request.builder()
+                .minExperienceYears(15)
+                .maxExperienceYears(12)
+                .build();
+
+        DMakerException dMakerException = assertThrows(DMakerException.class,
+                () -> dMakerService.searchDevelopers(request));
+
+        assertEquals(INVALID_REQUEST, dMakerException.getDMakerErrorCode());
+    }
+}
@@ -0,0 +1,151 @@
+package com.developers.dmaker.snapshot;
+
+import com.developers.dmaker.entity.Developer;
+import com.developers.dmaker.entity.RetiredDeveloper;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static com.developers.dmaker.code.StatusCode.EMPLOYED;
+import static com.developers.dmaker.code.StatusCode.RETIRED;
+import static com.developers.dmaker.type.DeveloperLevel.SENIOR;
+import static com.developers.dmaker.type.DeveloperSkillType.BACK_END;
+import static java.nio.file.StandardOpenOption.WRITE;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SnapshotCodecTest {
+
+    private static final int ROWS = 10_000;
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void roundTrip() throws IOException {
+        // 1. given
+        // buffer 여러 번 분량 + 값이 비어 있는 row
+        Path path = directory.resolve("roster.dmks");
+        LocalDateTime createdAt = LocalDateTime.of(2022, 5, 1, 12, 30, 15, 123_456_000);
+        try (SnapshotWriter writer = SnapshotWriter.open(path)) {
+            for (int i = 0; i < ROWS; i++)
+                writer.writeDeveloper(developer(i, createdAt));
+            writer.writeDeveloper(Developer.builder().memberId("empty").build());
+            writer.writeRetiredDeveloper(RetiredDeveloper.builder()
+                    .memberId("retired").name("퇴사자").createdAt(createdAt).build());
+        }
+
+        // 2. when
+        List<Developer> developers = new ArrayList<>();
+        List<RetiredDeveloper> retiredDevelopers = new ArrayList<>();
+        long total;
+        try (SnapshotReader reader = SnapshotReader.open(path)) {
+            total = reader.read(developers::add, retiredDevelopers::add);
+        }
+
+        // 3. then
+        assertEquals(ROWS + 2, total);
+        Developer first = developers.get(1);
+        assertEquals(SENIOR, first.getDeveloperLevel());
+        assertEquals(BACK_END, first.getDeveloperSkillType());
+        assertEquals("member1", first.getMemberId());
+        assertEquals(RETIRED, developers.get(0).getStatusCode());
+        assertEquals(EMPLOYED, first.getStatusCode());
+        assertEquals(createdAt, first.getCreatedAt());
+        assertEquals(3L, first.getVersion());
+
+        Developer empty = developers.get(ROWS);
+        assertEquals("empty", empty.getMemberId());
+        assertNull(empty.getDeveloperLevel());
+        assertNull(empty.getAge());
+        assertNull(empty.getCreatedAt());
+        assertNull(empty.getVersion());
+
+        assertEquals("퇴사자", retiredDevelopers.get(0).getName());
+        assertNull(retiredDevelopers.get(0).getUpdatedAt());
+
+        // enum 은 1 byte 라 row 당 50 byte 안쪽
+        assertTrue(Files.size(path) < ROWS * 50L, "size " + Files.size(path));
+    }
+
+    @Test
+    void truncatedSnapshotIsRejected() throws IOException {
+        Path path = directory.resolve("truncated.dmks");
+        try (SnapshotWriter writer = SnapshotWriter.open(path)) {
+            for (int i = 0; i < 100; i++)
+                writer.writeDeveloper(developer(i, LocalDateTime.now()));
+        }
+        try (FileChannel channel = FileChannel.open(path, WRITE)) {
+            channel.truncate(channel.size() - 10);
+        }
+
+        assertThrows(IllegalStateException.class, () -> {
+            try (SnapshotReader reader = SnapshotReader.open(path)) {
+                reader.read(developer -> {
+                }, retiredDeveloper -> {
+                });
+            }
+        });
+    }
+
+    @Test
+    void corruptedStringLengthIsRejected() throws IOException {
+        Path path = directory.resolve("corrupted.dmks");
+        try (SnapshotWriter writer = SnapshotWriter.open(path)) {
+            writer.writeDeveloper(developer(1, LocalDateTime.now()));
+        }
+
+        // "member1" 앞의 길이(short) 를 음수 / 파일보다 긴 값으로 바꾼다
+        byte[] original = Files.readAllBytes(path);
+        int lengthAt = indexOf(original, "member1".getBytes(StandardCharsets.UTF_8)) - Short.BYTES;
+        for (short length : new short[]{-2, Short.MAX_VALUE}) {
+            byte[] corrupted = original.clone();
+            ByteBuffer.wrap(corrupted).putShort(lengthAt, length);
+            Files.write(path, corrupted);
+
+            IllegalStateException e = assertThrows(IllegalStateException.class, () -> {
+                try (SnapshotReader reader = SnapshotReader.open(path)) {
+                    reader.read(developer -> {
+                    }, retiredDeveloper -> {
+                    });
+                }
+            });
+            assertTrue(e.getMessage().startsWith("invalid string length"), e.getMessage());
+        }
+    }
+
+    private static int indexOf(byte[] bytes, byte[] target) {
+        for (int i = 0; i <= bytes.length - target.length; i++) {
+            if (Arrays.equals(Arrays.copyOfRange(bytes, i, i + target.length), target))
+                return i;
+        }
+        throw new IllegalArgumentException("not found");
+    }
+
+    private static Developer developer(int index, LocalDateTime createdAt) {
+        return Developer.builder()
+                .developerLevel(SENIOR)
+                .developerSkillType(BACK_END)
+                .experienceYears(12)
+                .memberId("member" + index)
+                .name("name" + index)
+                .age(35)
+                .statusCode(index % 10 == 0 ? RETIRED : EMPLOYED)
+                .createdAt(createdAt)
+                .updatedAt(createdAt)
+                .version(3L)
+                .build();
+    }
+}
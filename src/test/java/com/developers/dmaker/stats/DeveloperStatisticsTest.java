@@ -0,0 +1,98 @@
+package com.developers.dmaker.stats;
+
+import com.developers.dmaker.config.DMakerProperties;
+import com.developers.dmaker.dto.DeveloperCountDto;
+import com.developers.dmaker.dto.DeveloperStatisticsDto;
+import com.developers.dmaker.event.DeveloperChangedEvent;
+import com.developers.dmaker.event.DeveloperState;
+import com.developers.dmaker.repository.DeveloperRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import static com.developers.dmaker.code.StatusCode.EMPLOYED;
+import static com.developers.dmaker.code.StatusCode.RETIRED;
+import static com.developers.dmaker.type.DeveloperLevel.JUNIOR;
+import static com.developers.dmaker.type.DeveloperLevel.SENIOR;
+import static com.developers.dmaker.type.DeveloperSkillType.BACK_END;
+import static com.developers.dmaker.type.DeveloperSkillType.FRONT_END;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.BDDMockito.given;
+
+@ExtendWith(MockitoExtension.class)
+class DeveloperStatisticsTest {
+
+    @Mock
+    private DeveloperRepository developerRepository;
+
+    private DeveloperStatistics developerStatistics;
+
+    @BeforeEach
+    void setUp() {
+        developerStatistics = new DeveloperStatistics(developerRepository, new DMakerProperties());
+    }
+
+    @Test
+    void rebuildAndApplyChanges() {
+        // 1. given
+        given(developerRepository.countGroupByStatusCodeAndLevelAndSkillType())
+                .willReturn(Arrays.asList(
+                        new DeveloperCountDto(EMPLOYED, SENIOR, BACK_END, 3L),
+                        new DeveloperCountDto(RETIRED, SENIOR, BACK_END, 5L)));
+        developerStatistics.rebuild();
+
+        // 2. when
+        // 생성 / level 변경 / 퇴사
+        developerStatistics.onDeveloperChanged(new DeveloperChangedEvent("new", null,
+                new DeveloperState(EMPLOYED, JUNIOR, FRONT_END)));
+        developerStatistics.onDeveloperChanged(new DeveloperChangedEvent("edit",
+                new DeveloperState(EMPLOYED, SENIOR, BACK_END), new DeveloperState(EMPLOYED, JUNIOR, FRONT_END)));
+        developerStatistics.onDeveloperChanged(new DeveloperChangedEvent("retire",
+                new DeveloperState(EMPLOYED, SENIOR, BACK_END), new DeveloperState(RETIRED, SENIOR, BACK_END)));
+
+        // 3. then
+        DeveloperStatisticsDto employed = developerStatistics.getStatistics(EMPLOYED);
+        assertEquals(3L, employed.getTotal());
+        assertEquals(1L, employed.getCounts().get(SENIOR).get(BACK_END));
+        assertEquals(2L, employed.getCounts().get(JUNIOR).get(FRONT_END));
+        assertEquals(6L, developerStatistics.getStatistics(RETIRED).getTotal());
+    }
+
+    @Test
+    void reconcileReplacesDriftedCounts() {
+        // 1. given
+        given(developerRepository.countGroupByStatusCodeAndLevelAndSkillType())
+                .willReturn(Collections.emptyList());
+        developerStatistics.onDeveloperChanged(new DeveloperChangedEvent("lost", null,
+                new DeveloperState(EMPLOYED, SENIOR, BACK_END)));
+
+        // 2. when
+        developerStatistics.reconcile();
+
+        // 3. then
+        assertEquals(0L, developerStatistics.getStatistics(EMPLOYED).getTotal());
+    }
+
+    @Test
+    void reconcileKeepsChangesAppliedWhileLoading() {
+        // 1. given
+        // group by 이후에 commit 된 생성 이벤트가 group by 가 끝나기 전에 반영됨
+        given(developerRepository.countGroupByStatusCodeAndLevelAndSkillType())
+                .willAnswer(invocation -> {
+                    developerStatistics.onDeveloperChanged(new DeveloperChangedEvent("new", null,
+                            new DeveloperState(EMPLOYED, SENIOR, BACK_END)));
+                    return Collections.singletonList(new DeveloperCountDto(EMPLOYED, SENIOR, BACK_END, 3L));
+                });
+
+        // 2. when
+        developerStatistics.reconcile();
+
+        // 3. then
+        assertEquals(4L, developerStatistics.getStatistics(EMPLOYED).getCounts().get(SENIOR).get(BACK_END));
+    }
+}
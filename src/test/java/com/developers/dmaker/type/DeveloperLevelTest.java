@@ -0,0 +1,49 @@
+package com.developers.dmaker.type;
+
+import com.developers.dmaker.exception.DMakerException;
+import org.junit.jupiter.api.Test;
+
+import java.util.EnumSet;
+
+import static com.developers.dmaker.constant.DMakerConstant.MAX_EXPERIENCE_YEARS;
+import static com.developers.dmaker.constant.DMakerConstant.MAX_JUNIOR_EXPERIENCE_YEARS;
+import static com.developers.dmaker.constant.DMakerConstant.MIN_SENIOR_EXPERIENCE_YEARS;
+import static com.developers.dmaker.exception.DMakerErrorCode.LEVEL_EXPERIENCE_YEARS_NOT_MATCED;
+import static com.developers.dmaker.type.DeveloperLevel.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+class DeveloperLevelTest {
+
+    @Test
+    void levelsOfTest() {
+        assertEquals(EnumSet.of(NEW, JUNIOR), DeveloperLevel.levelsOf(0));
+        assertEquals(EnumSet.of(JUNIOR), DeveloperLevel.levelsOf(MAX_JUNIOR_EXPERIENCE_YEARS));
+        assertEquals(EnumSet.of(JUNGNIOR), DeveloperLevel.levelsOf(MAX_JUNIOR_EXPERIENCE_YEARS + 1));
+        assertEquals(EnumSet.of(SENIOR), DeveloperLevel.levelsOf(MIN_SENIOR_EXPERIENCE_YEARS));
+
+        // 표 범위 밖은 predicate 로 계산
+        assertEquals(EnumSet.of(SENIOR), DeveloperLevel.levelsOf(MAX_EXPERIENCE_YEARS + 1));
+    }
+
+    @Test
+    void levelsOfMatchesValidation() {
+        for (int years = 0; years <= MAX_EXPERIENCE_YEARS; years++) {
+            for (DeveloperLevel level : DeveloperLevel.values()) {
+                assertEquals(level.getValidateFunction().test(years), level.isMatched(years));
+                assertEquals(level.isMatched(years), DeveloperLevel.levelsOf(years).contains(level));
+            }
+        }
+    }
+
+    @Test
+    void validateExperienceYearsTest_stackless() {
+        DMakerException first = assertThrows(DMakerException.class,
+                () -> SENIOR.validateExperienceYears(MIN_SENIOR_EXPERIENCE_YEARS - 1));
+        DMakerException second = assertThrows(DMakerException.class,
+                () -> NEW.validateExperienceYears(1));
+
+        assertEquals(LEVEL_EXPERIENCE_YEARS_NOT_MATCED, first.getDMakerErrorCode());
+        assertSame(first, second);
+        assertEquals(0, first.getStackTrace().length);
+    }
+}